@@ -83,3 +83,21 @@ isolated function externCloseInputStream(Entity entity) returns io:Error? = @jav
     'class: "io.ballerina.stdlib.mime.nativeimpl.MimeEntityBody",
     name: "closeInputByteStream"
 } external;
+
+# Reads up to the given number of elements from a byte stream. This is called by the writer of byte stream bodies, so
+# that a single call reads several elements.
+#
+# + byteStream - Stream to be read
+# + maxCount - Maximum number of elements to be read
+# + return - The elements read, which are fewer than `maxCount` only at the end of the stream, or else an `io:Error`
+isolated function readByteStreamBatch(stream<byte[], io:Error?> byteStream, int maxCount) returns byte[][]|io:Error {
+    byte[][] elements = [];
+    while elements.length() < maxCount {
+        record {|byte[] value;|}? element = check byteStream.next();
+        if element is () {
+            break;
+        }
+        elements.push(element.value);
+    }
+    return elements;
+}
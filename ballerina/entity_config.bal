@@ -0,0 +1,66 @@
+// Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/jballerina.java;
+
+# Usage of the cache of parsed content types of the process.
+#
+# + hits - Number of content types read from the cache since the module was initialized
+# + misses - Number of content types parsed since the module was initialized
+# + size - Number of content types currently cached
+public type MediaTypeCacheStats record {|
+    int hits;
+    int misses;
+    int size;
+|};
+
+# Number of elements read from a byte stream body at a time while the body is written
+configurable int byteStreamReadBatchSize = 16;
+
+# Number of bytes up to which small elements of a byte stream body are coalesced before they are written
+configurable int byteStreamFlushSize = 8192;
+
+# Maximum number of bytes of an entity body read into memory by `getJson()`, `getXml()`, `getText()` and
+# `getByteArray()`. A larger body is rejected with a `mime:PayloadTooLargeError` as soon as the limit is crossed. The
+# limit of an entity can be overridden with `Entity.setMaxPayloadSize()`. A value less than or equal to zero does not
+# limit the body
+configurable int maxPayloadSize = -1;
+
+# Maximum number of distinct content types whose parsed form is cached by the process. Content types beyond the limit
+# are parsed on every use. A value less than or equal to zero disables the cache
+configurable int mediaTypeCacheSize = 64;
+
+# Returns the usage of the cache of parsed content types.
+# ```ballerina
+# mime:MediaTypeCacheStats stats = mime:getMediaTypeCacheStats();
+# ```
+#
+# + return - The hits, misses and size of the cache
+public isolated function getMediaTypeCacheStats() returns MediaTypeCacheStats = @java:Method {
+    'class: "io.ballerina.stdlib.mime.nativeimpl.EntityConfig"
+} external;
+
+function setByteStreamWriter(int readBatchSize, int flushSize) returns ConfigurationError? = @java:Method {
+    'class: "io.ballerina.stdlib.mime.nativeimpl.EntityConfig"
+} external;
+
+function setMaxPayloadSize(int maxSize) = @java:Method {
+    'class: "io.ballerina.stdlib.mime.nativeimpl.EntityConfig"
+} external;
+
+function setMediaTypeCacheSize(int cacheSize) = @java:Method {
+    'class: "io.ballerina.stdlib.mime.nativeimpl.EntityConfig"
+} external;
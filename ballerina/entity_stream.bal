@@ -0,0 +1,80 @@
+// Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/jballerina.java;
+
+# Represents the type of the record which returned from the entityStream.next() call.
+#
+# + value - The body part
+type EntityStreamEntry record {|
+    Entity value;
+|};
+
+# `EntityStream` used to initialize a stream of type `Entity`. The body parts are decoded from the parent entity
+# one at a time as the stream is iterated.
+class EntityStream {
+
+    private Entity entity;
+    private boolean isClosed = false;
+
+    # Initialize an `EntityStream` using a multipart `mime:Entity`.
+    #
+    # + entity - The `mime:Entity` which contains the body parts
+    public isolated function init(Entity entity) {
+        self.entity = entity;
+    }
+
+    # The next function decodes and returns the next body part of the related entity.
+    # ```ballerina
+    # record {|mime:Entity value;|}|mime:ParserError? part = streamer.next();
+    # ```
+    #
+    # + return - A body part when the stream is available, `()` if the stream has reached the end, or else a
+    #            `mime:ParserError`
+    public isolated function next() returns record {|Entity value;|}|ParserError? {
+        return externGetNextBodyPart(self.entity);
+    }
+
+    # Closes the stream. The primary usage of this function is to close the stream without reaching the end.
+    # If the stream reaches the end, the `EntityStream.next()` will automatically close the stream.
+    #
+    # + return - `()` when the closing was successful or a `mime:ParserError`
+    public isolated function close() returns ParserError? {
+        if (!self.isClosed) {
+            var closeResult = externCloseBodyPartIterator(self.entity);
+            if (closeResult is ()) {
+                self.isClosed = true;
+            }
+            return closeResult;
+        }
+        return ();
+    }
+}
+
+isolated function externInitBodyPartIterator(Entity entity) returns ParserError? = @java:Method {
+    'class: "io.ballerina.stdlib.mime.nativeimpl.MimeEntityBody",
+    name: "initBodyPartIterator"
+} external;
+
+isolated function externGetNextBodyPart(Entity entity) returns record {|Entity value;|}|ParserError? = @java:Method {
+    'class: "io.ballerina.stdlib.mime.nativeimpl.MimeEntityBody",
+    name: "getNextBodyPart"
+} external;
+
+isolated function externCloseBodyPartIterator(Entity entity) returns ParserError? = @java:Method {
+    'class: "io.ballerina.stdlib.mime.nativeimpl.MimeEntityBody",
+    name: "closeBodyPartIterator"
+} external;
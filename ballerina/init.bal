@@ -16,8 +16,19 @@
 
 import ballerina/jballerina.java;
 
-function init() {
+function init() returns error? {
     setModule();
+    setMultipartDecoderEngine(multipartDecoderEngine);
+    check setMultipartDecoderLimits(partMemoryThreshold, maxInMemoryBytes, spillDirectory, decoderChunkSize,
+        fileChannelThreshold);
+    check setSerializerBufferSize(serializerBufferSize);
+    setSerializerParallelism(serializerParallelism);
+    setTransferEncoding(applyTransferEncoding);
+    check setContentEncoding(applyContentEncoding, compressionLevel, compressionBufferSize);
+    check setByteStreamWriter(byteStreamReadBatchSize, byteStreamFlushSize);
+    setMaxPayloadSize(maxPayloadSize);
+    setMediaTypeCacheSize(mediaTypeCacheSize);
+    setDecoderMemoryBudget(decoderMemoryBudget, decoderAdmissionPolicy, decoderAdmissionTimeout);
 }
 
 function setModule() = @java:Method {
@@ -51,6 +51,14 @@ public type SerializationError distinct Error;
 # Represents a `ParserError` with the message and the cause.
 public type ParserError distinct Error;
 
+# Represents a `DecoderOverloadedError`, which is returned when a multipart decode is rejected since the decoder
+# memory budget is exhausted.
+public type DecoderOverloadedError distinct ParserError;
+
+# Represents a `PayloadTooLargeError`, which is returned when an entity body exceeds the maximum payload size while it
+# is read into memory.
+public type PayloadTooLargeError distinct ParserError;
+
 # Represents an `InvalidContentTypeError` with the message and the cause.
 public type InvalidContentTypeError distinct Error;
 
@@ -62,3 +70,6 @@ public type IdleTimeoutTriggeredError distinct Error;
 
 # Represents a `NoContentError` with the message and the cause.
 public type NoContentError distinct Error;
+
+# Represents a `ConfigurationError`, which is returned when a configurable of the module has an invalid value.
+public type ConfigurationError distinct Error;
@@ -0,0 +1,148 @@
+// Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/jballerina.java;
+
+# Parsers that can be used to decode multipart content.
+public enum MultipartDecoderEngine {
+    # Decode multipart content using the mimepull library
+    MIMEPULL,
+    # Decode multipart content using the built-in streaming parser
+    NATIVE
+}
+
+# Actions that can be taken when a decode is started while the decoder memory budget is exhausted.
+public enum DecoderAdmissionPolicy {
+    # Wait until memory is released, up to the `decoderAdmissionTimeout`
+    QUEUE,
+    # Reject the decode with a `mime:DecoderOverloadedError`
+    REJECT
+}
+
+# Memory usage of the multipart decoders of the process.
+#
+# + reservedBytes - Number of bytes currently held in memory by decoded body parts
+# + rejectedDecodes - Number of decodes rejected since the module was initialized
+public type DecoderMemoryStats record {|
+    int reservedBytes;
+    int rejectedDecodes;
+|};
+
+# The parser used to decode multipart content
+configurable MultipartDecoderEngine multipartDecoderEngine = MIMEPULL;
+
+# Maximum number of bytes of a single body part kept in memory while decoding. Larger parts are written to a temp
+# file. A value less than or equal to zero derives the threshold from the free memory at the time of decoding
+configurable int partMemoryThreshold = -1;
+
+# Maximum number of bytes kept in memory for all the body parts of a single message. Once the limit is reached, the
+# remaining parts are written to temp files. A value less than or equal to zero does not limit the total
+configurable int maxInMemoryBytes = -1;
+
+# Directory in which the temp files of the body parts are created. An empty value uses the default temp directory
+configurable string spillDirectory = "";
+
+# Number of bytes read from the message at once. This is only used by the `NATIVE` decoder engine
+configurable int decoderChunkSize = 8192;
+
+# Minimum size in bytes of a body part written to a temp file, from which the part content is read straight from the
+# file channel instead of through an input stream. This is only used by the `NATIVE` decoder engine. A value less
+# than or equal to zero always reads through an input stream
+configurable int fileChannelThreshold = 1048576;
+
+# Number of bytes of a body part serialized at a time by `getBodyPartsAsStream()` and `getBodyPartsAsChannel()`. The
+# body parts are serialized in steps as they are read, so this bounds the memory used no matter how large the parts are
+configurable int serializerBufferSize = 65536;
+
+# Maximum number of JSON, XML and text body parts serialized concurrently by the process while multipart messages are
+# written. The parts of a message are serialized ahead of the writer, which then writes them in order. A value less
+# than or equal to zero serializes the parts one after another while they are written
+configurable int serializerParallelism = 0;
+
+# Whether the base64 and quoted-printable Content-Transfer-Encodings of body parts are applied. When enabled, the
+# content of such a part is decoded while it is read and encoded while the part is serialized, so the body of the
+# part is its decoded content. When disabled, the content of the part is exposed as it appears on the wire
+configurable boolean applyTransferEncoding = false;
+
+# Whether the gzip and deflate Content-Encodings of body parts are applied. When enabled, the content of such a part
+# is decompressed while it is read and compressed again while the part is serialized. When disabled, the content of
+# the part is exposed as it appears on the wire. Parts compressed with `Entity.setCompression()` are always compressed
+configurable boolean applyContentEncoding = false;
+
+# Level used to compress body parts, from 0 (no compression) to 9 (best compression). A value of -1 uses the default
+# level of the compressor
+configurable int compressionLevel = -1;
+
+# Number of bytes buffered by each compressor and decompressor of a body part
+configurable int compressionBufferSize = 8192;
+
+# Maximum number of bytes kept in memory by all the multipart decoders of the process. Once the budget is exhausted,
+# body parts are written to temp files. While a budget is set, multipart content read from a byte channel is always
+# decoded with the `NATIVE` engine, which charges the body parts it keeps in memory against the budget. The body parts
+# of a byte array body are views of the byte array, so they are not charged. A value less than or equal to zero does
+# not limit the memory
+configurable int decoderMemoryBudget = -1;
+
+# Action taken when a decode is started while the decoder memory budget is exhausted
+configurable DecoderAdmissionPolicy decoderAdmissionPolicy = QUEUE;
+
+# Maximum time in seconds a decode waits for the decoder memory budget with the `QUEUE` policy
+configurable decimal decoderAdmissionTimeout = 30;
+
+# Gets the memory usage of the multipart decoders of the process.
+# ```ballerina
+# mime:DecoderMemoryStats stats = mime:getDecoderMemoryStats();
+# ```
+#
+# + return - The current memory usage of the decoders
+public isolated function getDecoderMemoryStats() returns DecoderMemoryStats = @java:Method {
+    'class: "io.ballerina.stdlib.mime.nativeimpl.MultipartDecoderConfig",
+    name: "getMemoryStats"
+} external;
+
+function setMultipartDecoderEngine(MultipartDecoderEngine engine) = @java:Method {
+    'class: "io.ballerina.stdlib.mime.nativeimpl.MultipartDecoderConfig",
+    name: "setEngine"
+} external;
+
+function setMultipartDecoderLimits(int partMemoryThreshold, int maxInMemoryBytes, string spillDirectory,
+        int chunkSize, int fileChannelThreshold) returns ConfigurationError? = @java:Method {
+    'class: "io.ballerina.stdlib.mime.nativeimpl.MultipartDecoderConfig",
+    name: "setLimits"
+} external;
+
+function setSerializerBufferSize(int bufferSize) returns ConfigurationError? = @java:Method {
+    'class: "io.ballerina.stdlib.mime.nativeimpl.MultipartEncoderConfig"
+} external;
+
+function setSerializerParallelism(int parallelism) = @java:Method {
+    'class: "io.ballerina.stdlib.mime.nativeimpl.MultipartEncoderConfig"
+} external;
+
+function setContentEncoding(boolean enabled, int compressionLevel, int bufferSize) returns ConfigurationError? =
+@java:Method {
+    'class: "io.ballerina.stdlib.mime.nativeimpl.PartEncodingConfig"
+} external;
+
+function setTransferEncoding(boolean enabled) = @java:Method {
+    'class: "io.ballerina.stdlib.mime.nativeimpl.PartEncodingConfig"
+} external;
+
+function setDecoderMemoryBudget(int budget, DecoderAdmissionPolicy admissionPolicy, decimal admissionTimeout) =
+@java:Method {
+    'class: "io.ballerina.stdlib.mime.nativeimpl.MultipartDecoderConfig",
+    name: "setMemoryBudget"
+} external;
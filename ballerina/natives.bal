@@ -49,6 +49,17 @@ public const string CONTENT_TYPE = "content-type";
 # Represents `content-disposition` header name.
 public const string CONTENT_DISPOSITION = "content-disposition";
 
+# Represents `content-encoding` header name.
+public const string CONTENT_ENCODING = "content-encoding";
+
+# Content codings with which the body of an entity can be compressed.
+public enum ContentCoding {
+    # Compress the body in the gzip format
+    GZIP = "gzip",
+    # Compress the body in the zlib format
+    DEFLATE = "deflate"
+}
+
 # Represents values in `Content-Disposition` header.
 #
 # + fileName - Default filename for storing the body part if the receiving agent wishes to store it in an external
@@ -129,6 +140,17 @@ public class MediaType {
     }
 }
 
+# Selects the body parts to be decoded by `Entity.getBodyParts()`. A body part is decoded only if it matches all the
+# given criteria. The content of the other body parts is skipped while decoding.
+#
+# + names - Names given by the `Content-Disposition` header of the body parts. An empty array matches any name
+# + contentTypes - Base types given by the `Content-Type` header of the body parts, such as `application/json`.
+#                  An empty array matches any content type
+public type PartFilter record {|
+    string[] names = [];
+    string[] contentTypes = [];
+|};
+
 # Represents the headers and body of a message. This can be used to represent both the entity of a top level message
 # and an entity(body part) inside of a multipart entity.
 #
@@ -156,6 +178,7 @@ public class Entity {
     # + mediaType - Content type, which needs to be set to the entity
     # + return - `()` if successful or else an `mime:InvalidContentTypeError` in case of invalid media-type
     public isolated function setContentType(@untainted string mediaType) returns InvalidContentTypeError? {
+        externResolveHeaders(self);
         self.cType = check getMediaType(mediaType);
         self.setHeader(CONTENT_TYPE, mediaType);
         return;
@@ -183,6 +206,7 @@ public class Entity {
     #
     # + contentId - Content ID, which needs to be set to the entity
     public isolated function setContentId(@untainted string contentId) {
+        externResolveHeaders(self);
         self.cId = contentId;
         self.setHeader(CONTENT_ID, contentId);
     }
@@ -209,6 +233,7 @@ public class Entity {
     #
     # + contentLength - Content length, which needs to be set to the entity
     public isolated function setContentLength(@untainted int contentLength) {
+        externResolveHeaders(self);
         self.cLength = contentLength;
         var contentLengthStr = contentLength.toString();
         self.setHeader(CONTENT_LENGTH, contentLengthStr);
@@ -240,6 +265,7 @@ public class Entity {
     #
     # + contentDisposition - Content disposition, which needs to be set to the entity
     public isolated function setContentDisposition(ContentDisposition contentDisposition) {
+        externResolveHeaders(self);
         self.cDisposition = contentDisposition;
         self.setHeader(CONTENT_DISPOSITION, contentDisposition.toString());
     }
@@ -285,6 +311,31 @@ public class Entity {
         }
     }
 
+    # Compresses the body of the entity with the given content coding when it is written as a body part of a
+    # multipart entity, so it is never buffered as a whole. The `content-encoding` header is added to the part as it
+    # is written. If the part already has a `content-encoding` header, the body is compressed with that coding
+    # instead, or written as it is when the coding is neither `gzip` nor `deflate`. The body of an entity that is not
+    # written as a body part is not compressed and is not labelled with a `content-encoding`.
+    # ```ballerina
+    # mimeEntity.setCompression(mime:GZIP);
+    # ```
+    #
+    # + coding - Content coding with which the body is compressed. The default value is `GZIP`
+    public isolated function setCompression(ContentCoding coding = GZIP) {
+        externSetCompression(self, coding);
+    }
+
+    # Sets the maximum number of bytes of the entity body read into memory by `getJson()`, `getXml()`, `getText()`
+    # and `getByteArray()`, which overrides the `maxPayloadSize` of the module for this entity.
+    # ```ballerina
+    # mimeEntity.setMaxPayloadSize(1048576);
+    # ```
+    #
+    # + maxSize - Maximum number of bytes of the body. A value less than or equal to zero does not limit the body
+    public isolated function setMaxPayloadSize(int maxSize) {
+        externSetMaxPayloadSize(self, maxSize);
+    }
+
     # Sets the entity body with a given file. This method overrides any existing `content-type` headers
     # with the default content-type, which is `application/octet-stream`. This default value
     # can be overridden by passing the content type as an optional parameter.
@@ -458,15 +509,48 @@ public class Entity {
         }
     }
 
-    # Gets the body parts from a given entity.
+    # Saves the entity body to a file. The body is written straight to the file without going through the byte
+    # stream, and a body part written to a temp file while decoding is moved to the given path. A body read from a
+    # byte channel, such as the body of a decoded body part, cannot be read again once it has been saved.
+    # ```ballerina
+    # mime:ParserError? result = bodyPart.saveBodyTo("/tmp/upload.bin");
+    # ```
+    #
+    # + filePath - Path of the file the body is saved to. An existing file is replaced
+    # + return - `()` if the body has been saved or else a `mime:ParserError` in case of errors
+    public isolated function saveBodyTo(@untainted string filePath) returns ParserError? {
+        return externSaveBodyTo(self, filePath);
+    }
+
+    # Gets the body parts from a given entity. When a filter is given, only the matching body parts are decoded and
+    # the others are discarded without being kept in memory or in a temp file. The matching body parts are not kept
+    # by the entity, so a filtered read of a body received as a byte channel consumes the body, after which the body
+    # parts of the entity can no longer be read and a `mime:ParserError` is returned. A body set as a byte array is
+    # not consumed by a filtered read.
     # ```ballerina
     # mime:Entity[]|mime:ParserError result = multipartEntity.getBodyParts();
     # ```
     #
+    # + filter - Selects the body parts to be decoded. All the body parts are decoded if the filter is not given
     # + return - An array of body parts(`Entity[]`) extracted from the entity body or else a `mime:ParserError` if the
     #            entity body is not a set of the body parts
-    public isolated function getBodyParts() returns Entity[]|ParserError {
-        return externGetBodyParts(self);
+    public isolated function getBodyParts(PartFilter? filter = ()) returns Entity[]|ParserError {
+        return externGetBodyParts(self, filter);
+    }
+
+    # Gets the body parts as a stream of `Entity` from a given entity. Each body part is returned as soon as its
+    # headers are decoded and the body of the part is read from the parent entity as it is consumed. Therefore, the
+    # body of a part is only available until the stream moves to the next part.
+    # ```ballerina
+    # stream<mime:Entity, mime:ParserError?>|mime:ParserError result = multipartEntity.getBodyPartsAsEntityStream();
+    # ```
+    #
+    # + return - A stream of body parts extracted from the entity body or else a `mime:ParserError` if the
+    #            entity body is not a set of the body parts
+    public isolated function getBodyPartsAsEntityStream() returns stream<Entity, ParserError?>|ParserError {
+        check externInitBodyPartIterator(self);
+        EntityStream entityStream = new(self);
+        return new stream<Entity, ParserError?>(entityStream);
     }
 
     # Gets the body parts as a byte channel from a given entity.
@@ -496,6 +580,20 @@ public class Entity {
         }
     }
 
+    # Gets the number of bytes the body parts serialize into, without serializing them. The length is computed from
+    # the sizes of the part bodies, the part headers and the boundary lines, so that the entity can advertise a
+    # `content-length` and be streamed without being buffered.
+    # ```ballerina
+    # int|mime:ParserError? length = multipartEntity.getBodyPartsContentLength();
+    # ```
+    #
+    # + return - The serialized length of the body parts, `()` if the size of a body part is not known in advance, as
+    #            with mutable JSON or XML bodies or byte stream bodies, or else a `mime:ParserError` if the entity body
+    #            is not a set of body parts
+    public isolated function getBodyPartsContentLength() returns int|ParserError? {
+        return externGetBodyPartsContentLength(self);
+    }
+
     # Sets the body parts to the entity. This method overrides any existing `content-type` headers
     # with the default `multipart/form-data` content-type. The default `multipart/form-data` value can be overridden
     # by passing the content type as an optional parameter.
@@ -538,6 +636,7 @@ public class Entity {
     # + return - All the header values associated with the given header name as a `string[]` or the
     #            `HeaderNotFoundError` if the header is not found
     public isolated function getHeaders(@untainted string headerName) returns @tainted string[]|HeaderNotFoundError {
+        externResolveHeaders(self);
         string lowerCaseHeaderName = headerName.toLowerAscii();
         string[]? value = self.headerMap[lowerCaseHeaderName];
         if (value is ()) {
@@ -554,6 +653,7 @@ public class Entity {
     #
     # + return - All header names as a `string[]`
     public isolated function getHeaderNames() returns @tainted string[] {
+        externResolveHeaders(self);
         return self.headerNames.clone();
     }
 
@@ -583,6 +683,7 @@ public class Entity {
     # + headerName - Header name
     # + headerValue - Header value
     public isolated function setHeader(@untainted string headerName, string headerValue) {
+        externResolveHeaders(self);
         string[] value = [headerValue];
         self.headerMap[headerName.toLowerAscii()] = value;
 
@@ -621,6 +722,7 @@ public class Entity {
     # mimeEntity.removeAllHeaders();
     # ```
     public isolated function removeAllHeaders() {
+        externResolveHeaders(self);
         self.headerMap = {};
         self.headerNames.removeAll();
     }
@@ -633,10 +735,16 @@ public class Entity {
     # + headerName - Header name
     # + return - `true` if the specified header key exists
     public isolated function hasHeader(@untainted string headerName) returns boolean {
+        externResolveHeaders(self);
         return self.headerMap.hasKey(headerName.toLowerAscii());
     }
 }
 
+isolated function externResolveHeaders(Entity entity) = @java:Method {
+    'class: "io.ballerina.stdlib.mime.nativeimpl.MimeEntityBody",
+    name: "resolveHeaders"
+} external;
+
 isolated function externSetJson(Entity entity, json jsonContent, string contentType) = @java:Method {
     'class: "io.ballerina.stdlib.mime.nativeimpl.MimeEntityBody",
     name: "setJson"
@@ -702,7 +810,12 @@ isolated function externSetBodyParts(Entity entity, Entity[] bodyParts, string c
     name: "setBodyParts"
 } external;
 
-isolated function externGetBodyParts(Entity entity) returns Entity[]|ParserError = @java:Method {
+isolated function externSaveBodyTo(Entity entity, string filePath) returns ParserError? = @java:Method {
+    'class: "io.ballerina.stdlib.mime.nativeimpl.MimeEntityBody",
+    name: "saveBodyTo"
+} external;
+
+isolated function externGetBodyParts(Entity entity, PartFilter? filter) returns Entity[]|ParserError = @java:Method {
     'class: "io.ballerina.stdlib.mime.nativeimpl.MimeEntityBody",
     name: "getBodyParts"
 } external;
@@ -717,6 +830,21 @@ isolated function externGetBodyPartsAsStream(Entity entity) returns @tainted Par
     name: "getBodyPartsAsStream"
 } external;
 
+isolated function externSetCompression(Entity entity, ContentCoding coding) = @java:Method {
+    'class: "io.ballerina.stdlib.mime.nativeimpl.MimeEntityBody",
+    name: "setCompression"
+} external;
+
+isolated function externSetMaxPayloadSize(Entity entity, int maxSize) = @java:Method {
+    'class: "io.ballerina.stdlib.mime.nativeimpl.MimeEntityBody",
+    name: "setMaxPayloadSize"
+} external;
+
+isolated function externGetBodyPartsContentLength(Entity entity) returns int|ParserError? = @java:Method {
+    'class: "io.ballerina.stdlib.mime.nativeimpl.MimeEntityBody",
+    name: "getBodyPartsContentLength"
+} external;
+
 # Encodes a given input with MIME specific Base64 encoding scheme.
 #
 # + contentToBeEncoded - Content that needs to be encoded can be of type `string`, `byte[]` or `io:ReadableByteChannel`
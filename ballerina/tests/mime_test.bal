@@ -360,6 +360,22 @@ isolated function testSetByteChannel() {
     assertByteArray(entity.getByteArray(), content);
 }
 
+@test:Config {}
+isolated function testMaxPayloadSize() returns error? {
+    string content = "Hello Ballerina!";
+    string fileLocation = check createTemporaryFile("testFile", ".tmp", content);
+    Entity entity = new;
+    entity.setByteChannel(check io:openReadableFile(fileLocation));
+    entity.setMaxPayloadSize(10);
+    string|ParserError text = entity.getText();
+    test:assertTrue(text is PayloadTooLargeError, msg = "Found unexpected output");
+
+    entity = new;
+    entity.setByteChannel(check io:openReadableFile(fileLocation), contentType = "application/json");
+    entity.setMaxPayloadSize(content.length());
+    test:assertFalse(entity.getByteArray() is PayloadTooLargeError, msg = "Found unexpected output");
+}
+
 //Set byte channel as entity body and get that channel back. (to test internal channel functionality)
 @test:Config {}
 isolated function testGetByteChannel() {
@@ -830,6 +846,17 @@ isolated function testSetJsonAndGetAlreadyBuiltByteArray() {
     assertByteArray(entity.getByteArray(), "{\"code\":123}");
 }
 
+@test:Config {}
+function testGetByteArrayOfTextRepeatedly() returns error? {
+    Entity entity = new;
+    entity.setText("Ballerina text content");
+    byte[] content = check entity.getByteArray();
+    content[0] = 0;
+    assertByteArray(entity.getByteArray(), "Ballerina text content");
+    entity.setText("Other text content");
+    assertByteArray(entity.getByteArray(), "Other text content");
+}
+
 @test:Config {}
 isolated function testSetTextAndGetAlreadyBuiltJson() {
     string content = "{\"code\":123}";
@@ -1283,6 +1310,230 @@ isolated function testGetBodyPartsAsStream() {
     }
 }
 
+@test:Config {}
+isolated function testGetBodyPartsAsEntityStream() {
+    string content = "--e3a0b9ad7b4e7cdt\r\ncontent-type: application/json\r\n\r\n{\"bodyPart\":\"jsonPart\"}\r\n" +
+        "--e3a0b9ad7b4e7cdt\r\ncontent-type: text/plain\r\n\r\nBallerina text body part\r\n" +
+        "--e3a0b9ad7b4e7cdt--\r\n";
+    string fileLocation = checkpanic createTemporaryFile("testMultipart", ".tmp", content);
+    Entity multipartEntity = new;
+    multipartEntity.setFileAsEntityBody(fileLocation, MULTIPART_MIXED + "; boundary=e3a0b9ad7b4e7cdt");
+
+    stream<Entity, ParserError?>|ParserError result = multipartEntity.getBodyPartsAsEntityStream();
+    if result is stream<Entity, ParserError?> {
+        record {|Entity value;|}|ParserError? part = result.next();
+        if part is record {|Entity value;|} {
+            assertJsonPayload(part.value.getJson(), { "bodyPart": "jsonPart" });
+        } else {
+            test:assertFail(msg = "Found unexpected part output type");
+        }
+        part = result.next();
+        if part is record {|Entity value;|} {
+            test:assertEquals(part.value.getContentType(), TEXT_PLAIN, msg = "Found unexpected output");
+        } else {
+            test:assertFail(msg = "Found unexpected part output type");
+        }
+        test:assertTrue(result.next() is (), msg = "Found unexpected output");
+    } else {
+        test:assertFail(msg = "Found unexpected output type" + result.message());
+    }
+}
+
+@test:Config {}
+isolated function testGetBodyPartsAsEntityStreamFromDiscreteTypeEntity() {
+    Entity entity = new;
+    entity.setJson({ "bodyPart": "jsonPart" });
+    stream<Entity, ParserError?>|ParserError result = entity.getBodyPartsAsEntityStream();
+    if result is ParserError {
+        test:assertEquals(result.message(), "Entity body is not a type of composite media type. " +
+                            "Received content-type : application/json", msg = "Found unexpected output");
+    } else {
+        test:assertFail(msg = "Found unexpected output type");
+    }
+}
+
+@test:Config {}
+isolated function testHeadersOfDecodedBodyParts() {
+    string content = "--e3a0b9ad7b4e7cdt\r\ncontent-type: text/plain\r\n" +
+        "content-disposition: form-data; name=\"first\"\r\n\r\nfirst part\r\n" +
+        "--e3a0b9ad7b4e7cdt\r\nContent-Id: <second>\r\n\r\nsecond part\r\n" +
+        "--e3a0b9ad7b4e7cdt--\r\n";
+    string fileLocation = checkpanic createTemporaryFile("testDecodedHeaders", ".tmp", content);
+    Entity multipartEntity = new;
+    multipartEntity.setFileAsEntityBody(fileLocation, MULTIPART_FORM_DATA + "; boundary=e3a0b9ad7b4e7cdt");
+
+    Entity[]|ParserError bodyParts = multipartEntity.getBodyParts();
+    if bodyParts is Entity[] {
+        test:assertEquals(bodyParts[0].getContentDisposition().name, "first", msg = "Found unexpected output");
+        test:assertEquals(bodyParts[0].getHeaderNames(), ["content-type", "content-disposition"],
+                            msg = "Found unexpected output");
+        checkpanic bodyParts[1].setContentType(APPLICATION_XML);
+        test:assertEquals(bodyParts[1].getContentType(), APPLICATION_XML, msg = "Found unexpected output");
+        test:assertEquals(bodyParts[1].getContentId(), "<second>", msg = "Found unexpected output");
+    } else {
+        test:assertFail(msg = "Found unexpected output type" + bodyParts.message());
+    }
+}
+
+@test:Config {}
+isolated function testGetBodyPartsWithFilter() {
+    string content = "--e3a0b9ad7b4e7cdt\r\ncontent-type: application/octet-stream\r\n" +
+        "content-disposition: form-data; name=\"file\"\r\n\r\nbinary content\r\n" +
+        "--e3a0b9ad7b4e7cdt\r\ncontent-type: application/json\r\n" +
+        "content-disposition: form-data; name=\"metadata\"\r\n\r\n{\"size\":14}\r\n" +
+        "--e3a0b9ad7b4e7cdt--\r\n";
+    string fileLocation = checkpanic createTemporaryFile("testPartFilter", ".tmp", content);
+    Entity multipartEntity = new;
+    multipartEntity.setFileAsEntityBody(fileLocation, MULTIPART_FORM_DATA + "; boundary=e3a0b9ad7b4e7cdt");
+
+    Entity[]|ParserError bodyParts = multipartEntity.getBodyParts({names: ["metadata"]});
+    if bodyParts is Entity[] {
+        test:assertEquals(bodyParts.length(), 1, msg = "Found unexpected output");
+        assertJsonPayload(bodyParts[0].getJson(), {"size": 14});
+    } else {
+        test:assertFail(msg = "Found unexpected output type" + bodyParts.message());
+    }
+}
+
+@test:Config {}
+function testGetBodyPartsAfterFilteredRead() returns error? {
+    string content = "--e3a0b9ad7b4e7cdt\r\ncontent-type: text/plain\r\n" +
+        "content-disposition: form-data; name=\"text\"\r\n\r\nfirst part\r\n" +
+        "--e3a0b9ad7b4e7cdt\r\ncontent-type: application/json\r\n" +
+        "content-disposition: form-data; name=\"metadata\"\r\n\r\n{\"size\":14}\r\n" +
+        "--e3a0b9ad7b4e7cdt--\r\n";
+    string fileLocation = check createTemporaryFile("testPartFilter", ".tmp", content);
+    Entity channelEntity = new;
+    channelEntity.setFileAsEntityBody(fileLocation, MULTIPART_FORM_DATA + "; boundary=e3a0b9ad7b4e7cdt");
+    Entity[] filteredParts = check channelEntity.getBodyParts({names: ["metadata"]});
+    test:assertEquals(filteredParts.length(), 1, msg = "Found unexpected output");
+    // The other parts have been skipped while reading the byte channel
+    test:assertTrue(channelEntity.getBodyParts() is ParserError, msg = "Found unexpected output");
+    test:assertTrue(channelEntity.getBodyPartsAsEntityStream() is ParserError, msg = "Found unexpected output");
+    test:assertTrue(channelEntity.getBodyPartsAsStream() is ParserError, msg = "Found unexpected output");
+
+    Entity byteArrayEntity = new;
+    byteArrayEntity.setByteArray(content.toBytes(), MULTIPART_FORM_DATA + "; boundary=e3a0b9ad7b4e7cdt");
+    filteredParts = check byteArrayEntity.getBodyParts({names: ["metadata"]});
+    test:assertEquals(filteredParts.length(), 1, msg = "Found unexpected output");
+    // The byte array still holds all the parts
+    Entity[] bodyParts = check byteArrayEntity.getBodyParts();
+    test:assertEquals(bodyParts.length(), 2, msg = "Found unexpected output");
+}
+
+@test:Config {}
+isolated function testGetBodyPartsFromByteArray() {
+    string content = "--e3a0b9ad7b4e7cdt\r\ncontent-type: text/plain\r\n\r\nfirst part\r\n" +
+        "--e3a0b9ad7b4e7cdt\r\ncontent-type: application/json\r\n\r\n{\"bodyPart\":\"jsonPart\"}\r\n" +
+        "--e3a0b9ad7b4e7cdt--\r\n";
+    Entity multipartEntity = new;
+    multipartEntity.setByteArray(content.toBytes(), MULTIPART_MIXED + "; boundary=e3a0b9ad7b4e7cdt");
+
+    Entity[]|ParserError bodyParts = multipartEntity.getBodyParts();
+    if bodyParts is Entity[] {
+        test:assertEquals(bodyParts.length(), 2, msg = "Found unexpected output");
+        test:assertEquals(bodyParts[0].getText(), "first part", msg = "Found unexpected output");
+        assertJsonPayload(bodyParts[1].getJson(), { "bodyPart": "jsonPart" });
+    } else {
+        test:assertFail(msg = "Found unexpected output type" + bodyParts.message());
+    }
+}
+
+@test:Config {}
+isolated function testGetBodyPartsWithMalformedPartContentType() {
+    string content = "--e3a0b9ad7b4e7cdt\r\ncontent-type: text\r\n\r\nfirst part\r\n" +
+        "--e3a0b9ad7b4e7cdt--\r\n";
+    Entity multipartEntity = new;
+    multipartEntity.setByteArray(content.toBytes(), MULTIPART_MIXED + "; boundary=e3a0b9ad7b4e7cdt");
+
+    Entity[]|ParserError bodyParts = multipartEntity.getBodyParts();
+    test:assertTrue(bodyParts is ParserError, msg = "Found unexpected output");
+}
+
+@test:Config {}
+function testGetBodyPartsAsEntityStreamFromByteArray() returns error? {
+    string content = "--e3a0b9ad7b4e7cdt\r\ncontent-type: text/plain\r\n\r\nfirst part\r\n" +
+        "--e3a0b9ad7b4e7cdt\r\ncontent-type: text/plain\r\n\r\nsecond part\r\n" +
+        "--e3a0b9ad7b4e7cdt--\r\n";
+    Entity multipartEntity = new;
+    multipartEntity.setByteArray(content.toBytes(), MULTIPART_MIXED + "; boundary=e3a0b9ad7b4e7cdt");
+
+    stream<Entity, ParserError?> partStream = check multipartEntity.getBodyPartsAsEntityStream();
+    string[] texts = [];
+    check from Entity part in partStream
+        do {
+            texts.push(check part.getText());
+        };
+    test:assertEquals(texts, ["first part", "second part"], msg = "Found unexpected output");
+}
+
+@test:Config {}
+function testSaveBodyPartToFile() returns error? {
+    string content = "--e3a0b9ad7b4e7cdt\r\ncontent-type: text/plain\r\n\r\nfirst part\r\n" +
+        "--e3a0b9ad7b4e7cdt--\r\n";
+    string fileLocation = check createTemporaryFile("testSaveBody", ".tmp", content);
+    Entity multipartEntity = new;
+    multipartEntity.setFileAsEntityBody(fileLocation, MULTIPART_MIXED + "; boundary=e3a0b9ad7b4e7cdt");
+
+    Entity[] bodyParts = check multipartEntity.getBodyParts();
+    string savedLocation = check createTemporaryFile("testSavedBody", ".tmp", "");
+    check bodyParts[0].saveBodyTo(savedLocation);
+    test:assertEquals(check io:fileReadString(savedLocation), "first part", msg = "Found unexpected output");
+
+    Entity byteArrayEntity = new;
+    byteArrayEntity.setByteArray("byte array content".toBytes());
+    check byteArrayEntity.saveBodyTo(savedLocation);
+    test:assertEquals(check io:fileReadString(savedLocation), "byte array content", msg = "Found unexpected output");
+}
+
+@test:Config {}
+function testSavePartlyReadBodyPartToFile() returns error? {
+    string content = "--e3a0b9ad7b4e7cdt\r\ncontent-type: text/plain\r\n\r\nfirst part\r\n" +
+        "--e3a0b9ad7b4e7cdt--\r\n";
+    string fileLocation = check createTemporaryFile("testSavePartlyRead", ".tmp", content);
+    Entity multipartEntity = new;
+    multipartEntity.setFileAsEntityBody(fileLocation, MULTIPART_MIXED + "; boundary=e3a0b9ad7b4e7cdt");
+
+    Entity[] bodyParts = check multipartEntity.getBodyParts();
+    io:ReadableByteChannel byteChannel = check bodyParts[0].getByteChannel();
+    byte[] readBytes = check byteChannel.read(6);
+    test:assertEquals(check string:fromBytes(readBytes), "first ", msg = "Found unexpected output");
+
+    string savedLocation = check createTemporaryFile("testSavedPartlyRead", ".tmp", "");
+    check bodyParts[0].saveBodyTo(savedLocation);
+    test:assertEquals(check io:fileReadString(savedLocation), "part", msg = "Found unexpected output");
+}
+
+@test:Config {}
+function testSaveTextBodyWithCharsetToFile() returns error? {
+    Entity textEntity = new;
+    textEntity.setText("Ballerina ü", "text/plain; charset=ISO-8859-1");
+    string savedLocation = check createTemporaryFile("testSavedText", ".tmp", "");
+    check textEntity.saveBodyTo(savedLocation);
+    byte[] expected = [66, 97, 108, 108, 101, 114, 105, 110, 97, 32, 252];
+    test:assertEquals(check io:fileReadBytes(savedLocation), expected, msg = "Found unexpected output");
+}
+
+@test:Config {}
+isolated function testGetDecoderMemoryStats() {
+    DecoderMemoryStats stats = getDecoderMemoryStats();
+    test:assertTrue(stats.reservedBytes >= 0, msg = "Found unexpected output");
+    test:assertEquals(stats.rejectedDecodes, 0, msg = "Found unexpected output");
+}
+
+@test:Config {}
+function testGetMediaTypeCacheStats() returns error? {
+    MediaTypeCacheStats before = getMediaTypeCacheStats();
+    foreach int i in 0 ..< 2 {
+        Entity entity = new;
+        entity.setText("Ballerina text body", contentType = "text/plain; charset=utf-16");
+        test:assertEquals(check entity.getText(), "Ballerina text body", msg = "Found unexpected output");
+    }
+    MediaTypeCacheStats after = getMediaTypeCacheStats();
+    test:assertTrue(after.hits > before.hits, msg = "Found unexpected output");
+    test:assertTrue(after.size > 0 && after.size <= 64, msg = "Found unexpected output");
+}
+
 //Test whether an error is returned when trying to extract body parts from entity that has discrete media type content
 @test:Config {}
 isolated function getBodyPartsFromDiscreteTypeEntity() {
@@ -1323,6 +1574,172 @@ isolated function getStreamFromParts() {
     }
 }
 
+@test:Config {}
+function testGetBodyPartsContentLength() returns error? {
+    Entity textPart = new;
+    textPart.setText("Ballerina text body part");
+    Entity binaryPart = new;
+    binaryPart.setByteArray("binary content".toBytes());
+    Entity nestedPart = new;
+    nestedPart.setText("nested part");
+    Entity nestedParent = new;
+    nestedParent.setBodyParts([nestedPart], contentType = MULTIPART_MIXED);
+    Entity multipartEntity = new;
+    multipartEntity.setBodyParts([textPart, binaryPart, nestedParent], contentType = MULTIPART_MIXED +
+                                 "; boundary=e3a0b9ad7b4e7cdt");
+
+    int? contentLength = check multipartEntity.getBodyPartsContentLength();
+    stream<byte[], io:Error?> byteStream = check multipartEntity.getBodyPartsAsStream();
+    int serializedLength = 0;
+    check from byte[] bytes in byteStream
+        do {
+            serializedLength += bytes.length();
+        };
+    test:assertEquals(contentLength, serializedLength, msg = "Found unexpected output");
+
+    Entity jsonPart = new;
+    jsonPart.setJson({ "bodyPart": "jsonPart" });
+    multipartEntity.setBodyParts([textPart, jsonPart]);
+    test:assertEquals(check multipartEntity.getBodyPartsContentLength(), (), msg = "Found unexpected output");
+}
+
+@test:Config {}
+function testGetBodyPartsContentLengthKeepsNestedBoundary() returns error? {
+    Entity nestedPart = new;
+    nestedPart.setText("nested part");
+    Entity nestedParent = new;
+    nestedParent.setBodyParts([nestedPart], contentType = MULTIPART_MIXED);
+    Entity multipartEntity = new;
+    multipartEntity.setBodyParts([nestedParent], contentType = MULTIPART_MIXED + "; boundary=e3a0b9ad7b4e7cdt");
+
+    int? contentLength = check multipartEntity.getBodyPartsContentLength();
+    string nestedContentType = nestedParent.getContentType();
+    test:assertEquals(check multipartEntity.getBodyPartsContentLength(), contentLength,
+        msg = "Found unexpected output");
+    test:assertEquals(nestedParent.getContentType(), nestedContentType, msg = "Found unexpected output");
+
+    stream<byte[], io:Error?> byteStream = check multipartEntity.getBodyPartsAsStream();
+    byte[] serialized = [];
+    check from byte[] bytes in byteStream
+        do {
+            serialized.push(...bytes);
+        };
+    test:assertEquals(nestedParent.getContentType(), nestedContentType, msg = "Found unexpected output");
+    test:assertEquals(contentLength, serialized.length(), msg = "Found unexpected output");
+    MediaType nestedMediaType = check getMediaType(nestedContentType);
+    string nestedBoundary = nestedMediaType.parameters.get("boundary");
+    test:assertTrue((check string:fromBytes(serialized)).includes("--" + nestedBoundary + "--"),
+        msg = "Found unexpected output");
+}
+
+@test:Config {}
+function testSaveBodyPartsWithEmptyNestedMultipart() returns error? {
+    Entity textPart = new;
+    textPart.setText("Ballerina text body part");
+    Entity nestedParent = new;
+    nestedParent.setBodyParts([], contentType = MULTIPART_MIXED);
+    Entity multipartEntity = new;
+    multipartEntity.setBodyParts([textPart, nestedParent], contentType = MULTIPART_MIXED +
+                                 "; boundary=e3a0b9ad7b4e7cdt");
+
+    int? contentLength = check multipartEntity.getBodyPartsContentLength();
+    string savedLocation = check createTemporaryFile("testSavedBodyParts", ".tmp", "");
+    check multipartEntity.saveBodyTo(savedLocation);
+    test:assertEquals(contentLength, (check io:fileReadBytes(savedLocation)).length(), msg = "Found unexpected output");
+
+    stream<byte[], io:Error?> byteStream = check multipartEntity.getBodyPartsAsStream();
+    int serializedLength = 0;
+    check from byte[] bytes in byteStream
+        do {
+            serializedLength += bytes.length();
+        };
+    test:assertEquals(contentLength, serializedLength, msg = "Found unexpected output");
+}
+
+@test:Config {}
+function testGetBodyPartsContentLengthWithReadOnlyJson() returns error? {
+    Entity jsonPart = new;
+    jsonPart.setJson({"bodyPart": "jsonPart"}.cloneReadOnly());
+    Entity multipartEntity = new;
+    multipartEntity.setBodyParts([jsonPart], contentType = MULTIPART_MIXED);
+
+    int? contentLength = check multipartEntity.getBodyPartsContentLength();
+    test:assertTrue(contentLength is int, msg = "Found unexpected output");
+    stream<byte[], io:Error?> byteStream = check multipartEntity.getBodyPartsAsStream();
+    int serializedLength = 0;
+    check from byte[] bytes in byteStream
+        do {
+            serializedLength += bytes.length();
+        };
+    test:assertEquals(contentLength, serializedLength, msg = "Found unexpected output");
+}
+
+@test:Config {}
+function testSetCompression() returns error? {
+    Entity textPart = new;
+    textPart.setText("Ballerina text body part ".repeat(100));
+    textPart.setCompression();
+    test:assertFalse(textPart.hasHeader(CONTENT_ENCODING), msg = "Found unexpected output");
+
+    Entity multipartEntity = new;
+    multipartEntity.setBodyParts([textPart], contentType = MULTIPART_MIXED + "; boundary=e3a0b9ad7b4e7cdt");
+    test:assertEquals(check multipartEntity.getBodyPartsContentLength(), (), msg = "Found unexpected output");
+    byte[] serialized = check getSerializedBytes(multipartEntity);
+    test:assertTrue(serialized.length() < 1000, msg = "Found unexpected output");
+    test:assertFalse(textPart.hasHeader(CONTENT_ENCODING), msg = "Found unexpected output");
+
+    Entity receivedEntity = new;
+    receivedEntity.setByteArray(serialized, MULTIPART_MIXED + "; boundary=e3a0b9ad7b4e7cdt");
+    Entity[] receivedParts = check receivedEntity.getBodyParts();
+    test:assertEquals(check receivedParts[0].getHeader(CONTENT_ENCODING), "gzip", msg = "Found unexpected output");
+}
+
+//Test whether the content-encoding header of a part decides how a body set to be compressed is written
+@test:Config {}
+function testSetCompressionFollowsHeader() returns error? {
+    string body = "Ballerina text body part ".repeat(100);
+    Entity textPart = new;
+    textPart.setText(body);
+    textPart.setCompression();
+    textPart.setHeader(CONTENT_ENCODING, "identity");
+
+    Entity multipartEntity = new;
+    multipartEntity.setBodyParts([textPart], contentType = MULTIPART_MIXED);
+    test:assertTrue(check getSerializedLength(multipartEntity) > body.length(), msg = "Found unexpected output");
+    test:assertEquals(check textPart.getHeader(CONTENT_ENCODING), "identity", msg = "Found unexpected output");
+}
+
+//Test whether the body of an entity that is not a body part is neither compressed nor labelled as compressed
+@test:Config {}
+function testSetCompressionOnTopLevelEntity() returns error? {
+    string body = "Ballerina text body ".repeat(100);
+    Entity entity = new;
+    entity.setText(body);
+    entity.setCompression(DEFLATE);
+    test:assertFalse(entity.hasHeader(CONTENT_ENCODING), msg = "Found unexpected output");
+    test:assertEquals(check entity.getText(), body, msg = "Found unexpected output");
+}
+
+function getSerializedBytes(Entity multipartEntity) returns byte[]|error {
+    stream<byte[], io:Error?> byteStream = check multipartEntity.getBodyPartsAsStream();
+    byte[] serialized = [];
+    check from byte[] bytes in byteStream
+        do {
+            serialized.push(...bytes);
+        };
+    return serialized;
+}
+
+function getSerializedLength(Entity multipartEntity) returns int|error {
+    stream<byte[], io:Error?> byteStream = check multipartEntity.getBodyPartsAsStream();
+    int serializedLength = 0;
+    check from byte[] bytes in byteStream
+        do {
+            serializedLength += bytes.length();
+        };
+    return serializedLength;
+}
+
 //Test whether an error is returned when trying to retrieve a byte channel from a multipart entity
 @test:Config {}
 isolated function getChannelFromMultipartEntity() {
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.mime.nativeimpl;
+
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.stdlib.mime.util.ByteStreamWriter;
+import io.ballerina.stdlib.mime.util.MediaTypeCache;
+import io.ballerina.stdlib.mime.util.MimeUtil;
+import io.ballerina.stdlib.mime.util.PayloadSizeLimit;
+
+import static io.ballerina.stdlib.mime.util.MimeConstants.CONFIGURATION_ERROR;
+
+/**
+ * Applies the module level configurations of entity bodies and headers, which are not specific to multipart content.
+ *
+ * @since 2.12.1
+ */
+public class EntityConfig {
+
+    private static final String MEDIA_TYPE_CACHE_STATS = "MediaTypeCacheStats";
+    private static final BString HITS_FIELD = StringUtils.fromString("hits");
+    private static final BString MISSES_FIELD = StringUtils.fromString("misses");
+    private static final BString SIZE_FIELD = StringUtils.fromString("size");
+
+    private EntityConfig() {}
+
+    public static Object setByteStreamWriter(long readBatchSize, long flushSize) {
+        if (readBatchSize <= 0 || readBatchSize > Integer.MAX_VALUE) {
+            return MimeUtil.createError(CONFIGURATION_ERROR, "Invalid byte stream read batch size: " +
+                    readBatchSize);
+        }
+        if (flushSize <= 0 || flushSize > Integer.MAX_VALUE) {
+            return MimeUtil.createError(CONFIGURATION_ERROR, "Invalid byte stream flush size: " + flushSize);
+        }
+        ByteStreamWriter.configure((int) readBatchSize, (int) flushSize);
+        return null;
+    }
+
+    public static void setMaxPayloadSize(long maxSize) {
+        PayloadSizeLimit.setMaxPayloadSize(maxSize);
+    }
+
+    public static void setMediaTypeCacheSize(long cacheSize) {
+        MediaTypeCache.setCapacity((int) Math.min(cacheSize, Integer.MAX_VALUE));
+    }
+
+    public static BMap<BString, Object> getMediaTypeCacheStats() {
+        BMap<BString, Object> stats = ValueCreator.createRecordValue(MimeUtil.getMimePackage(), MEDIA_TYPE_CACHE_STATS);
+        stats.put(HITS_FIELD, MediaTypeCache.getHits());
+        stats.put(MISSES_FIELD, MediaTypeCache.getMisses());
+        stats.put(SIZE_FIELD, (long) MediaTypeCache.size());
+        return stats;
+    }
+}
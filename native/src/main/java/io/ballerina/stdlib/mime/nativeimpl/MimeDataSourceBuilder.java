@@ -28,10 +28,12 @@ import io.ballerina.runtime.api.values.BObject;
 import io.ballerina.runtime.api.values.BRefValue;
 import io.ballerina.runtime.api.values.BString;
 import io.ballerina.runtime.api.values.BXml;
+import io.ballerina.stdlib.mime.util.EncodedBody;
 import io.ballerina.stdlib.mime.util.EntityBodyHandler;
 import io.ballerina.stdlib.mime.util.EntityHeaderHandler;
 import io.ballerina.stdlib.mime.util.MimeConstants;
 import io.ballerina.stdlib.mime.util.MimeUtil;
+import io.ballerina.stdlib.mime.util.PayloadSizeLimit;
 import org.wso2.ballerinalang.compiler.util.TypeTags;
 
 import java.io.UnsupportedEncodingException;
@@ -73,12 +75,8 @@ public abstract class MimeDataSourceBuilder {
         String contentTypeValue = EntityHeaderHandler.getHeaderValue(entityObj, MimeConstants.CONTENT_TYPE);
         if (isNotNullAndEmpty(contentTypeValue)) {
             String charsetValue = MimeUtil.getContentTypeParamValue(contentTypeValue, CHARSET);
-            if (isNotNullAndEmpty(charsetValue)) {
-                return ValueCreator.createArrayValue(
-                        StringUtils.getStringValue(messageDataSource).getBytes(charsetValue));
-            }
-            return ValueCreator.createArrayValue(
-                    StringUtils.getStringValue(messageDataSource).getBytes(Charset.defaultCharset()));
+            String charsetName = isNotNullAndEmpty(charsetValue) ? charsetValue : Charset.defaultCharset().name();
+            return ValueCreator.createArrayValue(EncodedBody.getBytes(entityObj, messageDataSource, charsetName));
         }
         return ValueCreator.createArrayValue(new byte[0]);
     }
@@ -175,6 +173,9 @@ public abstract class MimeDataSourceBuilder {
 
     protected static Object createError(Exception ex, String type) {
         String message = "Error occurred while extracting " + type + " data from entity";
+        if (ex instanceof BError error && PayloadSizeLimit.isPayloadTooLarge(error)) {
+            return error;
+        }
         if (ex instanceof BError) {
             return MimeUtil.createError(PARSER_ERROR, message, (BError) ex);
         }
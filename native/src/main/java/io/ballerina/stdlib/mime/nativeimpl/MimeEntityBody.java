@@ -21,6 +21,7 @@ package io.ballerina.stdlib.mime.nativeimpl;
 import io.ballerina.runtime.api.Environment;
 import io.ballerina.runtime.api.creators.ValueCreator;
 import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BError;
 import io.ballerina.runtime.api.values.BMap;
 import io.ballerina.runtime.api.values.BObject;
 import io.ballerina.runtime.api.values.BStream;
@@ -29,6 +30,8 @@ import io.ballerina.runtime.api.values.BXml;
 import io.ballerina.stdlib.io.channels.base.Channel;
 import io.ballerina.stdlib.io.utils.IOConstants;
 import io.ballerina.stdlib.io.utils.IOUtils;
+import io.ballerina.stdlib.mime.util.BodyPartIterator;
+import io.ballerina.stdlib.mime.util.DeferredPartHeaders;
 import io.ballerina.stdlib.mime.util.EntityBodyChannel;
 import io.ballerina.stdlib.mime.util.EntityBodyHandler;
 import io.ballerina.stdlib.mime.util.EntityWrapper;
@@ -36,13 +39,14 @@ import io.ballerina.stdlib.mime.util.HeaderUtil;
 import io.ballerina.stdlib.mime.util.MimeConstants;
 import io.ballerina.stdlib.mime.util.MimeUtil;
 import io.ballerina.stdlib.mime.util.MultipartDataSource;
+import io.ballerina.stdlib.mime.util.MultipartPipe;
+import io.ballerina.stdlib.mime.util.PartFilter;
+import io.ballerina.stdlib.mime.util.PayloadSizeLimit;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.io.InputStream;
+import java.nio.file.Paths;
 import java.util.Locale;
 
 import static io.ballerina.stdlib.mime.nativeimpl.MimeDataSourceBuilder.getErrorMsg;
@@ -50,8 +54,13 @@ import static io.ballerina.stdlib.mime.util.HeaderUtil.isMultipart;
 import static io.ballerina.stdlib.mime.util.MimeConstants.APPLICATION_JSON;
 import static io.ballerina.stdlib.mime.util.MimeConstants.APPLICATION_XML;
 import static io.ballerina.stdlib.mime.util.MimeConstants.BODY_PARTS;
+import static io.ballerina.stdlib.mime.util.MimeConstants.BODY_PARTS_FILTERED;
+import static io.ballerina.stdlib.mime.util.MimeConstants.BODY_PART_ITERATOR;
+import static io.ballerina.stdlib.mime.util.MimeConstants.DECODER_OVERLOADED_ERROR;
 import static io.ballerina.stdlib.mime.util.MimeConstants.ENTITY_BYTE_CHANNEL;
 import static io.ballerina.stdlib.mime.util.MimeConstants.ENTITY_BYTE_STREAM;
+import static io.ballerina.stdlib.mime.util.MimeConstants.ENTITY_COMPRESSION;
+import static io.ballerina.stdlib.mime.util.MimeConstants.ENTITY_STREAM_ENTRY_RECORD;
 import static io.ballerina.stdlib.mime.util.MimeConstants.INVALID_CONTENT_TYPE_ERROR;
 import static io.ballerina.stdlib.mime.util.MimeConstants.MEDIA_TYPE;
 import static io.ballerina.stdlib.mime.util.MimeConstants.MESSAGE_AS_PRIMARY_TYPE;
@@ -74,40 +83,170 @@ import static io.ballerina.stdlib.mime.util.MimeUtil.getNewMultipartDelimiter;
  */
 public class MimeEntityBody {
     private static final Logger log = LoggerFactory.getLogger(MimeEntityBody.class);
+    private static final String BODY_PARTS_FILTERED_MESSAGE = "Body parts are not available since they have " +
+            "already been read with a filter";
 
     public static Object getBodyParts(BObject entityObj) {
+        return getBodyParts(entityObj, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    public static Object getBodyParts(BObject entityObj, Object filter) {
         BArray partsArray;
+        PartFilter partFilter = filter == null ? null : PartFilter.fromRecord((BMap<BString, Object>) filter);
         try {
             String baseType = HeaderUtil.getBaseType(entityObj);
             if (baseType != null && (baseType.toLowerCase(Locale.getDefault()).startsWith(MULTIPART_AS_PRIMARY_TYPE) ||
                     baseType.toLowerCase(Locale.getDefault()).startsWith(MESSAGE_AS_PRIMARY_TYPE))) {
+                if (EntityBodyHandler.isBodyPartsFiltered(entityObj)) {
+                    return MimeUtil.createError(PARSER_ERROR, BODY_PARTS_FILTERED_MESSAGE);
+                }
                 //Get the body parts from entity's multipart data field, if they've been already been decoded
                 partsArray = EntityBodyHandler.getBodyPartArray(entityObj);
                 if (partsArray == null || partsArray.size() < 1) {
                     Channel byteChannel = EntityBodyHandler.getByteChannel(entityObj);
                     if (byteChannel != null) {
-                        EntityBodyHandler.decodeEntityBody(entityObj, byteChannel);
+                        EntityBodyHandler.decodeEntityBody(entityObj, byteChannel, partFilter);
                         //Check the body part availability for the second time, since the parts will be by this
                         // time populated from bytechannel
                         partsArray = EntityBodyHandler.getBodyPartArray(entityObj);
                         //Set byte channel that belongs to parent entity to null, once the message body parts have
                         // been decoded
                         entityObj.addNativeData(ENTITY_BYTE_CHANNEL, null);
+                        if (partFilter != null) {
+                            //The other parts have been skipped, so the matching parts are not kept as the body
+                            // parts of the entity and any later read of the body parts fails
+                            entityObj.addNativeData(BODY_PARTS, null);
+                            entityObj.addNativeData(BODY_PARTS_FILTERED, true);
+                        }
+                        return partsArray;
+                    }
+                    Object dataSource = EntityBodyHandler.getMessageDataSource(entityObj);
+                    if (dataSource instanceof BArray) {
+                        EntityBodyHandler.decodeEntityBody(entityObj, (BArray) dataSource, partFilter);
+                        partsArray = EntityBodyHandler.getBodyPartArray(entityObj);
+                        if (partFilter != null) {
+                            //The byte array still holds all the parts, so it is kept as the body of the entity
+                            entityObj.addNativeData(BODY_PARTS, null);
+                        } else if (partsArray.size() > 0) {
+                            //The body parts take over the byte array, the same way they take over the byte channel
+                            entityObj.addNativeData(MESSAGE_DATA_SOURCE, null);
+                        }
+                        return partsArray;
                     }
                 }
-                return partsArray;
+                return partFilter == null ? partsArray : EntityBodyHandler.filterBodyParts(partsArray, partFilter);
             } else {
                 return MimeUtil.createError(PARSER_ERROR, "Entity body is not a type of " +
                         "composite media type. Received content-type : " + baseType);
             }
+        } catch (BError err) {
+            if (DECODER_OVERLOADED_ERROR.equals(err.getType().getName())) {
+                return err;
+            }
+            return MimeUtil.createError(PARSER_ERROR,
+                                        "Error occurred while extracting body parts from entity: " + getErrorMsg(err));
+        } catch (Throwable err) {
+            return MimeUtil.createError(PARSER_ERROR,
+                                        "Error occurred while extracting body parts from entity: " + getErrorMsg(err));
+        }
+    }
+
+    public static Object initBodyPartIterator(BObject entityObj) {
+        try {
+            String baseType = HeaderUtil.getBaseType(entityObj);
+            if (baseType == null || !(baseType.toLowerCase(Locale.getDefault()).startsWith(MULTIPART_AS_PRIMARY_TYPE) ||
+                    baseType.toLowerCase(Locale.getDefault()).startsWith(MESSAGE_AS_PRIMARY_TYPE))) {
+                return MimeUtil.createError(PARSER_ERROR, "Entity body is not a type of " +
+                        "composite media type. Received content-type : " + baseType);
+            }
+            if (EntityBodyHandler.isBodyPartsFiltered(entityObj)) {
+                return MimeUtil.createError(PARSER_ERROR, BODY_PARTS_FILTERED_MESSAGE);
+            }
+            BodyPartIterator iterator;
+            Channel byteChannel = EntityBodyHandler.getByteChannel(entityObj);
+            BArray bodyParts = EntityBodyHandler.getBodyPartArray(entityObj);
+            if (byteChannel != null && bodyParts.size() < 1) {
+                iterator = BodyPartIterator.fromByteChannel(getContentTypeWithParameters(entityObj), byteChannel);
+                //Parts are read off the byte channel by the iterator from here onwards
+                entityObj.addNativeData(ENTITY_BYTE_CHANNEL, null);
+            } else {
+                Object dataSource = EntityBodyHandler.getMessageDataSource(entityObj);
+                if (bodyParts.size() < 1 && dataSource instanceof BArray byteArray) {
+                    //The parts of a byte array are views of the array, so they are decoded the same way as by
+                    // getBodyParts()
+                    EntityBodyHandler.decodeEntityBody(entityObj, byteArray, null);
+                    bodyParts = EntityBodyHandler.getBodyPartArray(entityObj);
+                    if (bodyParts.size() > 0) {
+                        entityObj.addNativeData(MESSAGE_DATA_SOURCE, null);
+                    }
+                }
+                iterator = BodyPartIterator.fromBodyParts(bodyParts);
+            }
+            entityObj.addNativeData(BODY_PART_ITERATOR, iterator);
+            return null;
         } catch (Throwable err) {
             return MimeUtil.createError(PARSER_ERROR,
                                         "Error occurred while extracting body parts from entity: " + getErrorMsg(err));
         }
     }
 
+    public static Object getNextBodyPart(Environment env, BObject entityObj) {
+        return env.yieldAndRun(() -> {
+            BodyPartIterator iterator = (BodyPartIterator) entityObj.getNativeData(BODY_PART_ITERATOR);
+            if (iterator == null) {
+                return null;
+            }
+            try {
+                BObject bodyPart = iterator.next();
+                if (bodyPart == null) {
+                    entityObj.addNativeData(BODY_PART_ITERATOR, null);
+                    return null;
+                }
+                BMap<BString, Object> streamEntry = ValueCreator.createRecordValue(getMimePackage(),
+                                                                                   ENTITY_STREAM_ENTRY_RECORD);
+                streamEntry.put(MimeConstants.FIELD_VALUE, bodyPart);
+                return streamEntry;
+            } catch (Throwable err) {
+                entityObj.addNativeData(BODY_PART_ITERATOR, null);
+                return MimeUtil.createError(PARSER_ERROR,
+                                            "Error occurred while extracting body parts from entity: " +
+                                                    getErrorMsg(err));
+            }
+        });
+    }
+
+    public static Object closeBodyPartIterator(BObject entityObj) {
+        BodyPartIterator iterator = (BodyPartIterator) entityObj.getNativeData(BODY_PART_ITERATOR);
+        if (iterator != null) {
+            try {
+                iterator.close();
+                entityObj.addNativeData(BODY_PART_ITERATOR, null);
+            } catch (IOException e) {
+                return MimeUtil.createError(PARSER_ERROR, "Error occurred while closing the body part stream: " +
+                        getErrorMsg(e));
+            }
+        }
+        return null;
+    }
+
+    public static Object saveBodyTo(Environment env, BObject entityObj, BString filePath) {
+        return env.yieldAndRun(() -> {
+            try {
+                EntityBodyHandler.saveBodyTo(env, entityObj, Paths.get(filePath.getValue()));
+                return null;
+            } catch (Throwable err) {
+                return MimeUtil.createError(PARSER_ERROR, "Error occurred while saving entity body to file: " +
+                        getErrorMsg(err));
+            }
+        });
+    }
+
     public static Object getBodyPartsAsChannel(Environment env, BObject entityObj) {
         try {
+            if (EntityBodyHandler.isBodyPartsFiltered(entityObj)) {
+                return MimeUtil.createError(PARSER_ERROR, BODY_PARTS_FILTERED_MESSAGE);
+            }
             String contentType = getContentTypeWithParameters(entityObj);
             if (isMultipart(contentType)) {
                 EntityBodyChannel entityBodyChannel = createEntityBodyChannel(env, entityObj, contentType);
@@ -127,6 +266,9 @@ public class MimeEntityBody {
 
     public static Object getBodyPartsAsStream(Environment env, BObject entityObj) {
         try {
+            if (EntityBodyHandler.isBodyPartsFiltered(entityObj)) {
+                return MimeUtil.createError(PARSER_ERROR, BODY_PARTS_FILTERED_MESSAGE);
+            }
             String contentType = getContentTypeWithParameters(entityObj);
             if (isMultipart(contentType)) {
                 EntityBodyChannel entityBodyChannel = createEntityBodyChannel(env, entityObj, contentType);
@@ -142,17 +284,37 @@ public class MimeEntityBody {
         }
     }
 
-    private static EntityBodyChannel createEntityBodyChannel(Environment env, BObject entityObj, String contentType)
-            throws IOException {
+    public static Object getBodyPartsContentLength(Environment env, BObject entityObj) {
+        try {
+            String contentType = getContentTypeWithParameters(entityObj);
+            if (!isMultipart(contentType)) {
+                return MimeUtil.createError(PARSER_ERROR, "Entity doesn't contain body parts");
+            }
+            if (EntityBodyHandler.isBodyPartsFiltered(entityObj)) {
+                return MimeUtil.createError(PARSER_ERROR, BODY_PARTS_FILTERED_MESSAGE);
+            }
+            String boundaryValue = HeaderUtil.extractBoundaryParameter(contentType);
+            // A boundary generated at serialization has the same length as the one generated here
+            String multipartDataBoundary = boundaryValue != null ? boundaryValue : getNewMultipartDelimiter();
+            long contentLength = new MultipartDataSource(env, entityObj, multipartDataBoundary).getContentLength();
+            return contentLength < 0 ? null : contentLength;
+        } catch (Throwable err) {
+            return MimeUtil.createError(PARSER_ERROR, "Error occurred while computing the content length of " +
+                    "body parts : " + getErrorMsg(err));
+        }
+    }
+
+    /**
+     * Create a channel over the serialized body parts. The headers of the parts are resolved right away and the
+     * bodies are serialized in steps on the strand which reads the channel, so the message is never held in memory as
+     * a whole.
+     */
+    private static EntityBodyChannel createEntityBodyChannel(Environment env, BObject entityObj, String contentType) {
         String boundaryValue = HeaderUtil.extractBoundaryParameter(contentType);
         String multipartDataBoundary = boundaryValue != null ? boundaryValue : getNewMultipartDelimiter();
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
         MultipartDataSource multipartDataSource = new MultipartDataSource(env, entityObj, multipartDataBoundary);
-        multipartDataSource.serialize(outputStream);
-        EntityBodyChannel entityBodyChannel = new EntityBodyChannel(new ByteArrayInputStream(
-                outputStream.toByteArray()));
-        MimeUtil.closeOutputStream(outputStream);
-        return entityBodyChannel;
+        return new EntityBodyChannel(MultipartPipe.open(
+                multipartDataSource.serializeInSteps(MultipartPipe.getBufferSize())));
     }
 
     public static Object getByteChannel(BObject entityObj) {
@@ -215,25 +377,12 @@ public class MimeEntityBody {
                 return null;
             }
             byte[] bytes;
-            int arraySize = (int) inputArraySize;
             try {
-                InputStream inputStream = byteChannel.getInputStream();
-                try (ByteArrayOutputStream output = new ByteArrayOutputStream()) {
-                    do {
-                        byte[] buffer = new byte[arraySize];
-                        int readCount = inputStream.read(buffer, 0, arraySize);
-                        arraySize -= readCount;
-                        if (readCount == -1 && output.size() == 0) {
-                            EntityBodyHandler.closeByteChannel(byteChannel);
-                            entityObj.addNativeData(ENTITY_BYTE_CHANNEL, null);
-                            return null;
-                        }
-                        if (readCount == -1) {
-                            break;
-                        }
-                        output.write(buffer, 0, readCount);
-                    } while (arraySize > 0);
-                    bytes = output.toByteArray();
+                bytes = EntityBodyHandler.readChunk(byteChannel.getInputStream(), (int) inputArraySize);
+                if (bytes == null) {
+                    EntityBodyHandler.closeByteChannel(byteChannel);
+                    entityObj.addNativeData(ENTITY_BYTE_CHANNEL, null);
+                    return null;
                 }
             } catch (RuntimeException | IOException ex) {
                 return IOUtils.createError(IOConstants.ErrorCode.GenericError,
@@ -268,11 +417,29 @@ public class MimeEntityBody {
         }
     }
 
+    /**
+     * Populate the header fields of a decoded body part, whose headers are set to the part on first access.
+     *
+     * @param entityObj Represent a ballerina entity
+     */
+    public static void resolveHeaders(BObject entityObj) {
+        DeferredPartHeaders.resolve(entityObj);
+    }
+
     public static void setBodyParts(BObject entityObj, BArray bodyParts, BString contentType) {
         entityObj.addNativeData(BODY_PARTS, bodyParts);
+        entityObj.addNativeData(BODY_PARTS_FILTERED, null);
         MimeUtil.setMediaTypeToEntity(entityObj, contentType != null ? contentType.getValue() : MULTIPART_FORM_DATA);
     }
 
+    public static void setCompression(BObject entityObj, BString coding) {
+        entityObj.addNativeData(ENTITY_COMPRESSION, coding.getValue());
+    }
+
+    public static void setMaxPayloadSize(BObject entityObj, long maxSize) {
+        PayloadSizeLimit.setMaxPayloadSize(entityObj, maxSize);
+    }
+
     public static void setByteArray(BObject entityObj, BArray payload, BString contentType) {
         EntityBodyHandler.addMessageDataSource(entityObj, payload);
         MimeUtil.setMediaTypeToEntity(entityObj, contentType != null ? contentType.getValue() : OCTET_STREAM);
@@ -281,6 +448,7 @@ public class MimeEntityBody {
     public static void setByteChannel(BObject entityObj, BObject byteChannel,
                                       BString contentType) {
         entityObj.addNativeData(ENTITY_BYTE_CHANNEL, byteChannel.getNativeData(IOConstants.BYTE_CHANNEL_NAME));
+        entityObj.addNativeData(BODY_PARTS_FILTERED, null);
         Object dataSource = EntityBodyHandler.getMessageDataSource(entityObj);
         if (dataSource != null) { //Clear message data source when the user set a byte channel to entity
             entityObj.addNativeData(MESSAGE_DATA_SOURCE, null);
@@ -290,6 +458,7 @@ public class MimeEntityBody {
 
     public static void setByteStream(BObject entityObj, BStream byteStream, BString contentType) {
         entityObj.addNativeData(ENTITY_BYTE_STREAM, byteStream);
+        entityObj.addNativeData(BODY_PARTS_FILTERED, null);
         //Clear message data source/byteChannel when the user set a byte stream to entity
         entityObj.addNativeData(ENTITY_BYTE_CHANNEL, null);
         entityObj.addNativeData(MESSAGE_DATA_SOURCE, null);
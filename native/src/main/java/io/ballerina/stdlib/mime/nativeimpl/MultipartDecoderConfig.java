@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.mime.nativeimpl;
+
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BDecimal;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.stdlib.mime.util.DecoderMemoryBudget;
+import io.ballerina.stdlib.mime.util.MimeUtil;
+import io.ballerina.stdlib.mime.util.MultipartDecoder;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import static io.ballerina.stdlib.mime.util.MimeConstants.CONFIGURATION_ERROR;
+
+/**
+ * Applies the module level configurations of the multipart decoder.
+ *
+ * @since 2.12.1
+ */
+public class MultipartDecoderConfig {
+
+    private static final String DECODER_MEMORY_STATS = "DecoderMemoryStats";
+    private static final BString RESERVED_BYTES_FIELD = StringUtils.fromString("reservedBytes");
+    private static final BString REJECTED_DECODES_FIELD = StringUtils.fromString("rejectedDecodes");
+
+    private MultipartDecoderConfig() {}
+
+    public static void setEngine(BString engine) {
+        MultipartDecoder.setEngine(MultipartDecoder.Engine.valueOf(engine.getValue()));
+    }
+
+    public static Object setLimits(long partMemoryThreshold, long maxInMemoryBytes, BString spillDirectory,
+                                   long chunkSize, long fileChannelThreshold) {
+        Path tempDirectory = null;
+        if (!spillDirectory.getValue().isEmpty()) {
+            tempDirectory = Paths.get(spillDirectory.getValue());
+            if (!Files.isDirectory(tempDirectory) || !Files.isWritable(tempDirectory)) {
+                return MimeUtil.createError(CONFIGURATION_ERROR, "Multipart spill directory is not a writable " +
+                        "directory: " + spillDirectory.getValue());
+            }
+        }
+        if (chunkSize <= 0 || chunkSize > Integer.MAX_VALUE) {
+            return MimeUtil.createError(CONFIGURATION_ERROR, "Invalid multipart decoder chunk size: " + chunkSize);
+        }
+        MultipartDecoder.setLimits(partMemoryThreshold, maxInMemoryBytes, tempDirectory, (int) chunkSize);
+        MultipartDecoder.setFileChannelThreshold(fileChannelThreshold);
+        return null;
+    }
+
+    public static void setMemoryBudget(long budget, BString admissionPolicy, BDecimal admissionTimeout) {
+        long timeoutInMillis = admissionTimeout.decimalValue().multiply(BigDecimal.valueOf(1000)).longValue();
+        DecoderMemoryBudget.configure(budget, DecoderMemoryBudget.AdmissionPolicy.valueOf(admissionPolicy.getValue()),
+                                      timeoutInMillis);
+    }
+
+    public static BMap<BString, Object> getMemoryStats() {
+        BMap<BString, Object> stats = ValueCreator.createRecordValue(MimeUtil.getMimePackage(), DECODER_MEMORY_STATS);
+        stats.put(RESERVED_BYTES_FIELD, DecoderMemoryBudget.getReservedBytes());
+        stats.put(REJECTED_DECODES_FIELD, DecoderMemoryBudget.getRejectedDecodes());
+        return stats;
+    }
+}
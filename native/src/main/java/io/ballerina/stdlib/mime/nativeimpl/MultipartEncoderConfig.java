@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.mime.nativeimpl;
+
+import io.ballerina.stdlib.mime.util.MimeUtil;
+import io.ballerina.stdlib.mime.util.MultipartPipe;
+import io.ballerina.stdlib.mime.util.PartPreSerializer;
+
+import static io.ballerina.stdlib.mime.util.MimeConstants.CONFIGURATION_ERROR;
+
+/**
+ * Applies the module level configurations of the multipart serializer.
+ *
+ * @since 2.12.1
+ */
+public class MultipartEncoderConfig {
+
+    private MultipartEncoderConfig() {}
+
+    public static Object setSerializerBufferSize(long bufferSize) {
+        if (bufferSize <= 0 || bufferSize > Integer.MAX_VALUE) {
+            return MimeUtil.createError(CONFIGURATION_ERROR, "Invalid multipart serializer buffer size: " +
+                    bufferSize);
+        }
+        MultipartPipe.setBufferSize((int) bufferSize);
+        return null;
+    }
+
+    public static void setSerializerParallelism(long parallelism) {
+        PartPreSerializer.setParallelism((int) Math.min(parallelism, Integer.MAX_VALUE));
+    }
+}
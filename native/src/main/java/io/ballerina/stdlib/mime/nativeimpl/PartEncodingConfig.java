@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.mime.nativeimpl;
+
+import io.ballerina.stdlib.mime.util.ContentEncoding;
+import io.ballerina.stdlib.mime.util.MimeUtil;
+import io.ballerina.stdlib.mime.util.TransferEncoding;
+
+import java.util.zip.Deflater;
+
+import static io.ballerina.stdlib.mime.util.MimeConstants.CONFIGURATION_ERROR;
+
+/**
+ * Applies the module level configurations of the Content-Transfer-Encodings and Content-Encodings of body parts,
+ * which are used both while body parts are decoded and while they are serialized.
+ *
+ * @since 2.12.1
+ */
+public class PartEncodingConfig {
+
+    private PartEncodingConfig() {}
+
+    public static Object setContentEncoding(boolean enabled, long compressionLevel, long bufferSize) {
+        if (compressionLevel < Deflater.DEFAULT_COMPRESSION || compressionLevel > Deflater.BEST_COMPRESSION) {
+            return MimeUtil.createError(CONFIGURATION_ERROR, "Invalid compression level: " + compressionLevel);
+        }
+        if (bufferSize <= 0 || bufferSize > Integer.MAX_VALUE) {
+            return MimeUtil.createError(CONFIGURATION_ERROR, "Invalid compression buffer size: " + bufferSize);
+        }
+        ContentEncoding.configure(enabled, (int) compressionLevel, (int) bufferSize);
+        return null;
+    }
+
+    public static void setTransferEncoding(boolean enabled) {
+        TransferEncoding.setEnabled(enabled);
+    }
+}
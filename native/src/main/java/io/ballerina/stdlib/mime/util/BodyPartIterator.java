@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.mime.util;
+
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BObject;
+import io.ballerina.stdlib.io.channels.base.Channel;
+import jakarta.activation.MimeTypeParseException;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+import static io.ballerina.stdlib.mime.util.MimeConstants.BOUNDARY;
+
+/**
+ * Hands out the body parts of a multipart entity one at a time. Parts of an entity body which has not been decoded
+ * yet are read off the byte channel by the native multipart parser as they are requested, so only the part which is
+ * being read at the moment is held by the iterator.
+ *
+ * @since 2.12.1
+ */
+public class BodyPartIterator implements Closeable {
+
+    private final BArray bodyParts;
+    private final MultipartParser parser;
+    private final Channel byteChannel;
+    private int index = 0;
+    private boolean closed = false;
+
+    private BodyPartIterator(BArray bodyParts, MultipartParser parser, Channel byteChannel) {
+        this.bodyParts = bodyParts;
+        this.parser = parser;
+        this.byteChannel = byteChannel;
+    }
+
+    /**
+     * Create an iterator over body parts which have already been decoded or set to the entity.
+     *
+     * @param bodyParts Array of body parts
+     * @return an iterator over the given parts
+     */
+    public static BodyPartIterator fromBodyParts(BArray bodyParts) {
+        return new BodyPartIterator(bodyParts, null, null);
+    }
+
+    /**
+     * Create an iterator which decodes the body parts from the given byte channel as they are requested.
+     *
+     * @param contentType Content-Type of the top level message
+     * @param byteChannel Represent ballerina specific byte channel of the top level message
+     * @return an iterator over the parts of the message
+     * @throws MimeTypeParseException When the Content-Type cannot be parsed
+     * @throws IOException When the boundary is missing or the input stream of the channel cannot be obtained
+     */
+    public static BodyPartIterator fromByteChannel(String contentType, Channel byteChannel)
+            throws MimeTypeParseException, IOException {
+        String boundary = MediaTypeCache.get(contentType).getParameter(BOUNDARY);
+        if (boundary == null || boundary.isEmpty()) {
+            throw new IOException(MultipartParser.MISSING_START_BOUNDARY);
+        }
+        MultipartParser parser = new MultipartParser(byteChannel.getInputStream(), boundary,
+                                                     MultipartDecoder.getChunkSize());
+        return new BodyPartIterator(null, parser, byteChannel);
+    }
+
+    /**
+     * Get the next body part. The body of a part read off the byte channel is a live stream over the message, so any
+     * unread content of the previous part is discarded.
+     *
+     * @return the next body part or null if there are no more parts
+     * @throws IOException When the message cannot be read or is malformed
+     */
+    public BObject next() throws IOException {
+        if (closed) {
+            return null;
+        }
+        if (bodyParts != null) {
+            if (index < bodyParts.size()) {
+                return (BObject) bodyParts.getRefValue(index++);
+            }
+            closed = true;
+            return null;
+        }
+        MultipartParser.Part part;
+        try {
+            part = parser.nextPart();
+        } catch (IOException e) {
+            close();
+            throw e;
+        }
+        if (part == null) {
+            close();
+            return null;
+        }
+        try {
+            return MultipartDecoder.createBodyPart(part);
+        } catch (MimeTypeParseException e) {
+            throw new IOException("Invalid Content-Type in body part: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (parser != null) {
+            parser.close();
+            EntityBodyHandler.closeByteChannel(byteChannel);
+        }
+    }
+}
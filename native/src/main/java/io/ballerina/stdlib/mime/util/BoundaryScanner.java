@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.mime.util;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Finds a multipart delimiter within a byte buffer using the Boyer-Moore-Horspool algorithm. The skip table is
+ * computed once per boundary, so a single scanner can be reused for every chunk of the message.
+ *
+ * @since 2.12.1
+ */
+public class BoundaryScanner {
+
+    private static final int ALPHABET_SIZE = 256;
+
+    private final byte[] pattern;
+    private final int[] skipTable;
+
+    public BoundaryScanner(byte[] pattern) {
+        if (pattern.length == 0) {
+            throw new IllegalArgumentException("Boundary pattern cannot be empty");
+        }
+        this.pattern = pattern.clone();
+        this.skipTable = new int[ALPHABET_SIZE];
+        Arrays.fill(skipTable, pattern.length);
+        int last = pattern.length - 1;
+        for (int i = 0; i < last; i++) {
+            skipTable[pattern[i] & 0xFF] = last - i;
+        }
+    }
+
+    /**
+     * Get the length of the pattern this scanner looks for.
+     *
+     * @return pattern length in bytes
+     */
+    public int getPatternLength() {
+        return pattern.length;
+    }
+
+    /**
+     * Find the first occurrence of the pattern within the given range of the buffer. The buffer position and limit
+     * are not modified.
+     *
+     * @param buffer Buffer to be scanned
+     * @param from   Absolute index to start the scan from (inclusive)
+     * @param to     Absolute index to stop the scan at (exclusive)
+     * @return the absolute index at which the pattern starts or -1 if the pattern is not found in the range
+     */
+    public int indexOf(ByteBuffer buffer, int from, int to) {
+        if (buffer.hasArray()) {
+            int offset = buffer.arrayOffset();
+            int index = indexOf(buffer.array(), from + offset, to + offset);
+            return index < 0 ? index : index - offset;
+        }
+        int last = pattern.length - 1;
+        int i = from;
+        while (i <= to - pattern.length) {
+            int j = last;
+            while (buffer.get(i + j) == pattern[j]) {
+                if (j == 0) {
+                    return i;
+                }
+                j--;
+            }
+            i += skipTable[buffer.get(i + last) & 0xFF];
+        }
+        return -1;
+    }
+
+    /**
+     * Find the first occurrence of the pattern within the given range of the array.
+     *
+     * @param bytes Array to be scanned
+     * @param from  Index to start the scan from (inclusive)
+     * @param to    Index to stop the scan at (exclusive)
+     * @return the index at which the pattern starts or -1 if the pattern is not found in the range
+     */
+    public int indexOf(byte[] bytes, int from, int to) {
+        int last = pattern.length - 1;
+        int i = from;
+        while (i <= to - pattern.length) {
+            int j = last;
+            while (bytes[i + j] == pattern[j]) {
+                if (j == 0) {
+                    return i;
+                }
+                j--;
+            }
+            i += skipTable[bytes[i + last] & 0xFF];
+        }
+        return -1;
+    }
+}
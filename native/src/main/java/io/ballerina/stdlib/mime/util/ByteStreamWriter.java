@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.mime.util;
+
+import io.ballerina.runtime.api.Environment;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BError;
+import io.ballerina.runtime.api.values.BStream;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes the content of a byte stream to an output stream in a loop. Several elements of the stream are read by each
+ * call to the ballerina runtime, their bytes are written without being copied into intermediate streams and elements
+ * smaller than the flush size are coalesced, so that an output stream is not written once per tiny element.
+ *
+ * @since 2.12.1
+ */
+public class ByteStreamWriter {
+
+    private static final String READ_BYTE_STREAM_BATCH = "readByteStreamBatch";
+
+    private static volatile int batchSize = 16;
+    private static volatile int flushSize = 8192;
+
+    private final OutputStream outputStream;
+    private final byte[] pending;
+    private int pendingCount = 0;
+
+    ByteStreamWriter(OutputStream outputStream, int flushSize) {
+        this.outputStream = outputStream;
+        this.pending = new byte[flushSize];
+    }
+
+    public static void configure(int elementsPerRead, int coalescedFlushSize) {
+        batchSize = elementsPerRead;
+        flushSize = coalescedFlushSize;
+    }
+
+    /**
+     * Write the remaining content of a byte stream.
+     *
+     * @param env          Represent the ballerina environment
+     * @param byteStream   Stream of byte arrays to be written
+     * @param outputStream Stream the content is written to
+     * @throws BError      When the byte stream returns an error
+     * @throws IOException When the content cannot be written
+     */
+    static void write(Environment env, BStream byteStream, OutputStream outputStream) throws IOException {
+        ByteStreamWriter writer = create(outputStream);
+        while (writer.writeBatch(env, byteStream)) {
+            // Batches are written until the end of the stream
+        }
+    }
+
+    static ByteStreamWriter create(OutputStream outputStream) {
+        return new ByteStreamWriter(outputStream, flushSize);
+    }
+
+    /**
+     * Read the next batch of elements of a byte stream and write them. Coalesced elements are written out at the end
+     * of the stream.
+     *
+     * @param env        Represent the ballerina environment
+     * @param byteStream Stream of byte arrays to be written
+     * @return true if there may be more elements, false once the end of the stream has been reached
+     * @throws BError      When the byte stream returns an error
+     * @throws IOException When the content cannot be written
+     */
+    boolean writeBatch(Environment env, BStream byteStream) throws IOException {
+        Object result = env.getRuntime().callFunction(MimeUtil.getMimePackage(), READ_BYTE_STREAM_BATCH, null,
+                                                      byteStream, (long) batchSize);
+        if (result instanceof BError error) {
+            throw error;
+        }
+        BArray elements = (BArray) result;
+        if (elements.size() == 0) {
+            flush();
+            return false;
+        }
+        for (int i = 0; i < elements.size(); i++) {
+            BArray element = (BArray) elements.getRefValue(i);
+            write(element.getByteArray(), element.size());
+        }
+        return true;
+    }
+
+    void write(byte[] bytes, int length) throws IOException {
+        if (length >= pending.length) {
+            flush();
+            outputStream.write(bytes, 0, length);
+            return;
+        }
+        if (pendingCount + length > pending.length) {
+            flush();
+        }
+        System.arraycopy(bytes, 0, pending, pendingCount, length);
+        pendingCount += length;
+    }
+
+    void flush() throws IOException {
+        if (pendingCount > 0) {
+            outputStream.write(pending, 0, pendingCount);
+            pendingCount = 0;
+        }
+    }
+}
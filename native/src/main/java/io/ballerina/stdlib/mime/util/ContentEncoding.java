@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.mime.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Locale;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Applies the gzip and deflate Content-Encodings of body parts as streams, so that a compressed body is never held
+ * in memory as a whole. Content-Encodings are decoded and re-encoded only when they are enabled, since body parts
+ * have always been exposed with their content as it appears on the wire. Parts compressed with
+ * {@code Entity.setCompression()} are compressed regardless.
+ *
+ * @since 2.12.1
+ */
+public class ContentEncoding {
+
+    static final String GZIP = "gzip";
+    static final String DEFLATE = "deflate";
+
+    private static final String X_GZIP = "x-gzip";
+
+    private static volatile boolean enabled = false;
+    private static volatile int level = Deflater.DEFAULT_COMPRESSION;
+    private static volatile int bufferSize = 8192;
+
+    private ContentEncoding() {}
+
+    public static void configure(boolean enable, int compressionLevel, int compressionBufferSize) {
+        enabled = enable;
+        level = compressionLevel;
+        bufferSize = compressionBufferSize;
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Check whether content with the given content encoding has to be decompressed while it is read and compressed
+     * while it is written.
+     *
+     * @param contentEncoding Value of the Content-Encoding header, which may be null
+     * @return true if content encodings are enabled and the encoding is gzip or deflate
+     */
+    public static boolean isApplicable(String contentEncoding) {
+        return enabled && isSupported(contentEncoding);
+    }
+
+    /**
+     * Check whether the given content encoding is one that can be applied.
+     *
+     * @param contentEncoding Value of the Content-Encoding header, which may be null
+     * @return true if the encoding is gzip or deflate
+     */
+    public static boolean isSupported(String contentEncoding) {
+        if (contentEncoding == null) {
+            return false;
+        }
+        String encoding = contentEncoding.trim().toLowerCase(Locale.ROOT);
+        return encoding.equals(GZIP) || encoding.equals(X_GZIP) || encoding.equals(DEFLATE);
+    }
+
+    /**
+     * Wrap an input stream of compressed content with a stream which decompresses it as it is read. Nothing is read
+     * from the given stream until the returned stream is read.
+     *
+     * @param encoded         Stream of compressed content
+     * @param contentEncoding Either gzip or deflate
+     * @return stream of decompressed content
+     */
+    public static InputStream decode(InputStream encoded, String contentEncoding) {
+        return new DecompressingInputStream(encoded, isGzip(contentEncoding), bufferSize);
+    }
+
+    /**
+     * Wrap an output stream with a stream which compresses the content written to it. The returned stream must be
+     * closed to write out the end of the compressed content, which leaves the given stream open.
+     *
+     * @param target          Stream the compressed content is written to
+     * @param contentEncoding Either gzip or deflate
+     * @return stream accepting content to be compressed
+     * @throws IOException When the gzip header cannot be written
+     */
+    public static OutputStream encode(OutputStream target, String contentEncoding) throws IOException {
+        OutputStream unclosable = TransferEncoding.unclosable(target);
+        int compressionLevel = level;
+        if (isGzip(contentEncoding)) {
+            return new GZIPOutputStream(unclosable, bufferSize) {
+                {
+                    def.setLevel(compressionLevel);
+                }
+            };
+        }
+        Deflater deflater = new Deflater(compressionLevel);
+        return new DeflaterOutputStream(unclosable, deflater, bufferSize) {
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    deflater.end();
+                }
+            }
+        };
+    }
+
+    private static boolean isGzip(String contentEncoding) {
+        String encoding = contentEncoding.trim();
+        return GZIP.equalsIgnoreCase(encoding) || X_GZIP.equalsIgnoreCase(encoding);
+    }
+
+    /**
+     * Decompresses content once it is first read, since reading the gzip header blocks until the content arrives.
+     */
+    private static class DecompressingInputStream extends InputStream {
+
+        private final InputStream encoded;
+        private final boolean gzip;
+        private final int bufferSize;
+        private Inflater inflater;
+        private InputStream decoded;
+
+        DecompressingInputStream(InputStream encoded, boolean gzip, int bufferSize) {
+            this.encoded = encoded;
+            this.gzip = gzip;
+            this.bufferSize = bufferSize;
+        }
+
+        @Override
+        public int read() throws IOException {
+            return decoded().read();
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) throws IOException {
+            return decoded().read(bytes, offset, length);
+        }
+
+        @Override
+        public int available() throws IOException {
+            return decoded == null ? 0 : decoded.available();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                if (decoded != null) {
+                    decoded.close();
+                } else {
+                    encoded.close();
+                }
+            } finally {
+                if (inflater != null) {
+                    inflater.end();
+                }
+            }
+        }
+
+        private InputStream decoded() throws IOException {
+            if (decoded == null) {
+                if (gzip) {
+                    decoded = new GZIPInputStream(encoded, bufferSize);
+                } else {
+                    inflater = new Inflater();
+                    decoded = new InflaterInputStream(encoded, inflater, bufferSize);
+                }
+            }
+            return decoded;
+        }
+    }
+}
@@ -0,0 +1,344 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.mime.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static io.ballerina.stdlib.mime.util.MimeConstants.TEMP_FILE_EXTENSION;
+import static io.ballerina.stdlib.mime.util.MimeConstants.TEMP_FILE_NAME;
+
+/**
+ * A body part decoded by the {@link MultipartParser} whose content has been read off the message. Content is kept in
+ * memory up to the given threshold and the whole part is moved to a temp file once the threshold is exceeded or the
+ * {@link DecoderMemoryBudget} runs out. Parts of a message which is already in memory are views of the message
+ * instead.
+ *
+ * @since 2.12.1
+ */
+public class DecodedPart implements Closeable {
+
+    private final String contentType;
+    private final String contentId;
+    private final MimePartHeaders headers;
+    private final List<byte[]> chunks = new ArrayList<>();
+    private long size = 0;
+    private final Path tempDirectory;
+    private final DecoderMemoryBudget.Reservation reservation = new DecoderMemoryBudget.Reservation(this);
+    private Path file;
+    private ByteBuffer view;
+
+    private DecodedPart(MultipartParser.Part part, Path tempDirectory) {
+        this.tempDirectory = tempDirectory;
+        this.contentType = part.getContentType();
+        this.contentId = part.getContentId();
+        this.headers = part.getHeaders();
+    }
+
+    /**
+     * Read the body of the given part off the message.
+     *
+     * @param part            Current part of the parser
+     * @param memoryThreshold Maximum number of bytes kept in memory for the part
+     * @param chunkSize       Size of a single in-memory chunk
+     * @param tempDirectory   Directory in which the temp file is created or null to use the default temp directory
+     * @return the decoded part
+     * @throws IOException When the part body cannot be read or written to the temp file
+     */
+    public static DecodedPart read(MultipartParser.Part part, long memoryThreshold, int chunkSize,
+                                   Path tempDirectory) throws IOException {
+        DecodedPart decodedPart = new DecodedPart(part, tempDirectory);
+        try {
+            decodedPart.readContent(part.getBody(), memoryThreshold, chunkSize);
+        } catch (IOException e) {
+            decodedPart.close();
+            throw e;
+        }
+        return decodedPart;
+    }
+
+    /**
+     * Create a part whose content is a view of a message which is already in memory. The content is neither copied
+     * nor reserved from the memory budget, since it is held by the message.
+     *
+     * @param part    Current part of the parser
+     * @param content Body of the part, sharing its content with the message
+     * @return the decoded part
+     */
+    public static DecodedPart view(MultipartParser.Part part, ByteBuffer content) {
+        DecodedPart decodedPart = new DecodedPart(part, null);
+        decodedPart.view = content;
+        decodedPart.size = content.remaining();
+        return decodedPart;
+    }
+
+    private void readContent(InputStream body, long memoryThreshold, int chunkSize) throws IOException {
+        while (true) {
+            byte[] chunk = new byte[chunkSize];
+            int length = body.readNBytes(chunk, 0, chunkSize);
+            if (length == 0) {
+                return;
+            }
+            if (size + length > memoryThreshold || !reservation.tryReserve(length)) {
+                moveToFile(body, chunk, length);
+                return;
+            }
+            chunks.add(length == chunkSize ? chunk : Arrays.copyOf(chunk, length));
+            size += length;
+            if (length < chunkSize) {
+                return;
+            }
+        }
+    }
+
+    private void moveToFile(InputStream body, byte[] chunk, int length) throws IOException {
+        file = tempDirectory != null ? Files.createTempFile(tempDirectory, TEMP_FILE_NAME, TEMP_FILE_EXTENSION)
+                : Files.createTempFile(TEMP_FILE_NAME, TEMP_FILE_EXTENSION);
+        try (OutputStream outputStream = Files.newOutputStream(file)) {
+            for (byte[] storedChunk : chunks) {
+                outputStream.write(storedChunk);
+            }
+            chunks.clear();
+            reservation.release();
+            outputStream.write(chunk, 0, length);
+            size += length;
+            size += body.transferTo(outputStream);
+        }
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getContentId() {
+        return contentId;
+    }
+
+    public MimePartHeaders getAllHeaders() {
+        return headers;
+    }
+
+    /**
+     * Get all the values of a given header.
+     *
+     * @param name Header name, matched case insensitively
+     * @return list of header values or null if the header does not exist
+     */
+    public List<String> getHeader(String name) {
+        return headers.getHeader(name);
+    }
+
+    /**
+     * Get the size of the part content in bytes.
+     *
+     * @return content size
+     */
+    public long getSize() {
+        return size;
+    }
+
+    public boolean isInMemory() {
+        return file == null;
+    }
+
+    /**
+     * Get the content of the part, which can be read only once. Memory reserved for content kept in memory is
+     * released as the returned stream is read and once it is closed, so the part does not have to be closed when its
+     * content is read to the end.
+     *
+     * @return input stream of the part content
+     * @throws IOException When the temp file cannot be opened
+     */
+    public InputStream readOnce() throws IOException {
+        if (file != null) {
+            return Files.newInputStream(file);
+        }
+        if (view != null) {
+            InputStream content = new BufferListInputStream(new ArrayList<>(List.of(view)), null);
+            view = null;
+            return content;
+        }
+        List<ByteBuffer> buffers = new ArrayList<>(chunks.size());
+        for (byte[] chunk : chunks) {
+            buffers.add(ByteBuffer.wrap(chunk));
+        }
+        chunks.clear();
+        return new BufferListInputStream(buffers, reservation);
+    }
+
+    /**
+     * Open a channel over the temp file which holds the content of the part.
+     *
+     * @return a read only file channel
+     * @throws IOException When the content is kept in memory or the temp file cannot be opened
+     */
+    public FileChannel openFileChannel() throws IOException {
+        if (file == null) {
+            throw new IOException("Content of the part is not written to a file");
+        }
+        return FileChannel.open(file, StandardOpenOption.READ);
+    }
+
+    /**
+     * Move the temp file which holds the content of the part to the given path. The content is copied instead if the
+     * file cannot be moved, for example when the target is on another file store.
+     *
+     * @param target Path the content is saved to. An existing file is replaced
+     * @return true if the content has been saved, false if the content is kept in memory
+     * @throws IOException When the content cannot be saved
+     */
+    public boolean moveFileTo(Path target) throws IOException {
+        if (file == null) {
+            return false;
+        }
+        try {
+            Files.move(file, target, StandardCopyOption.REPLACE_EXISTING);
+            file = null;
+        } catch (IOException e) {
+            Files.copy(file, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return true;
+    }
+
+    /**
+     * Release the content of the part and delete the temp file, if any.
+     */
+    @Override
+    public void close() {
+        chunks.clear();
+        view = null;
+        reservation.clean();
+        if (file != null) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                file.toFile().deleteOnExit();
+            }
+            file = null;
+        }
+    }
+
+    /**
+     * Input stream over the in-memory content of a part. The remaining content can also be taken as buffers, so that
+     * it can be written out without going through the stream. Memory reserved for the content is released as the
+     * buffers are let go of.
+     */
+    static class BufferListInputStream extends InputStream {
+
+        private final List<ByteBuffer> buffers;
+        private final DecoderMemoryBudget.Reservation reservation;
+        private int bufferIndex = 0;
+
+        BufferListInputStream(List<ByteBuffer> buffers, DecoderMemoryBudget.Reservation reservation) {
+            this.buffers = buffers;
+            this.reservation = reservation;
+        }
+
+        @Override
+        public int read() {
+            ByteBuffer buffer = currentBuffer();
+            if (buffer == null) {
+                return -1;
+            }
+            return buffer.get() & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] bytes, int off, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            ByteBuffer buffer = currentBuffer();
+            if (buffer == null) {
+                return -1;
+            }
+            int count = Math.min(length, buffer.remaining());
+            buffer.get(bytes, off, count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            ByteBuffer buffer = currentBuffer();
+            return buffer == null ? 0 : buffer.remaining();
+        }
+
+        @Override
+        public void close() {
+            while (bufferIndex < buffers.size()) {
+                release(bufferIndex++);
+            }
+        }
+
+        /**
+         * Get the number of bytes which have not been read yet.
+         *
+         * @return remaining content size
+         */
+        long remaining() {
+            long remaining = 0;
+            for (int i = bufferIndex; i < buffers.size(); i++) {
+                remaining += buffers.get(i).remaining();
+            }
+            return remaining;
+        }
+
+        /**
+         * Take the content which has not been read yet. The stream is at its end afterwards.
+         *
+         * @return buffers holding the remaining content
+         */
+        ByteBuffer[] takeRemaining() {
+            ByteBuffer[] remaining = buffers.subList(bufferIndex, buffers.size()).toArray(new ByteBuffer[0]);
+            // The caller writes the buffers out right away
+            close();
+            return remaining;
+        }
+
+        private ByteBuffer currentBuffer() {
+            while (bufferIndex < buffers.size()) {
+                ByteBuffer buffer = buffers.get(bufferIndex);
+                if (buffer.hasRemaining()) {
+                    return buffer;
+                }
+                // Let go of the buffers that have already been read
+                release(bufferIndex++);
+            }
+            return null;
+        }
+
+        private void release(int index) {
+            ByteBuffer buffer = buffers.set(index, null);
+            if (reservation != null && buffer != null) {
+                reservation.release(buffer.limit());
+            }
+        }
+    }
+}
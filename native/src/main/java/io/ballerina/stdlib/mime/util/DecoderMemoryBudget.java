@@ -0,0 +1,244 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.mime.util;
+
+import java.lang.ref.Cleaner;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static io.ballerina.stdlib.mime.util.MimeConstants.DECODER_OVERLOADED_ERROR;
+
+/**
+ * Process wide memory budget shared by all the multipart decoders. Body parts reserve memory from the budget before
+ * keeping content in memory and fall back to temp files once the budget is exhausted. Reservations are made with a
+ * compare-and-set loop, so decoders never block each other while reading parts.
+ * <p>
+ * Only the native parser reserves from the budget, so multipart content read from a byte channel is always decoded
+ * with the native parser while the budget is limited. Parts decoded from a byte array are views of the array and do
+ * not reserve any memory.
+ *
+ * @since 2.12.1
+ */
+public class DecoderMemoryBudget {
+
+    /**
+     * Action taken when a decode is started while the budget is exhausted.
+     */
+    public enum AdmissionPolicy {
+        QUEUE, REJECT
+    }
+
+    private static final AtomicLong RESERVED_BYTES = new AtomicLong();
+    private static final AtomicLong REJECTED_DECODES = new AtomicLong();
+    // A lock rather than a monitor, so that queued decodes do not pin the carrier threads of virtual threads
+    private static final ReentrantLock ADMISSION_LOCK = new ReentrantLock();
+    private static final Condition MEMORY_RELEASED = ADMISSION_LOCK.newCondition();
+    private static final Cleaner CLEANER = Cleaner.create();
+
+    private static volatile long limit = -1;
+    private static volatile AdmissionPolicy admissionPolicy = AdmissionPolicy.QUEUE;
+    private static volatile long admissionTimeoutNanos = TimeUnit.SECONDS.toNanos(30);
+
+    private DecoderMemoryBudget() {}
+
+    /**
+     * Configure the budget.
+     *
+     * @param budget           Maximum number of bytes kept in memory by all the decoders. A value less than or equal
+     *                         to zero does not limit the memory
+     * @param policy           Action taken when a decode is started while the budget is exhausted
+     * @param timeoutInMillis  Maximum time a queued decode waits for the budget before it is rejected
+     */
+    public static void configure(long budget, AdmissionPolicy policy, long timeoutInMillis) {
+        limit = budget;
+        admissionPolicy = policy;
+        admissionTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, timeoutInMillis));
+        signalQueuedDecodes();
+    }
+
+    public static boolean isLimited() {
+        return limit > 0;
+    }
+
+    /**
+     * Get the number of bytes currently reserved by decoded body parts.
+     *
+     * @return reserved bytes
+     */
+    public static long getReservedBytes() {
+        return RESERVED_BYTES.get();
+    }
+
+    /**
+     * Get the number of decodes rejected since the budget was created.
+     *
+     * @return rejected decode count
+     */
+    public static long getRejectedDecodes() {
+        return REJECTED_DECODES.get();
+    }
+
+    /**
+     * Get the number of bytes that can still be reserved.
+     *
+     * @return available bytes or {@code Long.MAX_VALUE} if the budget is not limited
+     */
+    public static long getAvailableBytes() {
+        long currentLimit = limit;
+        return currentLimit > 0 ? Math.max(0, currentLimit - RESERVED_BYTES.get()) : Long.MAX_VALUE;
+    }
+
+    /**
+     * Admit a new decode. When the budget is exhausted, the decode is either rejected or waits until memory is
+     * released, depending on the admission policy.
+     *
+     * @throws io.ballerina.runtime.api.values.BError DecoderOverloadedError when the decode is not admitted
+     */
+    public static void admit() {
+        if (getAvailableBytes() > 0) {
+            return;
+        }
+        if (admissionPolicy == AdmissionPolicy.QUEUE) {
+            ADMISSION_LOCK.lock();
+            try {
+                long remaining = admissionTimeoutNanos;
+                while (getAvailableBytes() <= 0 && remaining > 0) {
+                    remaining = MEMORY_RELEASED.awaitNanos(remaining);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                ADMISSION_LOCK.unlock();
+            }
+            if (getAvailableBytes() > 0) {
+                return;
+            }
+        }
+        REJECTED_DECODES.incrementAndGet();
+        throw MimeUtil.createError(DECODER_OVERLOADED_ERROR, "Multipart decoder memory budget of " + limit +
+                " bytes is exhausted");
+    }
+
+    private static boolean tryReserve(long bytes) {
+        while (true) {
+            long current = RESERVED_BYTES.get();
+            long currentLimit = limit;
+            if (currentLimit > 0 && current + bytes > currentLimit) {
+                return false;
+            }
+            if (RESERVED_BYTES.compareAndSet(current, current + bytes)) {
+                return true;
+            }
+        }
+    }
+
+    private static void release(long bytes) {
+        RESERVED_BYTES.addAndGet(-bytes);
+        if (isLimited()) {
+            signalQueuedDecodes();
+        }
+    }
+
+    private static void signalQueuedDecodes() {
+        ADMISSION_LOCK.lock();
+        try {
+            MEMORY_RELEASED.signalAll();
+        } finally {
+            ADMISSION_LOCK.unlock();
+        }
+    }
+
+    /**
+     * Memory reserved by a single owner. The reservation is released when it is cleaned, which happens at the latest
+     * when the owner becomes unreachable.
+     */
+    public static class Reservation {
+
+        private final State state = new State();
+        private final Cleaner.Cleanable cleanable;
+
+        public Reservation(Object owner) {
+            this.cleanable = CLEANER.register(owner, state);
+        }
+
+        /**
+         * Reserve more memory from the budget.
+         *
+         * @param bytes Number of bytes to be reserved
+         * @return true if the memory has been reserved, false if the budget does not have enough memory
+         */
+        public boolean tryReserve(long bytes) {
+            if (!DecoderMemoryBudget.tryReserve(bytes)) {
+                return false;
+            }
+            state.bytes.addAndGet(bytes);
+            return true;
+        }
+
+        /**
+         * Release all the memory held by the reservation.
+         */
+        public void release() {
+            state.run();
+        }
+
+        /**
+         * Release part of the memory held by the reservation.
+         *
+         * @param bytes Number of bytes to be released. At most the reserved bytes are released
+         */
+        public void release(long bytes) {
+            state.release(bytes);
+        }
+
+        /**
+         * Release all the memory held by the reservation and stop tracking the owner.
+         */
+        public void clean() {
+            cleanable.clean();
+        }
+
+        private static class State implements Runnable {
+
+            private final AtomicLong bytes = new AtomicLong();
+
+            @Override
+            public void run() {
+                long reserved = bytes.getAndSet(0);
+                if (reserved > 0) {
+                    DecoderMemoryBudget.release(reserved);
+                }
+            }
+
+            void release(long count) {
+                long current;
+                long released;
+                do {
+                    current = bytes.get();
+                    released = Math.min(current, count);
+                } while (released > 0 && !bytes.compareAndSet(current, current - released));
+                if (released > 0) {
+                    DecoderMemoryBudget.release(released);
+                }
+            }
+        }
+    }
+}
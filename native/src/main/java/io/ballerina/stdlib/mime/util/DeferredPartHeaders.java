@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.mime.util;
+
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BObject;
+import jakarta.activation.MimeTypeParseException;
+import org.jvnet.mimepull.Header;
+
+import java.io.IOException;
+import java.util.List;
+
+import static io.ballerina.stdlib.mime.util.MimeConstants.CONTENT_DISPOSITION_STRUCT;
+import static io.ballerina.stdlib.mime.util.MimeConstants.CONTENT_ID_FIELD;
+import static io.ballerina.stdlib.mime.util.MimeConstants.CONTENT_LENGTH;
+import static io.ballerina.stdlib.mime.util.MimeConstants.DEFERRED_PART_HEADERS;
+import static io.ballerina.stdlib.mime.util.MimeConstants.FIRST_ELEMENT;
+import static io.ballerina.stdlib.mime.util.MimeConstants.MEDIA_TYPE;
+import static io.ballerina.stdlib.mime.util.MimeConstants.NO_CONTENT_LENGTH_FOUND;
+
+/**
+ * Raw headers of a decoded body part which have not been set to the ballerina body part yet. The header map, the
+ * header names and the MediaType, ContentDisposition, content id and content length fields of the body part are
+ * populated from these headers when any of them is accessed for the first time. The Content-Type and Content-Length
+ * of a part are validated when the part is decoded, so that a malformed part is reported by the decoder instead of
+ * failing later on while a header is accessed.
+ *
+ * @since 2.12.1
+ */
+public class DeferredPartHeaders {
+
+    private final List<? extends Header> mimeHeaders;
+    private final MimePartHeaders partHeaders;
+    private final String contentId;
+    private final String contentType;
+    private final int contentLength;
+    private boolean resolving = false;
+
+    private DeferredPartHeaders(List<? extends Header> mimeHeaders, MimePartHeaders partHeaders, String contentId,
+                                String contentType, String contentLength) throws MimeTypeParseException, IOException {
+        this.mimeHeaders = mimeHeaders;
+        this.partHeaders = partHeaders;
+        this.contentId = contentId;
+        this.contentType = contentType;
+        // Parsed Content-Types are cached, so the part parses its Content-Type once more only if the cache is full
+        MediaTypeCache.get(contentType);
+        this.contentLength = parseContentLength(contentLength);
+    }
+
+    /**
+     * Keep the headers of a part decoded by mimepull to be set to the body part on first access.
+     *
+     * @param partStruct  Represent a ballerina body part
+     * @param headers     Headers of the decoded part
+     * @param contentId   Content id of the decoded part
+     * @param contentType Content type of the decoded part
+     * @throws MimeTypeParseException When the Content-Type of the part is invalid
+     * @throws IOException When the Content-Length of the part is not a valid length
+     */
+    static void defer(BObject partStruct, List<? extends Header> headers, String contentId, String contentType)
+            throws MimeTypeParseException, IOException {
+        String contentLength = null;
+        for (Header header : headers) {
+            if (CONTENT_LENGTH.equalsIgnoreCase(header.getName())) {
+                contentLength = header.getValue();
+                break;
+            }
+        }
+        partStruct.addNativeData(DEFERRED_PART_HEADERS, new DeferredPartHeaders(headers, null, contentId,
+                                                                                contentType, contentLength));
+    }
+
+    /**
+     * Keep the headers of a part decoded by the native parser to be set to the body part on first access.
+     *
+     * @param partStruct  Represent a ballerina body part
+     * @param headers     Headers of the decoded part
+     * @param contentId   Content id of the decoded part
+     * @param contentType Content type of the decoded part
+     * @throws MimeTypeParseException When the Content-Type of the part is invalid
+     * @throws IOException When the Content-Length of the part is not a valid length
+     */
+    static void defer(BObject partStruct, MimePartHeaders headers, String contentId, String contentType)
+            throws MimeTypeParseException, IOException {
+        List<String> lengthHeaders = headers.getHeader(CONTENT_LENGTH);
+        String contentLength = HeaderUtil.isHeaderExist(lengthHeaders) ? lengthHeaders.get(FIRST_ELEMENT) : null;
+        partStruct.addNativeData(DEFERRED_PART_HEADERS, new DeferredPartHeaders(null, headers, contentId,
+                                                                                contentType, contentLength));
+    }
+
+    /**
+     * Populate the header fields of the given entity if its headers have been deferred. Does nothing for entities
+     * created by the user or body parts which have already been populated.
+     *
+     * @param entity Represent a ballerina entity
+     */
+    public static void resolve(BObject entity) {
+        // The setters used while populating resolve the headers themselves, which is a no-op while resolving
+        if (!(entity.getNativeData(DEFERRED_PART_HEADERS) instanceof DeferredPartHeaders deferred) ||
+                deferred.resolving) {
+            return;
+        }
+        deferred.resolving = true;
+        try {
+            deferred.populate(entity);
+        } finally {
+            deferred.resolving = false;
+        }
+        // Only removed once the body part has been populated, so that a failure is retried on the next access
+        entity.addNativeData(DEFERRED_PART_HEADERS, null);
+    }
+
+    private void populate(BObject partStruct) {
+        MimePartHeaders headers = partHeaders != null ? partHeaders : toPartHeaders(mimeHeaders);
+        EntityHeaderHandler.populateBodyPartHeaders(partStruct, headers);
+        MimeUtil.setContentLength(partStruct, contentLength);
+        partStruct.set(CONTENT_ID_FIELD, StringUtils.fromString(contentId));
+        BObject mediaType = ValueCreator.createObjectValue(MimeUtil.getMimePackage(), MEDIA_TYPE);
+        MimeUtil.setContentType(mediaType, partStruct, contentType);
+        List<String> contentDispositionHeaders = headers.getHeader(MimeConstants.CONTENT_DISPOSITION);
+        if (HeaderUtil.isHeaderExist(contentDispositionHeaders)) {
+            BObject contentDisposition = ValueCreator.createObjectValue(MimeUtil.getMimePackage(),
+                                                                        CONTENT_DISPOSITION_STRUCT);
+            MimeUtil.setContentDisposition(contentDisposition, partStruct,
+                                           contentDispositionHeaders.get(FIRST_ELEMENT));
+        }
+    }
+
+    /**
+     * Parse the Content-Length declared by a part. The length is only reported as the size of the body part. It is
+     * not used to find the end of the body, which is always located by scanning for the delimiter, since a declared
+     * length cannot be confirmed without that scan.
+     */
+    private static int parseContentLength(String contentLength) throws IOException {
+        if (contentLength == null) {
+            return NO_CONTENT_LENGTH_FOUND;
+        }
+        try {
+            return Integer.parseInt(contentLength);
+        } catch (NumberFormatException e) {
+            throw new IOException("Invalid Content-Length in body part: " + contentLength);
+        }
+    }
+
+    private static MimePartHeaders toPartHeaders(List<? extends Header> headers) {
+        MimePartHeaders partHeaders = new MimePartHeaders();
+        for (Header header : headers) {
+            partHeaders.add(header.getName(), header.getValue());
+        }
+        return partHeaders;
+    }
+}
@@ -0,0 +1,232 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.mime.util;
+
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.utils.TypeUtils;
+import io.ballerina.runtime.api.values.BObject;
+import io.ballerina.runtime.api.values.BRefValue;
+import io.ballerina.runtime.api.values.BString;
+
+import java.io.ByteArrayOutputStream;
+import java.io.UnsupportedEncodingException;
+import java.nio.charset.Charset;
+
+import static io.ballerina.stdlib.mime.util.MimeConstants.ENTITY_ENCODED_BODY;
+
+/**
+ * Caches the encoded bytes of the message data source of an entity, so that a text, JSON or XML body which is read
+ * as a byte array or written several times is only encoded once. Only bodies which cannot change are cached, which
+ * are strings, simple values and read-only JSON and XML values. A mutable JSON or XML value is encoded on every use,
+ * since it may have been modified in the meantime. Bodies larger than {@link #MAX_CACHED_SIZE} bytes are encoded on
+ * every use as well, so that a large body is not kept in memory twice for the lifetime of the entity. A large JSON or
+ * XML value is streamed to the body part as it is serialized, and only its length is cached.
+ * <p>
+ * The cached bytes are discarded when a new data source is set to the entity. They are only reused for the data source
+ * and the charset they were encoded with, so a Content-Type with another charset encodes the body again.
+ *
+ * @since 2.12.1
+ */
+public final class EncodedBody {
+
+    static final int MAX_CACHED_SIZE = 64 * 1024;
+
+    private final Object dataSource;
+    private final String encoding;
+    private final byte[] bytes;
+    private final long length;
+
+    private EncodedBody(Object dataSource, String encoding, byte[] bytes, long length) {
+        this.dataSource = dataSource;
+        this.encoding = encoding;
+        this.bytes = bytes;
+        this.length = length;
+    }
+
+    /**
+     * Get the string form of a data source encoded with the given charset. The returned array is not shared with the
+     * cache, so it may be handed over to the caller as it is.
+     *
+     * @param entity      Represent a ballerina entity
+     * @param dataSource  Message data source of the entity
+     * @param charsetName Name of the charset the body is encoded with
+     * @return the encoded bytes
+     * @throws UnsupportedEncodingException When the charset is not supported
+     */
+    public static byte[] getBytes(BObject entity, Object dataSource, String charsetName)
+            throws UnsupportedEncodingException {
+        byte[] cachedBytes = getCachedBytes(entity, dataSource, charsetName);
+        if (cachedBytes != null) {
+            return cachedBytes.clone();
+        }
+        byte[] bytes = StringUtils.getStringValue(dataSource).getBytes(charsetName);
+        if (isCacheable(dataSource, bytes)) {
+            cache(entity, dataSource, charsetName, bytes.clone());
+        }
+        return bytes;
+    }
+
+    /**
+     * Get the bytes a data source is written as in the body of a body part. A string is encoded with the default
+     * charset and any other value is serialized. The returned array may be shared with the cache and must not be
+     * modified.
+     *
+     * @param entity     Represent a ballerina body part
+     * @param dataSource Message data source of the body part
+     * @return the encoded bytes, or null if the data source is mutable or larger than {@link #MAX_CACHED_SIZE} bytes
+     *         and has to be serialized as it is written
+     */
+    static byte[] getSerializedBytes(BObject entity, Object dataSource) {
+        if (dataSource instanceof BString) {
+            String charsetName = Charset.defaultCharset().name();
+            byte[] bytes = getCachedBytes(entity, dataSource, charsetName);
+            if (bytes == null) {
+                bytes = dataSource.toString().getBytes(Charset.defaultCharset());
+                cache(entity, dataSource, charsetName, bytes);
+            }
+            return bytes;
+        }
+        EncodedBody serialized = getSerialized(entity, dataSource);
+        return serialized != null ? serialized.bytes : null;
+    }
+
+    /**
+     * Get the number of bytes a data source is written as in the body of a body part, without keeping a large value
+     * in memory while it is measured.
+     *
+     * @param entity     Represent a ballerina body part
+     * @param dataSource Message data source of the body part
+     * @return the number of bytes, or -1 if the data source is mutable and its size is not known until it is written
+     */
+    static long getSerializedLength(BObject entity, Object dataSource) {
+        if (dataSource instanceof BString) {
+            return getSerializedBytes(entity, dataSource).length;
+        }
+        EncodedBody serialized = getSerialized(entity, dataSource);
+        return serialized != null ? serialized.length : -1;
+    }
+
+    /**
+     * Serialize a read-only JSON or XML value once. The serialized bytes are kept up to {@link #MAX_CACHED_SIZE}
+     * bytes, and beyond that the rest of the value is only counted.
+     */
+    private static EncodedBody getSerialized(BObject entity, Object dataSource) {
+        if (!(dataSource instanceof BRefValue refValue) || !isImmutable(dataSource)) {
+            return null;
+        }
+        // Serialized values are cached without a charset
+        EncodedBody cached = getCached(entity, dataSource, null);
+        if (cached != null) {
+            return cached;
+        }
+        BoundedBuffer outputStream = new BoundedBuffer();
+        refValue.serialize(outputStream);
+        EncodedBody serialized = new EncodedBody(dataSource, null, outputStream.toBytes(), outputStream.length);
+        entity.addNativeData(ENTITY_ENCODED_BODY, serialized);
+        return serialized;
+    }
+
+    /**
+     * Check whether the serialized bytes of the data source of an entity are cached.
+     *
+     * @param entity     Represent a ballerina body part
+     * @param dataSource Message data source of the body part
+     * @return true if the data source does not have to be serialized again
+     */
+    static boolean isSerialized(BObject entity, Object dataSource) {
+        return getCachedBytes(entity, dataSource, dataSource instanceof BString ?
+                Charset.defaultCharset().name() : null) != null;
+    }
+
+    /**
+     * Discard the cached bytes of an entity.
+     *
+     * @param entity Represent a ballerina entity
+     */
+    public static void invalidate(BObject entity) {
+        entity.addNativeData(ENTITY_ENCODED_BODY, null);
+    }
+
+    private static byte[] getCachedBytes(BObject entity, Object dataSource, String encoding) {
+        EncodedBody cached = getCached(entity, dataSource, encoding);
+        return cached != null ? cached.bytes : null;
+    }
+
+    private static EncodedBody getCached(BObject entity, Object dataSource, String encoding) {
+        if (entity.getNativeData(ENTITY_ENCODED_BODY) instanceof EncodedBody cached && cached.dataSource == dataSource
+                && (encoding == null ? cached.encoding == null : encoding.equals(cached.encoding))) {
+            return cached;
+        }
+        return null;
+    }
+
+    private static void cache(BObject entity, Object dataSource, String encoding, byte[] bytes) {
+        if (isCacheable(dataSource, bytes)) {
+            entity.addNativeData(ENTITY_ENCODED_BODY, new EncodedBody(dataSource, encoding, bytes, bytes.length));
+        }
+    }
+
+    private static boolean isCacheable(Object dataSource, byte[] bytes) {
+        return bytes.length <= MAX_CACHED_SIZE && isImmutable(dataSource);
+    }
+
+    private static boolean isImmutable(Object dataSource) {
+        return !(dataSource instanceof BRefValue) || TypeUtils.getType(dataSource).isReadOnly();
+    }
+
+    /**
+     * Keeps the bytes written to it up to {@link #MAX_CACHED_SIZE} bytes. Once more bytes are written, the kept bytes
+     * are dropped and the rest is only counted.
+     */
+    static class BoundedBuffer extends ByteArrayOutputStream {
+
+        private long length = 0;
+
+        @Override
+        public void write(int b) {
+            length++;
+            if (length <= MAX_CACHED_SIZE) {
+                super.write(b);
+            } else {
+                drop();
+            }
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) {
+            this.length += length;
+            if (this.length <= MAX_CACHED_SIZE) {
+                super.write(bytes, offset, length);
+            } else {
+                drop();
+            }
+        }
+
+        private void drop() {
+            if (buf.length > 0) {
+                reset();
+                buf = new byte[0];
+            }
+        }
+
+        byte[] toBytes() {
+            return length <= MAX_CACHED_SIZE ? toByteArray() : null;
+        }
+    }
+}
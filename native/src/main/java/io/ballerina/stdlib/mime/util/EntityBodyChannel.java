@@ -23,6 +23,7 @@ import java.io.InputStream;
 import java.nio.ByteBuffer;
 import java.nio.channels.ByteChannel;
 import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
 import java.nio.channels.ReadableByteChannel;
 
 /**
@@ -33,14 +34,57 @@ import java.nio.channels.ReadableByteChannel;
 public class EntityBodyChannel implements ByteChannel {
     private InputStream inputStream;
     private ReadableByteChannel byteChannel;
+    private FileChannel fileChannel;
+    private boolean touched;
 
     public EntityBodyChannel(InputStream inputStream) {
         this.inputStream = inputStream;
         this.byteChannel = Channels.newChannel(inputStream);
     }
 
+    /**
+     * Create a body channel which reads straight from a file, so that the content does not go through an
+     * intermediate stream buffer.
+     *
+     * @param fileChannel Channel of the file which holds the body
+     */
+    public EntityBodyChannel(FileChannel fileChannel) {
+        this.fileChannel = fileChannel;
+        this.inputStream = Channels.newInputStream(fileChannel);
+        this.byteChannel = fileChannel;
+    }
+
+    /**
+     * Get the file channel the body is read from.
+     *
+     * @return the file channel or null if the body is not read from a file
+     */
+    public FileChannel getFileChannel() {
+        return fileChannel;
+    }
+
+    /**
+     * Get the input stream the body is read from.
+     *
+     * @return the input stream of the body
+     */
+    public InputStream getInputStream() {
+        touched = true;
+        return inputStream;
+    }
+
+    /**
+     * Check whether the body has been left as it is, that is none of it has been read off this channel yet.
+     *
+     * @return true if the body has not been read
+     */
+    public boolean isUntouched() {
+        return !touched;
+    }
+
     @Override
     public int read(ByteBuffer dst) throws IOException {
+        touched = true;
         return byteChannel.read(dst);
     }
 
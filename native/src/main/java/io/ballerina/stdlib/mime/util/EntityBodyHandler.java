@@ -29,8 +29,8 @@ import io.ballerina.runtime.api.utils.StringUtils;
 import io.ballerina.runtime.api.utils.TypeUtils;
 import io.ballerina.runtime.api.values.BArray;
 import io.ballerina.runtime.api.values.BError;
-import io.ballerina.runtime.api.values.BMap;
 import io.ballerina.runtime.api.values.BObject;
+import io.ballerina.runtime.api.values.BRefValue;
 import io.ballerina.runtime.api.values.BStream;
 import io.ballerina.runtime.api.values.BString;
 import io.ballerina.runtime.api.values.BXml;
@@ -40,23 +40,37 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.ByteArrayInputStream;
+import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 import static io.ballerina.stdlib.mime.util.MimeConstants.BODY_PARTS;
-import static io.ballerina.stdlib.mime.util.MimeConstants.BYTE_STREAM_NEXT_FUNC;
+import static io.ballerina.stdlib.mime.util.MimeConstants.BODY_PARTS_FILTERED;
 import static io.ballerina.stdlib.mime.util.MimeConstants.CHARSET;
+import static io.ballerina.stdlib.mime.util.MimeConstants.CONTENT_ENCODING;
+import static io.ballerina.stdlib.mime.util.MimeConstants.CONTENT_LENGTH;
+import static io.ballerina.stdlib.mime.util.MimeConstants.CONTENT_TRANSFER_ENCODING;
 import static io.ballerina.stdlib.mime.util.MimeConstants.CONTENT_TYPE;
 import static io.ballerina.stdlib.mime.util.MimeConstants.ENTITY;
 import static io.ballerina.stdlib.mime.util.MimeConstants.ENTITY_BYTE_CHANNEL;
 import static io.ballerina.stdlib.mime.util.MimeConstants.ENTITY_BYTE_STREAM;
-import static io.ballerina.stdlib.mime.util.MimeConstants.FIELD_VALUE;
 import static io.ballerina.stdlib.mime.util.MimeConstants.FIRST_BODY_PART_INDEX;
 import static io.ballerina.stdlib.mime.util.MimeConstants.MESSAGE_DATA_SOURCE;
 import static io.ballerina.stdlib.mime.util.MimeConstants.MULTIPART_AS_PRIMARY_TYPE;
+import static io.ballerina.stdlib.mime.util.MimeConstants.READABLE_BUFFER_SIZE;
 import static io.ballerina.stdlib.mime.util.MimeConstants.TEXT_EVENT_STREAM;
 import static io.ballerina.stdlib.mime.util.MimeUtil.EMPTY_JSON_DOCUMENT;
 import static io.ballerina.stdlib.mime.util.MimeUtil.EMPTY_XML_PAYLOAD;
@@ -71,6 +85,8 @@ import static io.ballerina.stdlib.mime.util.MimeUtil.parseAsXml;
 public class EntityBodyHandler {
 
     private static final Logger log = LoggerFactory.getLogger(EntityBodyHandler.class);
+    // Most bytes allocated up front for a body of which only the Content-Length header tells the size
+    static final long MAX_DECLARED_ALLOCATION = 4 * 1024 * 1024;
     private static final Type MIME_ENTITY_TYPE =
             TypeUtils.getType(ValueCreator.createObjectValue(MimeUtil.getMimePackage(), ENTITY));
     private static final ArrayType mimeEntityArrayType = TypeCreator.createArrayType(MIME_ENTITY_TYPE);
@@ -125,6 +141,19 @@ public class EntityBodyHandler {
          * different data types and is not a single data type.*/
         entityObj.addNativeData(MimeConstants.PARSE_AS_JSON, json);
         entityObj.addNativeData(MESSAGE_DATA_SOURCE, messageDataSource);
+        entityObj.addNativeData(BODY_PARTS_FILTERED, null);
+        EncodedBody.invalidate(entityObj);
+    }
+
+    /**
+     * Check whether the body parts of an entity have been decoded with a filter from a byte channel. The parts which
+     * did not match the filter have been discarded, so the entity cannot hand out its body parts anymore.
+     *
+     * @param entityObj Represent a ballerina entity
+     * @return true if the body parts have been consumed by a filtered decode
+     */
+    public static boolean isBodyPartsFiltered(BObject entityObj) {
+        return entityObj.getNativeData(BODY_PARTS_FILTERED) != null;
     }
 
     /**
@@ -140,7 +169,18 @@ public class EntityBodyHandler {
             return ValueCreator.createArrayValue(new byte[0]);
         }
         try {
-            return constructBlobDataSource(byteChannel.getInputStream());
+            long expectedSize = getExpectedSize(entityObj, byteChannel);
+            FileChannel fileChannel = getFileChannel(byteChannel);
+            if (fileChannel != null) {
+                PayloadSizeLimit.checkSize(entityObj, expectedSize);
+                return ValueCreator.createArrayValue(MimeUtil.getByteArray(fileChannel));
+            }
+            InputStream inputStream = PayloadSizeLimit.limit(entityObj, byteChannel.getInputStream(), expectedSize);
+            try {
+                return constructBlobDataSource(inputStream, getInitialSize(entityObj, byteChannel, expectedSize));
+            } catch (RuntimeException e) {
+                throw PayloadSizeLimit.translate(inputStream, e);
+            }
         } finally {
             closeByteChannel(byteChannel);
         }
@@ -153,9 +193,20 @@ public class EntityBodyHandler {
      * @return Data source for binary data which is kept in memory
      */
     public static BArray constructBlobDataSource(InputStream inputStream) {
+        return constructBlobDataSource(inputStream, -1);
+    }
+
+    /**
+     * Construct BlobDataSource from the given input stream, of which the size of the content may be known.
+     *
+     * @param inputStream  Represent the input stream
+     * @param expectedSize Expected number of bytes in the stream, or a negative value if the size is unknown
+     * @return Data source for binary data which is kept in memory
+     */
+    public static BArray constructBlobDataSource(InputStream inputStream, long expectedSize) {
         byte[] byteData;
         try {
-            byteData = MimeUtil.getByteArray(inputStream);
+            byteData = MimeUtil.getByteArray(inputStream, expectedSize);
         } catch (IOException ex) {
             throw ErrorCreator.createError(
                     StringUtils.fromString("Error occurred while reading input stream :" + ex.getMessage()));
@@ -175,7 +226,13 @@ public class EntityBodyHandler {
             throw MimeUtil.createError(MimeConstants.NO_CONTENT_ERROR, EMPTY_JSON_DOCUMENT);
         }
         try {
-            return constructJsonDataSource(entityObj, byteChannel.getInputStream());
+            InputStream inputStream = PayloadSizeLimit.limit(entityObj, byteChannel.getInputStream(),
+                                                             getExpectedSize(entityObj, byteChannel));
+            try {
+                return constructJsonDataSource(entityObj, inputStream);
+            } catch (RuntimeException e) {
+                throw PayloadSizeLimit.translate(inputStream, e);
+            }
         } catch (IOException e) {
             throw ErrorCreator.createError(StringUtils.fromString(e.getMessage()));
         } finally {
@@ -218,7 +275,13 @@ public class EntityBodyHandler {
             throw MimeUtil.createError(MimeConstants.NO_CONTENT_ERROR, EMPTY_XML_PAYLOAD);
         }
         try {
-            return constructXmlDataSource(entityObj, byteChannel.getInputStream());
+            InputStream inputStream = PayloadSizeLimit.limit(entityObj, byteChannel.getInputStream(),
+                                                             getExpectedSize(entityObj, byteChannel));
+            try {
+                return constructXmlDataSource(entityObj, inputStream);
+            } catch (RuntimeException e) {
+                throw PayloadSizeLimit.translate(inputStream, e);
+            }
         } catch (IOException e) {
             throw ErrorCreator.createError(StringUtils.fromString(e.getMessage()));
         } finally {
@@ -261,7 +324,14 @@ public class EntityBodyHandler {
             throw MimeUtil.createError(MimeConstants.NO_CONTENT_ERROR, "String payload is null");
         }
         try {
-            return constructStringDataSource(entityObj, byteChannel.getInputStream());
+            long expectedSize = getExpectedSize(entityObj, byteChannel);
+            InputStream inputStream = PayloadSizeLimit.limit(entityObj, byteChannel.getInputStream(), expectedSize);
+            try {
+                return constructStringDataSource(entityObj, inputStream,
+                                                 getInitialSize(entityObj, byteChannel, expectedSize));
+            } catch (RuntimeException e) {
+                throw PayloadSizeLimit.translate(inputStream, e);
+            }
         } catch (IOException e) {
             throw ErrorCreator.createError(StringUtils.fromString(e.getMessage()));
         } finally {
@@ -277,19 +347,36 @@ public class EntityBodyHandler {
      * @return StringDataSource which represent the entity body which is kept in memory
      */
     public static BString constructStringDataSource(BObject entity, InputStream inputStream) {
-        BString textContent;
-        String contentTypeValue = EntityHeaderHandler.getHeaderValue(entity, CONTENT_TYPE);
-        if (MimeUtil.isNotNullAndEmpty(contentTypeValue)) {
-            String charsetValue = MimeUtil.getContentTypeParamValue(contentTypeValue, CHARSET);
-            if (MimeUtil.isNotNullAndEmpty(charsetValue)) {
-                textContent = StringUtils.getStringFromInputStream(inputStream, charsetValue);
-            } else {
-                textContent = StringUtils.getStringFromInputStream(inputStream);
+        return constructStringDataSource(entity, inputStream, -1);
+    }
+
+    /**
+     * Construct StringDataSource from the given input stream, of which the size of the content may be known. The
+     * content is read into a byte array of its size and decoded at once.
+     *
+     * @param entity       Represent an entity object
+     * @param inputStream  Represent the input stream
+     * @param expectedSize Expected number of bytes in the stream, or a negative value if the size is unknown
+     * @return StringDataSource which represent the entity body which is kept in memory
+     */
+    public static BString constructStringDataSource(BObject entity, InputStream inputStream, long expectedSize) {
+        try {
+            byte[] content = MimeUtil.getByteArray(inputStream, expectedSize);
+            String contentTypeValue = EntityHeaderHandler.getHeaderValue(entity, CONTENT_TYPE);
+            if (MimeUtil.isNotNullAndEmpty(contentTypeValue)) {
+                String charsetValue = MimeUtil.getContentTypeParamValue(contentTypeValue, CHARSET);
+                if (MimeUtil.isNotNullAndEmpty(charsetValue)) {
+                    Charset charset = MimeUtil.getContentTypeCharset(contentTypeValue);
+                    // An unsupported charset is reported by the lookup by name
+                    return StringUtils.fromString(charset != null ? new String(content, charset) :
+                                                          new String(content, charsetValue));
+                }
             }
-        } else {
-            textContent = StringUtils.getStringFromInputStream(inputStream);
+            return StringUtils.fromString(new String(content, Charset.defaultCharset()));
+        } catch (IOException e) {
+            throw ErrorCreator.createError(
+                    StringUtils.fromString("Error occurred while reading input stream :" + e.getMessage()));
         }
-        return textContent;
     }
 
     /**
@@ -340,10 +427,89 @@ public class EntityBodyHandler {
      * @param mimePart Represent decoded mime part
      */
     public static void populateBodyContent(BObject bodyPart, MIMEPart mimePart) {
+        String transferEncoding = getFirstValue(mimePart.getHeader(CONTENT_TRANSFER_ENCODING));
+        String contentEncoding = getFirstValue(mimePart.getHeader(CONTENT_ENCODING));
+        if (TransferEncoding.isApplicable(transferEncoding) || ContentEncoding.isApplicable(contentEncoding)) {
+            populateDecodedContent(bodyPart, mimePart.readOnce(), transferEncoding, contentEncoding, mimePart::close);
+            return;
+        }
         bodyPart.addNativeData(ENTITY_BYTE_CHANNEL, new MimeEntityWrapper(new EntityBodyChannel(mimePart.readOnce()),
                 mimePart));
     }
 
+    /**
+     * Populate ballerina body parts with the body content of a part decoded by the native multipart parser.
+     *
+     * @param bodyPart    Represent ballerina body part
+     * @param decodedPart Represent decoded mime part
+     * @throws IOException When the content of the decoded part cannot be opened
+     */
+    public static void populateBodyContent(BObject bodyPart, DecodedPart decodedPart) throws IOException {
+        String transferEncoding = getFirstValue(decodedPart.getHeader(CONTENT_TRANSFER_ENCODING));
+        String contentEncoding = getFirstValue(decodedPart.getHeader(CONTENT_ENCODING));
+        if (TransferEncoding.isApplicable(transferEncoding) || ContentEncoding.isApplicable(contentEncoding)) {
+            populateDecodedContent(bodyPart, decodedPart.readOnce(), transferEncoding, contentEncoding,
+                                   decodedPart::close);
+            return;
+        }
+        long fileChannelThreshold = MultipartDecoder.getFileChannelThreshold();
+        EntityBodyChannel bodyChannel;
+        if (!decodedPart.isInMemory() && fileChannelThreshold > 0 && decodedPart.getSize() >= fileChannelThreshold) {
+            bodyChannel = new EntityBodyChannel(decodedPart.openFileChannel());
+        } else {
+            bodyChannel = new EntityBodyChannel(decodedPart.readOnce());
+        }
+        bodyPart.addNativeData(ENTITY_BYTE_CHANNEL, new MimeEntityWrapper(bodyChannel, decodedPart));
+    }
+
+    /**
+     * Populate a body part streamed by the native multipart parser with its live body. The body goes through the same
+     * decode stages as the body of a part which is decoded as a whole.
+     *
+     * @param bodyPart Represent ballerina body part
+     * @param part     Current part of the parser
+     */
+    static void populateBodyContent(BObject bodyPart, MultipartParser.Part part) {
+        InputStream content = decodeContent(part.getBody(),
+                                            getFirstValue(part.getHeaders().getHeader(CONTENT_TRANSFER_ENCODING)),
+                                            getFirstValue(part.getHeaders().getHeader(CONTENT_ENCODING)));
+        bodyPart.addNativeData(ENTITY_BYTE_CHANNEL, new EntityWrapper(new EntityBodyChannel(content)));
+    }
+
+    /**
+     * Populate a body part with content which is decoded from its Content-Transfer-Encoding and then decompressed
+     * from its Content-Encoding while it is read. The decoded part is only handed over as a resource to be closed, so
+     * that its raw content is never moved or transferred as it is.
+     */
+    private static void populateDecodedContent(BObject bodyPart, InputStream encodedContent, String transferEncoding,
+                                               String contentEncoding, Closeable decodedPart) {
+        InputStream content = decodeContent(encodedContent, transferEncoding, contentEncoding);
+        bodyPart.addNativeData(ENTITY_BYTE_CHANNEL, new MimeEntityWrapper(new EntityBodyChannel(content), decodedPart));
+    }
+
+    /**
+     * Apply the decode stages of a part body which are enabled for its encodings.
+     *
+     * @param encodedContent   Content of the part as it appears on the wire
+     * @param transferEncoding Content-Transfer-Encoding of the part, which may be null
+     * @param contentEncoding  Content-Encoding of the part, which may be null
+     * @return the content to be exposed as the body of the part
+     */
+    static InputStream decodeContent(InputStream encodedContent, String transferEncoding, String contentEncoding) {
+        InputStream content = encodedContent;
+        if (TransferEncoding.isApplicable(transferEncoding)) {
+            content = TransferEncoding.decode(content, transferEncoding);
+        }
+        if (ContentEncoding.isApplicable(contentEncoding)) {
+            content = ContentEncoding.decode(content, contentEncoding);
+        }
+        return content;
+    }
+
+    private static String getFirstValue(List<String> values) {
+        return values == null || values.isEmpty() ? null : values.get(0);
+    }
+
     /**
      * Write byte channel stream directly into outputstream without converting it to a data source.
      *
@@ -355,13 +521,146 @@ public class EntityBodyHandler {
             throws IOException {
         Channel byteChannel = EntityBodyHandler.getByteChannel(entityObj);
         if (byteChannel != null) {
-            MimeUtil.writeInputToOutputStream(byteChannel.getInputStream(), messageOutputStream);
+            FileChannel fileChannel = getFileChannel(byteChannel);
+            if (fileChannel != null) {
+                MimeUtil.writeFileChannelToOutputStream(fileChannel, messageOutputStream);
+            } else {
+                MimeUtil.writeInputToOutputStream(byteChannel.getInputStream(), messageOutputStream);
+            }
             byteChannel.close();
             //Set the byte channel to null, once it is consumed
             entityObj.addNativeData(ENTITY_BYTE_CHANNEL, null);
         }
     }
 
+    /**
+     * Save the body of the given entity to a file. The temp file of a body part is moved to the given path, in-memory
+     * content is written with a single gathering write and any other byte channel is transferred straight into the
+     * file, so that the content does not go through ballerina byte arrays.
+     *
+     * @param env       Represent the ballerina environment
+     * @param entityObj Represent a ballerina entity
+     * @param target    Path the body is saved to. An existing file is replaced
+     * @throws IOException When the body cannot be read or written to the file
+     */
+    public static void saveBodyTo(Environment env, BObject entityObj, Path target) throws IOException {
+        Channel byteChannel = getByteChannel(entityObj);
+        if (byteChannel != null) {
+            try {
+                if (!moveBodyPart(byteChannel, target)) {
+                    writeByteChannelToFile(byteChannel, target);
+                }
+            } finally {
+                byteChannel.close();
+                //Set the byte channel to null, once it is consumed
+                entityObj.addNativeData(ENTITY_BYTE_CHANNEL, null);
+            }
+            return;
+        }
+        Object dataSource = getMessageDataSource(entityObj);
+        if (dataSource instanceof BArray) {
+            BArray byteArray = (BArray) dataSource;
+            try (FileChannel fileChannel = FileChannel.open(target, StandardOpenOption.CREATE,
+                                                            StandardOpenOption.TRUNCATE_EXISTING,
+                                                            StandardOpenOption.WRITE)) {
+                MimeUtil.writeBuffersToFileChannel(new ByteBuffer[]{
+                        ByteBuffer.wrap(byteArray.getByteArray(), 0, byteArray.size())}, fileChannel);
+            }
+            return;
+        }
+        if (dataSource == null && entityObj.getNativeData(BODY_PARTS) != null) {
+            String contentType = MimeUtil.getContentTypeWithParameters(entityObj);
+            String boundary = HeaderUtil.extractBoundaryParameter(contentType);
+            try (FileChannel fileChannel = FileChannel.open(target, StandardOpenOption.CREATE,
+                                                            StandardOpenOption.TRUNCATE_EXISTING,
+                                                            StandardOpenOption.WRITE)) {
+                new MultipartDataSource(env, entityObj, boundary != null ? boundary :
+                        MimeUtil.getNewMultipartDelimiter()).serialize(fileChannel);
+            }
+            return;
+        }
+        try (OutputStream outputStream = Files.newOutputStream(target)) {
+            if (dataSource instanceof BString) {
+                outputStream.write(((BString) dataSource).getValue().getBytes(getCharset(entityObj)));
+            } else if (dataSource != null) {
+                ((BRefValue) dataSource).serialize(outputStream);
+            } else if (getByteStream(entityObj) != null) {
+                writeByteStreamToOutputStream(env, entityObj, outputStream);
+            } else {
+                throw new IOException("Entity body is not available");
+            }
+        }
+    }
+
+    /**
+     * Get the charset text bodies of the given entity are encoded with, which is the charset parameter of the
+     * Content-Type or the default charset if there is none.
+     */
+    private static Charset getCharset(BObject entityObj) {
+        String contentTypeValue = EntityHeaderHandler.getHeaderValue(entityObj, CONTENT_TYPE);
+        String charsetValue = MimeUtil.isNotNullAndEmpty(contentTypeValue) ?
+                MimeUtil.getContentTypeParamValue(contentTypeValue, CHARSET) : null;
+        return MimeUtil.isNotNullAndEmpty(charsetValue) ? Charset.forName(charsetValue) : Charset.defaultCharset();
+    }
+
+    /**
+     * Move the temp file of a decoded body part to the given path. The file holds the whole body, so it is moved only
+     * if none of the body has been read off the byte channel yet.
+     *
+     * @return true if the part has been moved, false if the content has to be read off the byte channel
+     */
+    private static boolean moveBodyPart(Channel byteChannel, Path target) throws IOException {
+        if (!(byteChannel instanceof MimeEntityWrapper) ||
+                !((MimeEntityWrapper) byteChannel).getEntityBodyChannel().isUntouched()) {
+            return false;
+        }
+        Closeable mimePart = ((MimeEntityWrapper) byteChannel).getMimePart();
+        if (mimePart instanceof DecodedPart) {
+            return ((DecodedPart) mimePart).moveFileTo(target);
+        }
+        if (mimePart instanceof MIMEPart) {
+            try {
+                ((MIMEPart) mimePart).moveTo(target.toFile());
+                return true;
+            } catch (IllegalStateException e) {
+                // Parts kept in memory by mimepull can only be read once, and they are read through the byte channel
+                return false;
+            }
+        }
+        return false;
+    }
+
+    private static void writeByteChannelToFile(Channel byteChannel, Path target) throws IOException {
+        try (FileChannel fileChannel = FileChannel.open(target, StandardOpenOption.CREATE,
+                                                        StandardOpenOption.TRUNCATE_EXISTING,
+                                                        StandardOpenOption.WRITE)) {
+            EntityBodyChannel bodyChannel = byteChannel instanceof EntityWrapper ?
+                    ((EntityWrapper) byteChannel).getEntityBodyChannel() : null;
+            FileChannel fileSource = getFileChannel(byteChannel);
+            if (fileSource != null) {
+                long position = fileSource.position();
+                long size = fileSource.size();
+                while (position < size) {
+                    position += fileSource.transferTo(position, size - position, fileChannel);
+                }
+                fileSource.position(position);
+            } else if (bodyChannel != null &&
+                    bodyChannel.getInputStream() instanceof DecodedPart.BufferListInputStream) {
+                MimeUtil.writeBuffersToFileChannel(
+                        ((DecodedPart.BufferListInputStream) bodyChannel.getInputStream()).takeRemaining(),
+                        fileChannel);
+            } else {
+                ReadableByteChannel source = bodyChannel != null ? bodyChannel :
+                        Channels.newChannel(byteChannel.getInputStream());
+                long position = 0;
+                long transferred;
+                while ((transferred = fileChannel.transferFrom(source, position, READABLE_BUFFER_SIZE * 8L)) > 0) {
+                    position += transferred;
+                }
+            }
+        }
+    }
+
     /**
      * Write byte stream directly to the output-stream without converting it to a data source.
      *
@@ -371,41 +670,21 @@ public class EntityBodyHandler {
      */
     public static void writeByteStreamToOutputStream(Environment env, BObject entity, OutputStream outputStream) {
         BStream byteStream = EntityBodyHandler.getByteStream(entity);
-        if (byteStream != null) {
-            BObject iteratorObj = byteStream.getIteratorObj();
-            writeContent(env, entity, outputStream, iteratorObj);
+        if (byteStream == null) {
+            return;
         }
-    }
-
-    private static void writeContent(Environment env, BObject entity, OutputStream outputStream,
-                                     BObject iteratorObj) {
         try {
-            Object result = env.getRuntime().callMethod(iteratorObj, BYTE_STREAM_NEXT_FUNC, null);
-            handleContentResult(env, entity, outputStream, result, iteratorObj);
+            ByteStreamWriter.write(env, byteStream, outputStream);
         } catch (BError error) {
             handleContentPanic(error);
+        } catch (IOException e) {
+            throw ErrorCreator.createError(StringUtils.fromString("Error occurred while writing the stream content: " +
+                    MimeUtil.removeJavaExceptionPrefix(e.getMessage())));
         } catch (Throwable throwable) {
             handleContentPanic(ErrorCreator.createError(throwable));
-        }
-    }
-
-    public static void handleContentResult(Environment env, BObject entity, OutputStream outputStream, Object result,
-                                           BObject iteratorObj) {
-        if (result == null) {
-            entity.addNativeData(ENTITY_BYTE_STREAM, null);
-            return;
-        }
-        if (result instanceof BError error) {
+        } finally {
             entity.addNativeData(ENTITY_BYTE_STREAM, null);
-            handleContentPanic(error);
-        }
-        try {
-            writeContentPart((BMap) result, outputStream);
-        } catch (Exception e) {
-            throw ErrorCreator.createError(StringUtils.fromString("Error occurred while writing the stream content: " +
-                    MimeUtil.removeJavaExceptionPrefix(e.getMessage())));
         }
-        writeContent(env, entity, outputStream, iteratorObj);
     }
 
     public static void handleContentPanic(BError bError) {
@@ -473,14 +752,9 @@ public class EntityBodyHandler {
         }
     }
 
-    private static void writeContentPart(BMap part, OutputStream outputStream) {
-        BArray arrayValue = part.getArrayValue(FIELD_VALUE);
-        writeContentPart(arrayValue.getBytes(), outputStream);
-    }
-
     private static void writeContentPart(byte[] bytes, OutputStream outputStream) {
-        try (ByteArrayInputStream str = new ByteArrayInputStream(bytes)) {
-            MimeUtil.writeInputToOutputStream(str, outputStream);
+        try {
+            outputStream.write(bytes);
         } catch (IOException e) {
             throw ErrorCreator.createError(StringUtils.fromString(
                     "Error occurred while writing content parts to output stream: " + e.getMessage()));
@@ -505,17 +779,48 @@ public class EntityBodyHandler {
      * @throws IOException When an error occurs while getting inputstream
      */
     public static void decodeEntityBody(BObject entityObj, Channel byteChannel) throws IOException {
+        decodeEntityBody(entityObj, byteChannel, null);
+    }
+
+    /**
+     * Decode the child parts which match the given filter from a given entity body and set them to parent entity's
+     * multipart data field. The parts which do not match the filter are discarded.
+     *
+     * @param entityObj   Parent entity that the nested parts reside
+     * @param byteChannel Represent ballerina specific byte channel
+     * @param filter      Selects the parts to be decoded. Null decodes all the parts
+     * @throws IOException When an error occurs while getting inputstream
+     */
+    public static void decodeEntityBody(BObject entityObj, Channel byteChannel, PartFilter filter)
+            throws IOException {
         String contentType = MimeUtil.getContentTypeWithParameters(entityObj);
         if (!MimeUtil.isNotNullAndEmpty(contentType) || !contentType.startsWith(MULTIPART_AS_PRIMARY_TYPE)) {
             return;
         }
         try {
-            MultipartDecoder.parseBody(entityObj, contentType, byteChannel.getInputStream());
+            MultipartDecoder.parseBody(entityObj, contentType, byteChannel.getInputStream(), filter);
         } catch (IOException e) {
             throw new IOException("Unable to get a byte channel input stream to decode entity body", e);
         }
     }
 
+    /**
+     * Decode the child parts which match the given filter from an entity body held in a byte array and set them to
+     * parent entity's multipart data field. The bodies of the child parts are views of the given array.
+     *
+     * @param entityObj Parent entity that the nested parts reside
+     * @param byteArray Represent the entity body
+     * @param filter    Selects the parts to be decoded. Null decodes all the parts
+     */
+    public static void decodeEntityBody(BObject entityObj, BArray byteArray, PartFilter filter) {
+        String contentType = MimeUtil.getContentTypeWithParameters(entityObj);
+        if (!MimeUtil.isNotNullAndEmpty(contentType) || !contentType.startsWith(MULTIPART_AS_PRIMARY_TYPE)) {
+            return;
+        }
+        MultipartDecoder.parseBody(entityObj, contentType, ByteBuffer.wrap(byteArray.getByteArray(), 0,
+                                                                           byteArray.size()), filter);
+    }
+
     /**
      * Extract body parts from a given entity.
      *
@@ -527,6 +832,122 @@ public class EntityBodyHandler {
                 : (BArray) ValueCreator.createArrayValue(mimeEntityArrayType, 0);
     }
 
+    /**
+     * Get the body parts which match the given filter.
+     *
+     * @param bodyParts Represent ballerina body parts
+     * @param filter    Selects the parts to be returned
+     * @return An array of the matching body parts
+     */
+    public static BArray filterBodyParts(BArray bodyParts, PartFilter filter) {
+        BArray filteredParts = (BArray) ValueCreator.createArrayValue(mimeEntityArrayType, 0);
+        for (int i = 0; i < bodyParts.size(); i++) {
+            BObject bodyPart = (BObject) bodyParts.getRefValue(i);
+            if (filter.matches(bodyPart)) {
+                filteredParts.add(filteredParts.size(), bodyPart);
+            }
+        }
+        return filteredParts;
+    }
+
+    /**
+     * Get the file channel which backs the given byte channel. That is either the temp file of a decoded body part or
+     * the file of an entity created with setFileAsEntityBody().
+     *
+     * @param byteChannel Represent ballerina specific byte channel
+     * @return the file channel or null if the byte channel is not read from a file
+     */
+    static FileChannel getFileChannel(Channel byteChannel) {
+        if (byteChannel instanceof EntityWrapper entityWrapper) {
+            return entityWrapper.getEntityBodyChannel().getFileChannel();
+        }
+        if (byteChannel.getByteChannel() instanceof FileChannel fileChannel) {
+            return fileChannel;
+        }
+        return null;
+    }
+
+    /**
+     * Get the number of bytes that can still be read from a byte channel, without reading it. The size is known for
+     * content kept in memory by the decoders and for content read from a file.
+     *
+     * @param byteChannel Byte channel of an entity, which may be null
+     * @return remaining size, 0 if there is no channel or -1 if the size is not known
+     */
+    static long getRemainingSize(Channel byteChannel) {
+        if (byteChannel == null) {
+            return 0;
+        }
+        try {
+            FileChannel fileChannel = getFileChannel(byteChannel);
+            if (fileChannel != null) {
+                return fileChannel.size() - fileChannel.position();
+            }
+            if (byteChannel instanceof EntityWrapper entityWrapper &&
+                    entityWrapper.getEntityBodyChannel().getInputStream() instanceof
+                            DecodedPart.BufferListInputStream content) {
+                return content.remaining();
+            }
+        } catch (IOException e) {
+            log.debug("Unable to get the size of the byte channel", e);
+        }
+        return -1;
+    }
+
+    /**
+     * Get the expected number of bytes in the body of an entity, from the size of its decoded content or else from
+     * its Content-Length header. The header is not used when the content is decoded while it is read, since it
+     * counts the encoded bytes. A size taken from the header is only declared by the peer, so it is limited with
+     * {@link #getInitialSize} before any memory is allocated for it.
+     *
+     * @param entityObj   Represent a ballerina entity
+     * @param byteChannel Byte channel of the entity body
+     * @return the expected number of bytes, or -1 if it is not known
+     */
+    static long getExpectedSize(BObject entityObj, Channel byteChannel) {
+        long remainingSize = getRemainingSize(byteChannel);
+        if (remainingSize >= 0) {
+            return remainingSize;
+        }
+        if (TransferEncoding.isApplicable(EntityHeaderHandler.getHeaderValue(entityObj, CONTENT_TRANSFER_ENCODING)) ||
+                ContentEncoding.isApplicable(EntityHeaderHandler.getHeaderValue(entityObj, CONTENT_ENCODING))) {
+            return -1;
+        }
+        String contentLength = EntityHeaderHandler.getHeaderValue(entityObj, CONTENT_LENGTH);
+        if (contentLength == null) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(contentLength.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Get the number of bytes to allocate up front for the body of an entity. A size measured from the content itself
+     * is allocated as it is. A size declared by the Content-Length header is trusted only up to
+     * {@link #MAX_DECLARED_ALLOCATION} bytes, or the payload limit of the entity when it is lower, and the rest of
+     * the content is gathered in chunks as it is read.
+     *
+     * @param entityObj    Represent a ballerina entity
+     * @param byteChannel  Byte channel of the entity body
+     * @param expectedSize Size returned by {@link #getExpectedSize}
+     * @return the number of bytes to allocate, or -1 if the size is not known
+     */
+    static long getInitialSize(BObject entityObj, Channel byteChannel, long expectedSize) {
+        if (getRemainingSize(byteChannel) >= 0) {
+            return expectedSize;
+        }
+        return limitDeclaredSize(expectedSize, PayloadSizeLimit.getMaxPayloadSize(entityObj));
+    }
+
+    static long limitDeclaredSize(long declaredSize, long maxPayloadSize) {
+        long maxAllocation = maxPayloadSize > 0 ? Math.min(maxPayloadSize, MAX_DECLARED_ALLOCATION) :
+                MAX_DECLARED_ALLOCATION;
+        return Math.min(declaredSize, maxAllocation);
+    }
+
     public static Channel getByteChannel(BObject entityObj) {
         return entityObj.getNativeData(ENTITY_BYTE_CHANNEL) != null ? (Channel) entityObj.getNativeData
                 (ENTITY_BYTE_CHANNEL) : null;
@@ -548,6 +969,25 @@ public class EntityBodyHandler {
         return contentType.startsWith(TEXT_EVENT_STREAM) ? getByteStream(entityObj) : null;
     }
 
+    /**
+     * Read the next chunk of a byte stream. The content is read straight into the array which is returned, so a
+     * full chunk is never copied. Only the last chunk of the content, which is shorter, is copied to an array of
+     * its size.
+     *
+     * @param inputStream Stream the chunk is read from
+     * @param chunkSize   Number of bytes in a chunk
+     * @return the bytes of the chunk, or null if the end of the stream has been reached
+     * @throws IOException When the stream cannot be read
+     */
+    public static byte[] readChunk(InputStream inputStream, int chunkSize) throws IOException {
+        byte[] chunk = new byte[chunkSize];
+        int readCount = inputStream.readNBytes(chunk, 0, chunkSize);
+        if (readCount == 0 && chunkSize > 0) {
+            return null;
+        }
+        return readCount == chunkSize ? chunk : Arrays.copyOf(chunk, readCount);
+    }
+
     public static void closeByteChannel(Channel byteChannel) {
         try {
             byteChannel.close();
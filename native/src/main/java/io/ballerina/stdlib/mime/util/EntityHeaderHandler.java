@@ -27,9 +27,6 @@ import io.ballerina.runtime.api.values.BArray;
 import io.ballerina.runtime.api.values.BMap;
 import io.ballerina.runtime.api.values.BObject;
 import io.ballerina.runtime.api.values.BString;
-import org.jvnet.mimepull.Header;
-
-import java.util.List;
 import java.util.Locale;
 
 import static io.ballerina.stdlib.mime.util.MimeConstants.HEADERS_MAP_FIELD;
@@ -53,6 +50,7 @@ public class EntityHeaderHandler {
      */
     @SuppressWarnings("unchecked")
     public static BMap<BString, Object> getEntityHeaderMap(BObject entity) {
+        DeferredPartHeaders.resolve(entity);
         BMap<BString, Object> httpHeaders = (BMap<BString, Object>) entity.get(HEADERS_MAP_FIELD);
         if (httpHeaders == null) {
             httpHeaders = getNewHeaderMap();
@@ -62,6 +60,7 @@ public class EntityHeaderHandler {
     }
 
     private static BArray getEntityHeaderNameArray(BObject entity) {
+        DeferredPartHeaders.resolve(entity);
         BArray headerNames = (BArray) entity.get(HEADER_NAMES_ARRAY_FIELD);
         if (headerNames == null) {
             headerNames = getNewHeaderNamesArray();
@@ -70,15 +69,16 @@ public class EntityHeaderHandler {
         return headerNames;
     }
 
-    static void populateBodyPartHeaders(BObject partStruct, List<? extends Header> bodyPartHeaders) {
+    static void populateBodyPartHeaders(BObject partStruct, MimePartHeaders bodyPartHeaders) {
         BMap<BString, Object> httpHeaders = getNewHeaderMap();
         BArray headerNames = getNewHeaderNamesArray();
 
-        int index = 0;
-        for (final Header header : bodyPartHeaders) {
-            httpHeaders.put(StringUtils.fromString(header.getName().toLowerCase(Locale.getDefault())),
-                            ValueCreator.createArrayValue(new BString[]{StringUtils.fromString(header.getValue())}));
-            headerNames.add(index++, StringUtils.fromString(header.getName()));
+        for (int index = 0; index < bodyPartHeaders.size(); index++) {
+            String headerName = bodyPartHeaders.getName(index);
+            httpHeaders.put(StringUtils.fromString(headerName.toLowerCase(Locale.getDefault())),
+                            ValueCreator.createArrayValue(new BString[]{
+                                    StringUtils.fromString(bodyPartHeaders.getValue(index))}));
+            headerNames.add(index, StringUtils.fromString(headerName));
         }
         partStruct.set(MimeConstants.HEADERS_MAP_FIELD, httpHeaders);
         partStruct.set(MimeConstants.HEADER_NAMES_ARRAY_FIELD, headerNames);
@@ -93,6 +93,7 @@ public class EntityHeaderHandler {
      */
     @SuppressWarnings("unchecked")
     public static String getHeaderValue(BObject entity, String headerName) {
+        DeferredPartHeaders.resolve(entity);
         BMap<BString, Object> headerMap = (BMap<BString, Object>) entity.get(HEADERS_MAP_FIELD);
         if (headerMap == null) {
             return null;
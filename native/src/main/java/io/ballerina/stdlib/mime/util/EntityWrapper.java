@@ -30,8 +30,15 @@ import java.nio.channels.WritableByteChannel;
  */
 public class EntityWrapper extends Channel {
 
+    private final EntityBodyChannel entityBodyChannel;
+
     public EntityWrapper(EntityBodyChannel channel) {
         super(channel);
+        this.entityBodyChannel = channel;
+    }
+
+    public EntityBodyChannel getEntityBodyChannel() {
+        return entityBodyChannel;
     }
 
     @Override
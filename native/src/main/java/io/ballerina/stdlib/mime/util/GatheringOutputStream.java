@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.mime.util;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Collects the content written to a channel as a batch of buffers and writes the whole batch with a single
+ * gathering write when the channel supports it. Buffers handed over with {@link #add(ByteBuffer)} are written
+ * without being copied, small writes made through the output stream API are staged in a shared buffer and large
+ * writes are passed straight to the channel once the pending batch has been written.
+ *
+ * @since 2.12.1
+ */
+public class GatheringOutputStream extends OutputStream {
+
+    // Linux does not accept more than 1024 buffers in a single gathering write
+    static final int MAX_BATCH_SIZE = 1024;
+    static final int STAGING_BUFFER_SIZE = 8192;
+
+    private final WritableByteChannel channel;
+    private final ByteBuffer[] batch = new ByteBuffer[MAX_BATCH_SIZE];
+    private int batchSize = 0;
+    private ByteBuffer staging;
+    private int stagingStart = 0;
+
+    public GatheringOutputStream(WritableByteChannel channel) {
+        this.channel = channel;
+    }
+
+    /**
+     * Add a buffer to the batch. The buffer must not be modified until the batch has been written.
+     *
+     * @param buffer Buffer holding the content to be written
+     * @throws IOException When the batch is full and cannot be written
+     */
+    public void add(ByteBuffer buffer) throws IOException {
+        if (!buffer.hasRemaining()) {
+            return;
+        }
+        sealStaging();
+        append(buffer);
+    }
+
+    @Override
+    public void write(int value) throws IOException {
+        reserveStaging(1);
+        staging.put((byte) value);
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) throws IOException {
+        if (length >= STAGING_BUFFER_SIZE) {
+            // The caller may reuse the array once the write returns, so it cannot join the batch without a copy
+            flush();
+            writeFully(ByteBuffer.wrap(bytes, offset, length));
+            return;
+        }
+        reserveStaging(length);
+        staging.put(bytes, offset, length);
+    }
+
+    /**
+     * Get the channel the content is written to. Any pending content is written out first, so that the caller can
+     * write to the channel directly.
+     *
+     * @return the underlying channel
+     * @throws IOException When the pending content cannot be written
+     */
+    public WritableByteChannel getChannel() throws IOException {
+        flush();
+        return channel;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        sealStaging();
+        if (batchSize == 0) {
+            return;
+        }
+        if (channel instanceof GatheringByteChannel gatheringChannel) {
+            MimeUtil.writeBuffers(batch, 0, batchSize, gatheringChannel);
+        } else {
+            for (int i = 0; i < batchSize; i++) {
+                writeFully(batch[i]);
+            }
+        }
+        for (int i = 0; i < batchSize; i++) {
+            batch[i] = null;
+        }
+        batchSize = 0;
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+    }
+
+    private void reserveStaging(int length) throws IOException {
+        if (staging == null || staging.remaining() < length) {
+            sealStaging();
+            staging = ByteBuffer.allocate(STAGING_BUFFER_SIZE);
+            stagingStart = 0;
+        }
+    }
+
+    private void sealStaging() throws IOException {
+        if (staging == null || staging.position() == stagingStart) {
+            return;
+        }
+        ByteBuffer sealed = staging.duplicate();
+        sealed.limit(staging.position()).position(stagingStart);
+        stagingStart = staging.position();
+        append(sealed);
+    }
+
+    private void append(ByteBuffer buffer) throws IOException {
+        if (batchSize == MAX_BATCH_SIZE) {
+            flush();
+        }
+        batch[batchSize++] = buffer;
+    }
+
+    private void writeFully(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
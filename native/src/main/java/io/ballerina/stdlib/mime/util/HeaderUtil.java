@@ -26,7 +26,6 @@ import io.ballerina.runtime.api.utils.StringUtils;
 import io.ballerina.runtime.api.values.BMap;
 import io.ballerina.runtime.api.values.BObject;
 import io.ballerina.runtime.api.values.BString;
-import jakarta.activation.MimeType;
 import jakarta.activation.MimeTypeParseException;
 
 import java.util.Arrays;
@@ -180,7 +179,7 @@ public class HeaderUtil {
     public static String getBaseType(BObject entityStruct) throws MimeTypeParseException {
         String contentType = EntityHeaderHandler.getHeaderValue(entityStruct, MimeConstants.CONTENT_TYPE);
         if (contentType != null) {
-            return new MimeType(contentType).getBaseType();
+            return MediaTypeCache.get(contentType).getBaseType();
         }
         return null;
     }
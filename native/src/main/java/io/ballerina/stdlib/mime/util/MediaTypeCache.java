@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.mime.util;
+
+import jakarta.activation.MimeTypeParseException;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Process wide cache of parsed Content-Types keyed by the raw header value. Services see a handful of distinct
+ * Content-Types, so the charset, base type and parameters of an entity are read from a shared parsed value instead of
+ * parsing the header on every access. The cache is bounded: once it is full, further Content-Types are parsed without
+ * being cached, so headers chosen by clients cannot grow it. Lookups never lock.
+ *
+ * @since 2.12.1
+ */
+public class MediaTypeCache {
+
+    private static final Map<String, ParsedMediaType> CACHE = new ConcurrentHashMap<>();
+    private static final LongAdder HITS = new LongAdder();
+    private static final LongAdder MISSES = new LongAdder();
+
+    private static volatile int capacity = 64;
+
+    private MediaTypeCache() {}
+
+    /**
+     * Set the maximum number of Content-Types cached. The cached Content-Types are discarded.
+     *
+     * @param maxEntries Maximum number of entries. A value less than or equal to zero disables the cache
+     */
+    public static void setCapacity(int maxEntries) {
+        capacity = maxEntries;
+        CACHE.clear();
+    }
+
+    /**
+     * Get the parsed form of the given Content-Type.
+     *
+     * @param contentType Content-Type value as a string
+     * @return the parsed Content-Type
+     * @throws MimeTypeParseException When the Content-Type is invalid
+     */
+    public static ParsedMediaType get(String contentType) throws MimeTypeParseException {
+        if (contentType == null) {
+            return ParsedMediaType.parse(null);
+        }
+        ParsedMediaType parsedMediaType = CACHE.get(contentType);
+        if (parsedMediaType != null) {
+            HITS.increment();
+            return parsedMediaType;
+        }
+        MISSES.increment();
+        parsedMediaType = ParsedMediaType.parse(contentType);
+        // The size is checked without locking, so the cache may briefly hold a few entries above its capacity
+        if (CACHE.size() < capacity) {
+            CACHE.putIfAbsent(contentType, parsedMediaType);
+        }
+        return parsedMediaType;
+    }
+
+    public static long getHits() {
+        return HITS.sum();
+    }
+
+    public static long getMisses() {
+        return MISSES.sum();
+    }
+
+    public static int size() {
+        return CACHE.size();
+    }
+}
@@ -54,7 +54,10 @@ public final class MimeConstants {
     public static final String HEADER_NOT_FOUND_ERROR = "HeaderNotFoundError";
     public static final String SERIALIZATION_ERROR = "SerializationError";
     public static final String NO_CONTENT_ERROR = "NoContentError";
+    public static final String DECODER_OVERLOADED_ERROR = "DecoderOverloadedError";
+    public static final String PAYLOAD_TOO_LARGE_ERROR = "PayloadTooLargeError";
     public static final String INVALID_HEADER_OPERATION_ERROR = "InvalidHeaderOperationError";
+    public static final String CONFIGURATION_ERROR = "ConfigurationError";
 
     /**
      * Content type HTTP header.
@@ -65,6 +68,7 @@ public final class MimeConstants {
     public static final String CONTENT_DISPOSITION = "content-disposition";
     public static final String CONTENT_LENGTH = "content-length";
     public static final String CONTENT_TRANSFER_ENCODING = "content-transfer-encoding";
+    public static final String CONTENT_ENCODING = "content-encoding";
 
     /**
      * Content-type application/json.
@@ -131,6 +135,12 @@ public final class MimeConstants {
     public static final String ENTITY_BYTE_STREAM = "entity_byte_stream";
     public static final String MULTIPART_ENCODER = "MultipartEncoder";
     public static final String BODY_PARTS = "body_parts";
+    public static final String BODY_PART_ITERATOR = "body_part_iterator";
+    public static final String BODY_PARTS_FILTERED = "body_parts_filtered";
+    public static final String DEFERRED_PART_HEADERS = "deferred_part_headers";
+    public static final String ENTITY_COMPRESSION = "entity_compression";
+    public static final String ENTITY_MAX_PAYLOAD_SIZE = "entity_max_payload_size";
+    public static final String ENTITY_ENCODED_BODY = "entity_encoded_body";
     public static final String TRANSPORT_MESSAGE = "transport_message";
     public static final String PARSE_AS_JSON = "PARSE_AS_TEXT";
 
@@ -194,6 +204,7 @@ public final class MimeConstants {
     public static final String STREAM_ENTRY_RECORD = "StreamEntry";
     public static final BString FIELD_VALUE = StringUtils.fromString("value");
     public static final String BYTE_STREAM_NEXT_FUNC = "next";
+    public static final String ENTITY_STREAM_ENTRY_RECORD = "EntityStreamEntry";
 
     /**
      * Describes the format of the body part.
@@ -18,25 +18,28 @@
 
 package io.ballerina.stdlib.mime.util;
 
-import org.jvnet.mimepull.MIMEPart;
-
+import java.io.Closeable;
 import java.io.IOException;
 
 /**
- * Wrap body part stream as a ballerina specific byte channel. A reference has been kept for 'MIMEPart' for temp file
- * deletion purpose.
+ * Wrap body part stream as a ballerina specific byte channel. A reference has been kept for the decoded part, which
+ * is either a mimepull 'MIMEPart' or a 'DecodedPart', for temp file deletion purpose.
  *
  * @since 0.964.0
  */
 public class MimeEntityWrapper extends EntityWrapper {
 
-    private MIMEPart mimePart;
+    private Closeable mimePart;
 
-    public MimeEntityWrapper(EntityBodyChannel channel, MIMEPart mimePart) {
+    public MimeEntityWrapper(EntityBodyChannel channel, Closeable mimePart) {
         super(channel);
         this.mimePart = mimePart;
     }
 
+    public Closeable getMimePart() {
+        return mimePart;
+    }
+
     @Override
     public void close() throws IOException {
         super.close();
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.mime.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Ordered list of headers that belong to a body part decoded by the {@link MultipartParser}.
+ *
+ * @since 2.12.1
+ */
+public class MimePartHeaders {
+
+    private final List<String> names = new ArrayList<>();
+    private final List<String> values = new ArrayList<>();
+
+    /**
+     * Add a header in the order it appears in the body part.
+     *
+     * @param name  Header name as it appears on the wire
+     * @param value Header value
+     */
+    public void add(String name, String value) {
+        names.add(name);
+        values.add(value);
+    }
+
+    /**
+     * Get all the values of a given header.
+     *
+     * @param name Header name, matched case insensitively
+     * @return list of header values or null if the header does not exist
+     */
+    public List<String> getHeader(String name) {
+        List<String> headerValues = null;
+        for (int i = 0; i < names.size(); i++) {
+            if (names.get(i).equalsIgnoreCase(name)) {
+                if (headerValues == null) {
+                    headerValues = new ArrayList<>(1);
+                }
+                headerValues.add(values.get(i));
+            }
+        }
+        return headerValues;
+    }
+
+    /**
+     * Get the first value of a given header.
+     *
+     * @param name Header name, matched case insensitively
+     * @return the first header value or null if the header does not exist
+     */
+    public String getFirstHeader(String name) {
+        for (int i = 0; i < names.size(); i++) {
+            if (names.get(i).equalsIgnoreCase(name)) {
+                return values.get(i);
+            }
+        }
+        return null;
+    }
+
+    public int size() {
+        return names.size();
+    }
+
+    public String getName(int index) {
+        return names.get(index);
+    }
+
+    public String getValue(int index) {
+        return values.get(index);
+    }
+}
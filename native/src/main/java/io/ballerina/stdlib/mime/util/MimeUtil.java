@@ -37,19 +37,21 @@ import io.ballerina.runtime.api.values.BStreamingJson;
 import io.ballerina.runtime.api.values.BString;
 import io.ballerina.runtime.api.values.BXml;
 import io.ballerina.stdlib.mime.nativeimpl.ModuleUtils;
-import jakarta.activation.MimeType;
-import jakarta.activation.MimeTypeParameterList;
 import jakarta.activation.MimeTypeParseException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.channels.WritableByteChannel;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
-import java.util.Enumeration;
+import java.util.Arrays;
+import java.util.Map;
 import java.util.Random;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -79,7 +81,6 @@ import static io.ballerina.stdlib.mime.util.MimeConstants.READABLE_BUFFER_SIZE;
 import static io.ballerina.stdlib.mime.util.MimeConstants.SEMICOLON;
 import static io.ballerina.stdlib.mime.util.MimeConstants.SIZE_FIELD;
 import static io.ballerina.stdlib.mime.util.MimeConstants.SUBTYPE_FIELD;
-import static io.ballerina.stdlib.mime.util.MimeConstants.SUFFIX_ATTACHMENT;
 import static io.ballerina.stdlib.mime.util.MimeConstants.SUFFIX_FIELD;
 
 /**
@@ -89,6 +90,8 @@ import static io.ballerina.stdlib.mime.util.MimeConstants.SUFFIX_FIELD;
  */
 public class MimeUtil {
     private static final Logger LOG = LoggerFactory.getLogger(MimeUtil.class);
+    private static final int FILE_COPY_BUFFER_SIZE = 65536;
+    private static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
 
     public static final String EMPTY_JSON_DOCUMENT = "empty JSON document";
     public static final String EMPTY_XML_PAYLOAD = "Empty xml payload";
@@ -101,6 +104,7 @@ public class MimeUtil {
      * @return content-type in 'primarytype/subType' format
      */
     public static String getBaseType(BObject entity) {
+        DeferredPartHeaders.resolve(entity);
         if (entity.get(MEDIA_TYPE_FIELD) != null) {
             BObject mediaType = (BObject) entity.get(MEDIA_TYPE_FIELD);
             if (mediaType != null) {
@@ -118,6 +122,7 @@ public class MimeUtil {
      * @return content-type in 'primarytype/subType; key=value;' format
      */
     public static String getContentTypeWithParameters(BObject entity) {
+        DeferredPartHeaders.resolve(entity);
         if (entity.get(MEDIA_TYPE_FIELD) == null) {
             return EntityHeaderHandler.getHeaderValue(entity, CONTENT_TYPE);
         }
@@ -148,9 +153,21 @@ public class MimeUtil {
      */
     public static String getContentTypeParamValue(String contentType, String parameterName) {
         try {
-            MimeType mimeType = new MimeType(contentType);
-            MimeTypeParameterList parameterList = mimeType.getParameters();
-            return parameterList.get(parameterName);
+            return MediaTypeCache.get(contentType).getParameter(parameterName);
+        } catch (MimeTypeParseException e) {
+            throw MimeUtil.createError(INVALID_CONTENT_TYPE_ERROR, e.getMessage());
+        }
+    }
+
+    /**
+     * Get the charset named by the charset parameter of the content-type header.
+     *
+     * @param contentType Content-Type value as a string
+     * @return the charset, or null if there is no charset parameter or the charset is not supported
+     */
+    public static Charset getContentTypeCharset(String contentType) {
+        try {
+            return MediaTypeCache.get(contentType).getCharset();
         } catch (MimeTypeParseException e) {
             throw MimeUtil.createError(INVALID_CONTENT_TYPE_ERROR, e.getMessage());
         }
@@ -165,6 +182,7 @@ public class MimeUtil {
      */
     public static void setContentType(BObject mediaType, BObject entityStruct,
                                       String contentType) {
+        DeferredPartHeaders.resolve(entityStruct);
         BObject mimeType = parseMediaType(mediaType, contentType);
         if (contentType == null) {
             mimeType.set(PRIMARY_TYPE_FIELD, DEFAULT_PRIMARY_TYPE);
@@ -187,25 +205,14 @@ public class MimeUtil {
             BString suffix, primaryType, subType;
 
             if (contentType != null) {
-                MimeType mimeType = new MimeType(contentType);
-                primaryType = io.ballerina.runtime.api.utils.StringUtils.fromString(mimeType.getPrimaryType());
-
-                String subTypeStr = mimeType.getSubType();
-                subType = io.ballerina.runtime.api.utils.StringUtils.fromString(subTypeStr);
-                if (subTypeStr != null && subTypeStr.contains(SUFFIX_ATTACHMENT)) {
-                    suffix = io.ballerina.runtime.api.utils.StringUtils.fromString(
-                            subTypeStr.substring(subTypeStr.lastIndexOf(SUFFIX_ATTACHMENT) + 1));
-                } else {
-                    suffix = PredefinedTypes.TYPE_STRING.getZeroValue();
-                }
-
-                MimeTypeParameterList parameterList = mimeType.getParameters();
-                Enumeration keys = parameterList.getNames();
-
-                while (keys.hasMoreElements()) {
-                    String key = (String) keys.nextElement();
-                    BString value = io.ballerina.runtime.api.utils.StringUtils.fromString(parameterList.get(key));
-                    parameterMap.put(io.ballerina.runtime.api.utils.StringUtils.fromString(key), value);
+                ParsedMediaType parsedMediaType = MediaTypeCache.get(contentType);
+                primaryType = io.ballerina.runtime.api.utils.StringUtils.fromString(parsedMediaType.getPrimaryType());
+                subType = io.ballerina.runtime.api.utils.StringUtils.fromString(parsedMediaType.getSubType());
+                suffix = io.ballerina.runtime.api.utils.StringUtils.fromString(parsedMediaType.getSuffix());
+
+                for (Map.Entry<String, String> parameter : parsedMediaType.getParameters().entrySet()) {
+                    parameterMap.put(io.ballerina.runtime.api.utils.StringUtils.fromString(parameter.getKey()),
+                                     io.ballerina.runtime.api.utils.StringUtils.fromString(parameter.getValue()));
                 }
             } else {
                 primaryType = suffix = subType = PredefinedTypes.TYPE_STRING.getZeroValue();
@@ -236,6 +243,7 @@ public class MimeUtil {
      */
     public static void setContentDisposition(BObject contentDisposition, BObject bodyPart,
                                              String contentDispositionHeaderWithParams) {
+        DeferredPartHeaders.resolve(bodyPart);
         populateContentDispositionObject(contentDisposition, contentDispositionHeaderWithParams);
         bodyPart.set(CONTENT_DISPOSITION_FIELD, contentDisposition);
     }
@@ -277,6 +285,7 @@ public class MimeUtil {
      * @return content-type in 'primarytype/subType; key=value;' format
      */
     public static String getContentDisposition(BObject entity) {
+        DeferredPartHeaders.resolve(entity);
         StringBuilder dispositionBuilder = new StringBuilder();
         if (entity.get(CONTENT_DISPOSITION_FIELD) != null) {
             BObject contentDispositionStruct =
@@ -341,6 +350,7 @@ public class MimeUtil {
      * @param length       Size of the entity body
      */
     public static void setContentLength(BObject entityStruct, long length) {
+        DeferredPartHeaders.resolve(entityStruct);
         entityStruct.set(SIZE_FIELD, length);
     }
 
@@ -368,13 +378,126 @@ public class MimeUtil {
      * @throws IOException In case an error occurs while reading input stream
      */
     public static byte[] getByteArray(InputStream input) throws IOException {
-        try (ByteArrayOutputStream output = new ByteArrayOutputStream()) {
-            byte[] buffer = new byte[READABLE_BUFFER_SIZE];
-            for (int len; (len = input.read(buffer)) != -1; ) {
-                output.write(buffer, 0, len);
+        return getByteArray(input, -1);
+    }
+
+    /**
+     * Given an input stream, get a byte array. When the size of the content is known, the array is allocated once
+     * and filled. Otherwise the content is read in chunks which are copied to an array of the content size at the
+     * end. The expected size is only a hint, so content which is shorter or longer than expected is read as well.
+     * Since the array is allocated before anything is read, a size declared by a peer has to be limited first.
+     *
+     * @param input        Represent an input stream
+     * @param expectedSize Expected number of bytes in the stream, or a negative value if the size is unknown
+     * @return A byte array
+     * @throws IOException In case an error occurs while reading input stream
+     */
+    public static byte[] getByteArray(InputStream input, long expectedSize) throws IOException {
+        if (expectedSize < 0 || expectedSize > MAX_ARRAY_SIZE) {
+            // Reads the content into a list of chunks, which are copied once to the final array
+            return input.readAllBytes();
+        }
+        byte[] bytes = new byte[(int) expectedSize];
+        int readCount = input.readNBytes(bytes, 0, bytes.length);
+        if (readCount < bytes.length) {
+            return Arrays.copyOf(bytes, readCount);
+        }
+        int nextByte = input.read();
+        if (nextByte == -1) {
+            return bytes;
+        }
+        byte[] remaining = input.readAllBytes();
+        long size = bytes.length + 1L + remaining.length;
+        if (size > MAX_ARRAY_SIZE) {
+            throw new IOException("Content of " + size + " bytes is too large to be read into a byte array");
+        }
+        byte[] content = Arrays.copyOf(bytes, (int) size);
+        content[bytes.length] = (byte) nextByte;
+        System.arraycopy(remaining, 0, content, bytes.length + 1, remaining.length);
+        return content;
+    }
+
+    /**
+     * Given a file channel, get a byte array with the remaining content of the file. The file is memory mapped, so
+     * the content is copied into the array straight from the mapping.
+     *
+     * @param fileChannel Represent a file channel
+     * @return A byte array
+     * @throws IOException In case an error occurs while mapping the file
+     */
+    public static byte[] getByteArray(FileChannel fileChannel) throws IOException {
+        long position = fileChannel.position();
+        long size = fileChannel.size() - position;
+        if (size > MAX_ARRAY_SIZE) {
+            throw new IOException("Content of " + size + " bytes is too large to be read into a byte array");
+        }
+        byte[] bytes = new byte[(int) size];
+        if (size > 0) {
+            fileChannel.map(FileChannel.MapMode.READ_ONLY, position, size).get(bytes);
+            fileChannel.position(position + size);
+        }
+        return bytes;
+    }
+
+    /**
+     * Write the given buffers to a file channel with gathering writes.
+     *
+     * @param buffers     Buffers holding the content to be written
+     * @param fileChannel Channel of the file the content is written to
+     * @throws IOException When the content cannot be written
+     */
+    public static void writeBuffersToFileChannel(ByteBuffer[] buffers, FileChannel fileChannel) throws IOException {
+        writeBuffers(buffers, 0, buffers.length, fileChannel);
+    }
+
+    /**
+     * Write a range of the given buffers to a channel with gathering writes.
+     *
+     * @param buffers Buffers holding the content to be written
+     * @param offset  Index of the first buffer to be written
+     * @param length  Number of buffers to be written
+     * @param channel Channel the content is written to
+     * @throws IOException When the content cannot be written
+     */
+    public static void writeBuffers(ByteBuffer[] buffers, int offset, int length, GatheringByteChannel channel)
+            throws IOException {
+        long remaining = 0;
+        for (int i = offset; i < offset + length; i++) {
+            remaining += buffers[i].remaining();
+        }
+        while (remaining > 0) {
+            remaining -= channel.write(buffers, offset, length);
+        }
+    }
+
+    /**
+     * Write the remaining content of a file channel to an output stream. When the output stream writes to a channel,
+     * the content is transferred by the file channel, which lets the kernel copy it without going through the heap.
+     * Otherwise the content is copied through a single heap buffer.
+     *
+     * @param fileChannel  Represent a file channel
+     * @param outputStream Represent an output stream
+     * @throws IOException In case an error occurs while transferring the content
+     */
+    public static void writeFileChannelToOutputStream(FileChannel fileChannel, OutputStream outputStream)
+            throws IOException {
+        long position = fileChannel.position();
+        long size = fileChannel.size();
+        if (outputStream instanceof GatheringOutputStream gatheringStream) {
+            WritableByteChannel target = gatheringStream.getChannel();
+            while (position < size) {
+                position += fileChannel.transferTo(position, size - position, target);
+            }
+        } else {
+            // A stream is wrapped by a channel which copies through a second, small buffer, so read into the heap
+            ByteBuffer buffer = ByteBuffer.allocate(FILE_COPY_BUFFER_SIZE);
+            int read;
+            while (position < size && (read = fileChannel.read(buffer.clear(), position)) > 0) {
+                outputStream.write(buffer.array(), 0, read);
+                position += read;
             }
-            return output.toByteArray();
         }
+        fileChannel.position(position);
     }
 
     /**
@@ -420,13 +543,14 @@ public class MimeUtil {
     }
 
     /**
-     * Get a new multipart boundary delimiter.
+     * Get a new multipart boundary delimiter. Delimiters always have the same length, so that the serialized length
+     * of a multipart message does not depend on the delimiters generated for its nested parts.
      *
      * @return a boundary string
      */
     public static String getNewMultipartDelimiter() {
         Random random = new Random();
-        return Long.toHexString(random.nextLong());
+        return String.format("%016x", random.nextLong());
     }
 
     /**
@@ -598,7 +722,7 @@ public class MimeUtil {
      */
     public static boolean isValidateContentType(String contentType) {
         try {
-            new MimeType(contentType);
+            MediaTypeCache.get(contentType);
         } catch (MimeTypeParseException e) {
             return false;
         }
@@ -22,29 +22,42 @@ import io.ballerina.runtime.api.Environment;
 import io.ballerina.runtime.api.creators.TypeCreator;
 import io.ballerina.runtime.api.creators.ValueCreator;
 import io.ballerina.runtime.api.types.PredefinedTypes;
+import io.ballerina.runtime.api.types.TypeTags;
 import io.ballerina.runtime.api.utils.StringUtils;
 import io.ballerina.runtime.api.values.BArray;
 import io.ballerina.runtime.api.values.BLink;
 import io.ballerina.runtime.api.values.BMap;
 import io.ballerina.runtime.api.values.BObject;
 import io.ballerina.runtime.api.values.BRefValue;
+import io.ballerina.runtime.api.values.BStream;
 import io.ballerina.runtime.api.values.BString;
 import io.ballerina.runtime.api.values.BTypedesc;
+import io.ballerina.stdlib.io.channels.base.Channel;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
 import java.nio.charset.Charset;
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 
 import static io.ballerina.stdlib.mime.util.MimeConstants.BODY_PARTS;
 import static io.ballerina.stdlib.mime.util.MimeConstants.BOUNDARY;
+import static io.ballerina.stdlib.mime.util.MimeConstants.CONTENT_ENCODING;
 import static io.ballerina.stdlib.mime.util.MimeConstants.CONTENT_ID_FIELD;
+import static io.ballerina.stdlib.mime.util.MimeConstants.CONTENT_TRANSFER_ENCODING;
+import static io.ballerina.stdlib.mime.util.MimeConstants.ENTITY_BYTE_CHANNEL;
+import static io.ballerina.stdlib.mime.util.MimeConstants.ENTITY_BYTE_STREAM;
+import static io.ballerina.stdlib.mime.util.MimeConstants.ENTITY_COMPRESSION;
 import static io.ballerina.stdlib.mime.util.MimeConstants.MEDIA_TYPE_FIELD;
 import static io.ballerina.stdlib.mime.util.MimeConstants.PARAMETER_MAP_FIELD;
 
@@ -80,6 +93,190 @@ public class MultipartDataSource implements BRefValue {
         serializeBodyPart(outputStream, boundaryString, parentEntity);
     }
 
+    /**
+     * Serialize body parts to a channel. Boundary lines and headers are encoded up front and, together with the bodies
+     * held in memory, written as batches of buffers with gathering writes when the channel supports them. Other
+     * bodies are streamed to the channel in between.
+     *
+     * @param channel Channel the body parts are written to
+     * @throws IOException When an error occurs while writing the body parts
+     */
+    public void serialize(WritableByteChannel channel) throws IOException {
+        try (GatheringOutputStream gatheringStream = new GatheringOutputStream(channel)) {
+            serializeBodyPart(gatheringStream, boundaryString, parentEntity);
+        }
+    }
+
+    private void serializeBodyPart(GatheringOutputStream gatheringStream, String parentBoundaryString,
+                                   BObject parentBodyPart) throws IOException {
+        BArray childParts = (BArray) parentBodyPart.getNativeData(BODY_PARTS);
+        if (childParts == null) {
+            return;
+        }
+        Charset charset = Charset.defaultCharset();
+        byte[] delimiter = (CRLF_POST_DASH + parentBoundaryString + CRLF).getBytes(charset);
+        int dashBoundaryOffset = CRLF_POST_DASH.length() - DASH_BOUNDARY.length();
+        // A serializer which is not started is null, which try-with-resources does not close
+        try (PartPreSerializer preSerializer = PartPreSerializer.start(childParts)) {
+            for (int i = 0; i < childParts.size(); i++) {
+                BObject childPart = (BObject) childParts.getRefValue(i);
+                // The first boundary line is the delimiter without its leading CRLF
+                int offset = i == 0 ? dashBoundaryOffset : 0;
+                gatheringStream.add(ByteBuffer.wrap(delimiter, offset, delimiter.length - offset));
+                String childBoundaryString = setNestedBoundary(childPart);
+                gatheringStream.add(ByteBuffer.wrap(renderBodyPartHeaders(childPart).getBytes(charset)));
+                if (childBoundaryString != null) {
+                    BArray nestedParts = (BArray) childPart.getNativeData(BODY_PARTS);
+                    if (nestedParts != null && nestedParts.size() > 0) {
+                        serializeBodyPart(gatheringStream, childBoundaryString, childPart);
+                    }
+                }
+                addBodyContent(gatheringStream, childPart, preSerializer != null ? preSerializer.take(i) : null);
+            }
+        }
+        gatheringStream.add(ByteBuffer.wrap((CRLF_POST_DASH + parentBoundaryString + CRLF_PRE_DASH).getBytes(charset)));
+    }
+
+    /**
+     * Add the body of a part to the batch when it is held in memory, or else stream it to the channel.
+     */
+    private void addBodyContent(GatheringOutputStream gatheringStream, BObject bodyPart, ByteBuffer serializedBody)
+            throws IOException {
+        String transferEncoding = EntityHeaderHandler.getHeaderValue(bodyPart, CONTENT_TRANSFER_ENCODING);
+        Object messageDataSource = EntityBodyHandler.getMessageDataSource(bodyPart);
+        if (TransferEncoding.isApplicable(transferEncoding) || getContentEncoding(bodyPart) != null) {
+            writeBodyContent(gatheringStream, bodyPart, serializedBody);
+        } else if (serializedBody != null) {
+            gatheringStream.add(serializedBody);
+        } else if (messageDataSource instanceof BString) {
+            gatheringStream.add(ByteBuffer.wrap(EncodedBody.getSerializedBytes(bodyPart, messageDataSource)));
+        } else if (messageDataSource instanceof BArray byteArray &&
+                byteArray.getElementType().getTag() == TypeTags.BYTE_TAG) {
+            gatheringStream.add(ByteBuffer.wrap(byteArray.getByteArray(), 0, byteArray.size()));
+        } else {
+            writeRawBodyContent(gatheringStream, bodyPart, null);
+        }
+    }
+
+    /**
+     * Get a producer which serializes the body parts in steps while they are read through a {@link MultipartPipe}.
+     * The boundaries and headers of all the parts are resolved right away on the calling strand. Each step then writes
+     * either a boundary line together with the headers of a part, or the next chunk of a part body, read from its
+     * source and encoded as the part requires.
+     *
+     * @param stepSize Maximum number of bytes read from the source of a body in a single step
+     * @return producer of the serialized body parts
+     */
+    public MultipartPipe.Producer serializeInSteps(int stepSize) {
+        List<Object> segments = new ArrayList<>();
+        addSegments(segments, boundaryString, parentEntity);
+        return new StepwiseSerializer(segments.iterator(), stepSize);
+    }
+
+    /**
+     * Add the boundary lines and headers of the body parts as arrays of bytes, and each body part itself in place of
+     * its body, in the order they are serialized.
+     */
+    private static void addSegments(List<Object> segments, String parentBoundaryString, BObject parentBodyPart) {
+        BArray childParts = (BArray) parentBodyPart.getNativeData(BODY_PARTS);
+        if (childParts == null) {
+            return;
+        }
+        Charset charset = Charset.defaultCharset();
+        for (int i = 0; i < childParts.size(); i++) {
+            BObject childPart = (BObject) childParts.getRefValue(i);
+            String childBoundaryString = setNestedBoundary(childPart);
+            String delimiter = (i == 0 ? DASH_BOUNDARY : CRLF_POST_DASH) + parentBoundaryString + CRLF;
+            segments.add((delimiter + renderBodyPartHeaders(childPart)).getBytes(charset));
+            if (childBoundaryString != null) {
+                BArray nestedParts = (BArray) childPart.getNativeData(BODY_PARTS);
+                if (nestedParts != null && nestedParts.size() > 0) {
+                    addSegments(segments, childBoundaryString, childPart);
+                }
+            }
+            segments.add(childPart);
+        }
+        segments.add((CRLF_POST_DASH + parentBoundaryString + CRLF_PRE_DASH).getBytes(charset));
+    }
+
+    /**
+     * Compute the exact number of bytes the body parts serialize into, without serializing any body. The length is
+     * made up of the boundary lines, the rendered headers and the sizes of the bodies. Nested multipart parts get
+     * their boundaries the same way serialization does, and a boundary is only assigned once, so computing the length
+     * does not change what is serialized afterwards.
+     *
+     * @return the serialized length or -1 if the size of a body is not known in advance, such as a mutable JSON or XML
+     * body or a byte stream body
+     */
+    public long getContentLength() {
+        return getContentLength(boundaryString, parentEntity);
+    }
+
+    private static long getContentLength(String parentBoundaryString, BObject parentBodyPart) {
+        BArray childParts = (BArray) parentBodyPart.getNativeData(BODY_PARTS);
+        if (childParts == null) {
+            return 0;
+        }
+        long length = 0;
+        for (int i = 0; i < childParts.size(); i++) {
+            BObject childPart = (BObject) childParts.getRefValue(i);
+            length += encodedLength(i == 0 ? DASH_BOUNDARY : CRLF_POST_DASH) + encodedLength(parentBoundaryString) +
+                    encodedLength(CRLF);
+            String childBoundaryString = setNestedBoundary(childPart);
+            length += encodedLength(renderBodyPartHeaders(childPart));
+            if (childBoundaryString != null) {
+                BArray nestedParts = (BArray) childPart.getNativeData(BODY_PARTS);
+                if (nestedParts != null && nestedParts.size() > 0) {
+                    long nestedLength = getContentLength(childBoundaryString, childPart);
+                    if (nestedLength < 0) {
+                        return -1;
+                    }
+                    length += nestedLength;
+                }
+            }
+            long bodyLength = getBodyContentLength(childPart);
+            if (bodyLength < 0) {
+                return -1;
+            }
+            length += bodyLength;
+        }
+        return length + encodedLength(CRLF_POST_DASH) + encodedLength(parentBoundaryString) +
+                encodedLength(CRLF_PRE_DASH);
+    }
+
+    private static long getBodyContentLength(BObject bodyPart) {
+        if (getContentEncoding(bodyPart) != null) {
+            // The size of compressed content is only known once it has been compressed
+            return -1;
+        }
+        long length = getRawBodyContentLength(bodyPart);
+        String transferEncoding = EntityHeaderHandler.getHeaderValue(bodyPart, CONTENT_TRANSFER_ENCODING);
+        if (length < 0 || !TransferEncoding.isApplicable(transferEncoding)) {
+            return length;
+        }
+        return TransferEncoding.getEncodedLength(length, transferEncoding);
+    }
+
+    private static long getRawBodyContentLength(BObject bodyPart) {
+        Object messageDataSource = EntityBodyHandler.getMessageDataSource(bodyPart);
+        if (messageDataSource instanceof BArray byteArray &&
+                byteArray.getElementType().getTag() == TypeTags.BYTE_TAG) {
+            return byteArray.size();
+        }
+        long serializedLength = EncodedBody.getSerializedLength(bodyPart, messageDataSource);
+        if (serializedLength >= 0) {
+            return serializedLength;
+        }
+        if (messageDataSource != null || EntityBodyHandler.getByteStream(bodyPart) != null) {
+            return -1;
+        }
+        return EntityBodyHandler.getRemainingSize(EntityBodyHandler.getByteChannel(bodyPart));
+    }
+
+    private static long encodedLength(String value) {
+        return value.getBytes(Charset.defaultCharset()).length;
+    }
+
     /**
      * Serialize body parts including nested parts within them.
      *
@@ -92,7 +289,7 @@ public class MultipartDataSource implements BRefValue {
         final Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, Charset.defaultCharset()));
         BArray childParts = parentBodyPart.getNativeData(BODY_PARTS) != null ?
                 (BArray) parentBodyPart.getNativeData(BODY_PARTS) : null;
-        try {
+        try (PartPreSerializer preSerializer = PartPreSerializer.start(childParts)) {
             if (childParts == null) {
                 return;
             }
@@ -109,7 +306,7 @@ public class MultipartDataSource implements BRefValue {
                 writer.write(parentBoundaryString);
                 writer.write(CRLF);
                 checkForNestedParts(writer, childPart);
-                writeBodyContent(outputStream, childPart);
+                writeBodyContent(outputStream, childPart, preSerializer != null ? preSerializer.take(i) : null);
             }
             writeFinalBoundaryString(writer, parentBoundaryString);
         } catch (IOException e) {
@@ -125,22 +322,8 @@ public class MultipartDataSource implements BRefValue {
      * @param childPart Represent a child part
      * @throws IOException When an error occurs while writing child part headers
      */
-    @SuppressWarnings("unchecked")
     private void checkForNestedParts(Writer writer, BObject childPart) throws IOException {
-        String childBoundaryString = null;
-        if (MimeUtil.isNestedPartsAvailable(childPart)) {
-            childBoundaryString = MimeUtil.getNewMultipartDelimiter();
-            BObject mediaType = (BObject) childPart.get(MEDIA_TYPE_FIELD);
-            BMap<BString, Object> paramMap;
-            if (mediaType.get(PARAMETER_MAP_FIELD) != null) {
-                paramMap = (BMap<BString, Object>) mediaType.get(PARAMETER_MAP_FIELD);
-            } else {
-                paramMap = ValueCreator.createMapValue(TypeCreator.createMapType(PredefinedTypes.TYPE_STRING));
-            }
-
-            paramMap.put(StringUtils.fromString(BOUNDARY), StringUtils.fromString(childBoundaryString));
-            mediaType.set(PARAMETER_MAP_FIELD, paramMap);
-        }
+        String childBoundaryString = setNestedBoundary(childPart);
         writeBodyPartHeaders(writer, childPart);
         //Serialize nested parts
         if (childBoundaryString != null) {
@@ -151,6 +334,37 @@ public class MultipartDataSource implements BRefValue {
         }
     }
 
+    /**
+     * If the child part has nested parts, get the boundary string of its Content-Type. A new boundary is set to the
+     * Content-Type if it does not have one yet, so the same boundary is used every time the part is serialized or its
+     * length is computed.
+     *
+     * @param childPart Represent a child part
+     * @return the boundary string or null if the part does not have nested parts
+     */
+    @SuppressWarnings("unchecked")
+    private static String setNestedBoundary(BObject childPart) {
+        if (!MimeUtil.isNestedPartsAvailable(childPart)) {
+            return null;
+        }
+        BObject mediaType = (BObject) childPart.get(MEDIA_TYPE_FIELD);
+        BMap<BString, Object> paramMap;
+        if (mediaType.get(PARAMETER_MAP_FIELD) != null) {
+            paramMap = (BMap<BString, Object>) mediaType.get(PARAMETER_MAP_FIELD);
+            Object boundary = paramMap.get(StringUtils.fromString(BOUNDARY));
+            if (boundary != null && !boundary.toString().isEmpty()) {
+                return boundary.toString();
+            }
+        } else {
+            paramMap = ValueCreator.createMapValue(TypeCreator.createMapType(PredefinedTypes.TYPE_STRING));
+        }
+
+        String childBoundaryString = MimeUtil.getNewMultipartDelimiter();
+        paramMap.put(StringUtils.fromString(BOUNDARY), StringUtils.fromString(childBoundaryString));
+        mediaType.set(PARAMETER_MAP_FIELD, paramMap);
+        return childBoundaryString;
+    }
+
     /**
      * Write body part headers to output stream.
      *
@@ -158,8 +372,20 @@ public class MultipartDataSource implements BRefValue {
      * @param bodyPart Represent ballerina body part
      * @throws IOException When an error occurs while writing body part headers
      */
-    @SuppressWarnings("unchecked")
     private void writeBodyPartHeaders(Writer writer, BObject bodyPart) throws IOException {
+        writer.write(renderBodyPartHeaders(bodyPart));
+        writer.flush();
+    }
+
+    /**
+     * Render the headers of a body part, including the empty line which marks the end of the headers.
+     *
+     * @param bodyPart Represent ballerina body part
+     * @return the headers as they are written to the output stream
+     */
+    @SuppressWarnings("unchecked")
+    private static String renderBodyPartHeaders(BObject bodyPart) {
+        StringBuilder headers = new StringBuilder();
         BMap<BString, Object> httpHeaders = EntityHeaderHandler.getEntityHeaderMap(bodyPart);
         String contentType = MimeUtil.getContentTypeWithParameters(bodyPart);
         EntityHeaderHandler.addHeader(bodyPart, httpHeaders, MimeConstants.CONTENT_TYPE, contentType);
@@ -175,16 +401,16 @@ public class MultipartDataSource implements BRefValue {
         Iterator<Map.Entry<BString, Object>> iterator = httpHeaders.entrySet().iterator();
         while (iterator.hasNext()) {
             Map.Entry<BString, Object> entry = iterator.next();
-            writer.write(String.valueOf(entry.getKey()));
-            writer.write(COLON);
-            writer.write(SPACE);
             BArray value = (BArray) entry.getValue();
-            writer.write(String.valueOf(value.getBString(0)));
-            writer.write(CRLF);
+            headers.append(entry.getKey()).append(COLON).append(SPACE).append(value.getBString(0)).append(CRLF);
+        }
+        // A body set to be compressed is labelled in the output only, the part itself is left as it is
+        Object compression = bodyPart.getNativeData(ENTITY_COMPRESSION);
+        if (compression != null && EntityHeaderHandler.getHeaderValue(bodyPart, CONTENT_ENCODING) == null) {
+            headers.append(CONTENT_ENCODING).append(COLON).append(SPACE).append(compression).append(CRLF);
         }
         // Mark the end of the headers for this body part
-        writer.write(CRLF);
-        writer.flush();
+        return headers.append(CRLF).toString();
     }
 
     /**
@@ -202,18 +428,71 @@ public class MultipartDataSource implements BRefValue {
     }
 
     /**
-     * Write body part content to outputstream.
+     * Write body part content to outputstream. The content is compressed on the fly when the part is compressed and,
+     * when transfer encodings are enabled, encoded on the fly according to the Content-Transfer-Encoding header of the
+     * part.
      *
-     * @param outputStream Represent an outputstream
-     * @param bodyPart     Represent a ballerina body part
+     * @param outputStream   Represent an outputstream
+     * @param bodyPart       Represent a ballerina body part
+     * @param serializedBody Body of the part if it has already been serialized, or else null
      * @throws IOException When an error occurs while writing body content
      */
-    private void writeBodyContent(OutputStream outputStream, BObject bodyPart) throws IOException {
+    private void writeBodyContent(OutputStream outputStream, BObject bodyPart, ByteBuffer serializedBody)
+            throws IOException {
+        String transferEncoding = EntityHeaderHandler.getHeaderValue(bodyPart, CONTENT_TRANSFER_ENCODING);
+        if (TransferEncoding.isApplicable(transferEncoding)) {
+            try (OutputStream encoder = TransferEncoding.encode(outputStream, transferEncoding)) {
+                writeCompressedBodyContent(encoder, bodyPart, serializedBody);
+            }
+            return;
+        }
+        writeCompressedBodyContent(outputStream, bodyPart, serializedBody);
+    }
+
+    private void writeCompressedBodyContent(OutputStream outputStream, BObject bodyPart, ByteBuffer serializedBody)
+            throws IOException {
+        String contentEncoding = getContentEncoding(bodyPart);
+        if (contentEncoding != null) {
+            try (OutputStream compressor = ContentEncoding.encode(outputStream, contentEncoding)) {
+                writeRawBodyContent(compressor, bodyPart, serializedBody);
+            }
+            return;
+        }
+        writeRawBodyContent(outputStream, bodyPart, serializedBody);
+    }
+
+    /**
+     * Get the Content-Encoding the body of a part is compressed with while it is written. The encoding always comes
+     * from the Content-Encoding header, so that the body is written as the header describes it. The coding given with
+     * {@code Entity.setCompression()} only stands in for the header until it is rendered with the headers of the part.
+     *
+     * @param bodyPart Represent a ballerina body part
+     * @return the content encoding or null if the body is written as it is
+     */
+    private static String getContentEncoding(BObject bodyPart) {
+        String contentEncoding = EntityHeaderHandler.getHeaderValue(bodyPart, CONTENT_ENCODING);
+        Object compression = bodyPart.getNativeData(ENTITY_COMPRESSION);
+        if (compression == null) {
+            return ContentEncoding.isApplicable(contentEncoding) ? contentEncoding : null;
+        }
+        if (contentEncoding == null) {
+            return compression.toString();
+        }
+        return ContentEncoding.isSupported(contentEncoding) ? contentEncoding : null;
+    }
+
+    private void writeRawBodyContent(OutputStream outputStream, BObject bodyPart, ByteBuffer serializedBody)
+            throws IOException {
+        if (serializedBody != null) {
+            outputStream.write(serializedBody.array(), serializedBody.arrayOffset() + serializedBody.position(),
+                               serializedBody.remaining());
+            return;
+        }
         Object messageDataSource = EntityBodyHandler.getMessageDataSource(bodyPart);
         if (messageDataSource != null) {
-            //TODO Recheck following logic
-            if (messageDataSource instanceof BString) {
-                outputStream.write(messageDataSource.toString().getBytes(Charset.defaultCharset()));
+            byte[] serializedBytes = EncodedBody.getSerializedBytes(bodyPart, messageDataSource);
+            if (serializedBytes != null) {
+                outputStream.write(serializedBytes);
             } else {
                 ((BRefValue) messageDataSource).serialize(outputStream);
             }
@@ -227,6 +506,154 @@ public class MultipartDataSource implements BRefValue {
         }
     }
 
+    /**
+     * Serializes body parts one step at a time on the thread which reads them.
+     */
+    private class StepwiseSerializer implements MultipartPipe.Producer {
+
+        private final Iterator<Object> segments;
+        private final int stepSize;
+        private BodyWriter bodyWriter;
+
+        StepwiseSerializer(Iterator<Object> segments, int stepSize) {
+            this.segments = segments;
+            this.stepSize = stepSize;
+        }
+
+        @Override
+        public boolean writeNext(OutputStream outputStream) throws IOException {
+            if (bodyWriter == null) {
+                if (!segments.hasNext()) {
+                    return false;
+                }
+                Object segment = segments.next();
+                if (segment instanceof byte[] bytes) {
+                    outputStream.write(bytes);
+                    return segments.hasNext();
+                }
+                bodyWriter = new BodyWriter((BObject) segment, outputStream, stepSize);
+            }
+            if (bodyWriter.writeNext()) {
+                return true;
+            }
+            bodyWriter = null;
+            return segments.hasNext();
+        }
+    }
+
+    /**
+     * Writes the body of a part in steps. The body is compressed and encoded on the fly the same way
+     * {@link #writeBodyContent(OutputStream, BObject, ByteBuffer)} does.
+     */
+    private class BodyWriter {
+
+        private final BObject bodyPart;
+        private final int stepSize;
+        private final OutputStream transferEncoder;
+        private final OutputStream compressor;
+        private final OutputStream bodyStream;
+        private ByteBuffer content;
+        private Channel byteChannel;
+        private InputStream channelContent;
+        private BStream byteStream;
+        private ByteStreamWriter byteStreamWriter;
+        private byte[] chunk;
+
+        BodyWriter(BObject bodyPart, OutputStream outputStream, int stepSize) throws IOException {
+            this.bodyPart = bodyPart;
+            this.stepSize = stepSize;
+            String transferEncoding = EntityHeaderHandler.getHeaderValue(bodyPart, CONTENT_TRANSFER_ENCODING);
+            transferEncoder = TransferEncoding.isApplicable(transferEncoding) ?
+                    TransferEncoding.encode(outputStream, transferEncoding) : null;
+            OutputStream encodedStream = transferEncoder != null ? transferEncoder : outputStream;
+            String contentEncoding = getContentEncoding(bodyPart);
+            compressor = contentEncoding != null ? ContentEncoding.encode(encodedStream, contentEncoding) : null;
+            bodyStream = compressor != null ? compressor : encodedStream;
+        }
+
+        /**
+         * Write the next chunk of the body.
+         *
+         * @return true if there is more of the body to be written
+         * @throws IOException When the body cannot be read or written
+         */
+        boolean writeNext() throws IOException {
+            if (writeNextChunk()) {
+                return true;
+            }
+            // Write out the end of the compressed and encoded content
+            if (compressor != null) {
+                compressor.close();
+            }
+            if (transferEncoder != null) {
+                transferEncoder.close();
+            }
+            return false;
+        }
+
+        private boolean writeNextChunk() throws IOException {
+            if (content != null) {
+                int length = Math.min(stepSize, content.remaining());
+                bodyStream.write(content.array(), content.arrayOffset() + content.position(), length);
+                content.position(content.position() + length);
+                return content.hasRemaining();
+            }
+            if (channelContent != null) {
+                return writeNextChannelChunk();
+            }
+            if (byteStreamWriter != null) {
+                return writeNextBatch();
+            }
+            Object messageDataSource = EntityBodyHandler.getMessageDataSource(bodyPart);
+            if (messageDataSource instanceof BArray byteArray &&
+                    byteArray.getElementType().getTag() == TypeTags.BYTE_TAG) {
+                content = ByteBuffer.wrap(byteArray.getByteArray(), 0, byteArray.size());
+            } else if (messageDataSource != null) {
+                byte[] serializedBytes = EncodedBody.getSerializedBytes(bodyPart, messageDataSource);
+                if (serializedBytes == null) {
+                    // A mutable or large JSON or XML body is already held in memory as a whole
+                    ((BRefValue) messageDataSource).serialize(bodyStream);
+                    return false;
+                }
+                content = ByteBuffer.wrap(serializedBytes);
+            } else if ((byteStream = EntityBodyHandler.getByteStream(bodyPart)) != null) {
+                byteStreamWriter = ByteStreamWriter.create(bodyStream);
+            } else if ((byteChannel = EntityBodyHandler.getByteChannel(bodyPart)) != null) {
+                channelContent = byteChannel.getInputStream();
+            } else {
+                return false;
+            }
+            return writeNextChunk();
+        }
+
+        private boolean writeNextChannelChunk() throws IOException {
+            if (chunk == null) {
+                chunk = new byte[stepSize];
+            }
+            int length = channelContent.read(chunk);
+            if (length >= 0) {
+                bodyStream.write(chunk, 0, length);
+                return true;
+            }
+            byteChannel.close();
+            //Set the byte channel to null, once it is consumed
+            bodyPart.addNativeData(ENTITY_BYTE_CHANNEL, null);
+            return false;
+        }
+
+        private boolean writeNextBatch() throws IOException {
+            boolean more = false;
+            try {
+                more = byteStreamWriter.writeBatch(env, byteStream);
+                return more;
+            } finally {
+                if (!more) {
+                    bodyPart.addNativeData(ENTITY_BYTE_STREAM, null);
+                }
+            }
+        }
+    }
+
     public String stringValue(BLink parent) {
         return null;
     }
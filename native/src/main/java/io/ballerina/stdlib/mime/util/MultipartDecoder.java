@@ -19,27 +19,24 @@
 package io.ballerina.stdlib.mime.util;
 
 import io.ballerina.runtime.api.creators.ValueCreator;
-import io.ballerina.runtime.api.utils.StringUtils;
 import io.ballerina.runtime.api.values.BObject;
-import jakarta.activation.MimeType;
 import jakarta.activation.MimeTypeParseException;
 import org.jvnet.mimepull.MIMEConfig;
 import org.jvnet.mimepull.MIMEMessage;
 import org.jvnet.mimepull.MIMEPart;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 
 import static io.ballerina.stdlib.mime.util.MimeConstants.BOUNDARY;
-import static io.ballerina.stdlib.mime.util.MimeConstants.CONTENT_DISPOSITION_STRUCT;
-import static io.ballerina.stdlib.mime.util.MimeConstants.CONTENT_ID_FIELD;
 import static io.ballerina.stdlib.mime.util.MimeConstants.ENTITY;
-import static io.ballerina.stdlib.mime.util.MimeConstants.FIRST_ELEMENT;
 import static io.ballerina.stdlib.mime.util.MimeConstants.MAX_THRESHOLD_PERCENTAGE;
-import static io.ballerina.stdlib.mime.util.MimeConstants.MEDIA_TYPE;
-import static io.ballerina.stdlib.mime.util.MimeConstants.NO_CONTENT_LENGTH_FOUND;
 import static io.ballerina.stdlib.mime.util.MimeConstants.PARSER_ERROR;
+import static io.ballerina.stdlib.mime.util.MimeConstants.READABLE_BUFFER_SIZE;
 
 /**
  * Responsible for decoding an inputstream to get a set of multiparts.
@@ -48,6 +45,69 @@ import static io.ballerina.stdlib.mime.util.MimeConstants.PARSER_ERROR;
  */
 public class MultipartDecoder {
 
+    /**
+     * Parsers that can be used to decode multipart content.
+     */
+    public enum Engine {
+        MIMEPULL, NATIVE
+    }
+
+    private static volatile Engine engine = Engine.MIMEPULL;
+    private static volatile long partMemoryThreshold = -1;
+    private static volatile long maxInMemoryBytes = -1;
+    private static volatile Path spillDirectory;
+    private static volatile int chunkSize = READABLE_BUFFER_SIZE;
+    private static volatile long fileChannelThreshold = -1;
+
+    /**
+     * Select the parser used to decode multipart content.
+     *
+     * @param multipartEngine Parser to be used
+     */
+    public static void setEngine(Engine multipartEngine) {
+        engine = multipartEngine;
+    }
+
+    public static Engine getEngine() {
+        return engine;
+    }
+
+    /**
+     * Set the memory limits used while decoding multipart content.
+     *
+     * @param partThreshold   Maximum number of bytes of a single part kept in memory. A value less than or equal to
+     *                        zero derives the threshold from the free memory
+     * @param maxMemoryBytes  Maximum number of bytes kept in memory for all the parts of a message. A value less than
+     *                        or equal to zero does not limit the total
+     * @param spillDir        Directory in which the temp files of the parts are created. Null uses the default
+     *                        temp directory
+     * @param readChunkSize   Number of bytes read from the message at once. Only used by the native parser
+     */
+    public static void setLimits(long partThreshold, long maxMemoryBytes, Path spillDir, int readChunkSize) {
+        partMemoryThreshold = partThreshold;
+        maxInMemoryBytes = maxMemoryBytes;
+        spillDirectory = spillDir;
+        chunkSize = readChunkSize > 0 ? readChunkSize : READABLE_BUFFER_SIZE;
+    }
+
+    public static int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * Set the size from which the content of a part written to a temp file is read through a file channel instead of
+     * an input stream. Only used by the native parser.
+     *
+     * @param threshold Minimum part size in bytes. A value less than or equal to zero always uses an input stream
+     */
+    public static void setFileChannelThreshold(long threshold) {
+        fileChannelThreshold = threshold;
+    }
+
+    public static long getFileChannelThreshold() {
+        return fileChannelThreshold;
+    }
+
     /**
      * Decode inputstream and populate ballerina body parts.
      *  @param entity      Represent ballerina entity which needs to be populated with body parts
@@ -56,17 +116,75 @@ public class MultipartDecoder {
      */
     public static void parseBody(BObject entity, String contentType,
                                  InputStream inputStream) {
+        parseBody(entity, contentType, inputStream, null);
+    }
+
+    /**
+     * Select the parser used for a decode. The native parser is used whenever a filter is given, since it skips the
+     * content of the other parts without keeping it anywhere, and whenever the decoder memory budget is limited, since
+     * only the native parser reserves the memory its parts are kept in from the budget.
+     *
+     * @param filter Selects the parts to be decoded. Null decodes all the parts
+     * @return the parser to be used
+     */
+    static Engine selectEngine(PartFilter filter) {
+        if (filter != null || DecoderMemoryBudget.isLimited()) {
+            return Engine.NATIVE;
+        }
+        return engine;
+    }
+
+    /**
+     * Decode inputstream and populate ballerina body parts which match the given filter, with the parser chosen by
+     * {@link #selectEngine}.
+     *
+     * @param entity      Represent ballerina entity which needs to be populated with body parts
+     * @param contentType Content-Type of the top level message
+     * @param inputStream Represent input stream coming from the request/response
+     * @param filter      Selects the parts to be decoded. Null decodes all the parts
+     */
+    public static void parseBody(BObject entity, String contentType, InputStream inputStream, PartFilter filter) {
+        DecoderMemoryBudget.admit();
         try {
+            if (selectEngine(filter) == Engine.NATIVE) {
+                List<DecodedPart> decodedParts = decodeParts(contentType, inputStream, filter);
+                if (!decodedParts.isEmpty()) {
+                    populateDecodedParts(entity, decodedParts);
+                }
+                return;
+            }
             List<MIMEPart> mimeParts = decodeBodyParts(contentType, inputStream);
             if (mimeParts != null && !mimeParts.isEmpty()) {
                 populateBallerinaParts(entity, mimeParts);
             }
-        } catch (MimeTypeParseException e) {
+        } catch (MimeTypeParseException | IOException e) {
             throw MimeUtil.createError(PARSER_ERROR,
                                        "Error occurred while decoding body parts from inputstream " + e.getMessage());
         }
     }
 
+    /**
+     * Decode a message which is already in memory and populate ballerina body parts which match the given filter.
+     * The bodies of the parts are views of the message. The message is already in memory and the parts do not hold
+     * any memory of their own, so the decode neither waits for nor reserves from the decoder memory budget.
+     *
+     * @param entity      Represent ballerina entity which needs to be populated with body parts
+     * @param contentType Content-Type of the top level message
+     * @param message     Buffer holding the complete message between its position and limit
+     * @param filter      Selects the parts to be decoded. Null decodes all the parts
+     */
+    public static void parseBody(BObject entity, String contentType, ByteBuffer message, PartFilter filter) {
+        try {
+            List<DecodedPart> decodedParts = decodeParts(contentType, message, filter);
+            if (!decodedParts.isEmpty()) {
+                populateDecodedParts(entity, decodedParts);
+            }
+        } catch (MimeTypeParseException | IOException e) {
+            throw MimeUtil.createError(PARSER_ERROR,
+                                       "Error occurred while decoding body parts from byte array " + e.getMessage());
+        }
+    }
+
     /**
      * Decode multiparts from a given input stream.
      *
@@ -77,94 +195,202 @@ public class MultipartDecoder {
      */
     public static List<MIMEPart> decodeBodyParts(String contentType, InputStream inputStream)
             throws MimeTypeParseException {
-        MimeType mimeType = new MimeType(contentType);
-        final MIMEMessage mimeMessage = new MIMEMessage(inputStream, mimeType.getParameter(BOUNDARY), getMimeConfig());
+        String boundary = MediaTypeCache.get(contentType).getParameter(BOUNDARY);
+        final MIMEMessage mimeMessage = new MIMEMessage(inputStream, boundary, getMimeConfig());
         return mimeMessage.getAttachments();
     }
 
     /**
-     * Create mime configuration with the maximum memory limit.
+     * Decode multiparts from a given input stream using the native multipart parser. The content of each part is
+     * read off the stream before moving to the next part.
+     *
+     * @param contentType Content-Type of the top level message
+     * @param inputStream Represent input stream coming from the request/response
+     * @return A list of decoded parts
+     * @throws MimeTypeParseException When the Content-Type cannot be parsed
+     * @throws IOException When an inputstream cannot be decoded properly
+     */
+    public static List<DecodedPart> decodeParts(String contentType, InputStream inputStream)
+            throws MimeTypeParseException, IOException {
+        return decodeParts(contentType, inputStream, null);
+    }
+
+    /**
+     * Decode the multiparts which match the given filter from a given input stream using the native multipart parser.
+     * The content of the other parts is skipped while scanning for the next boundary.
+     *
+     * @param contentType Content-Type of the top level message
+     * @param inputStream Represent input stream coming from the request/response
+     * @param filter      Selects the parts to be decoded. Null decodes all the parts
+     * @return A list of decoded parts
+     * @throws MimeTypeParseException When the Content-Type cannot be parsed
+     * @throws IOException When an inputstream cannot be decoded properly
+     */
+    public static List<DecodedPart> decodeParts(String contentType, InputStream inputStream, PartFilter filter)
+            throws MimeTypeParseException, IOException {
+        String boundary = getBoundary(contentType);
+        List<DecodedPart> decodedParts = new ArrayList<>();
+        long memoryThreshold = getMemoryThreshold();
+        long remainingMemory = maxInMemoryBytes > 0 ? maxInMemoryBytes : Long.MAX_VALUE;
+        int readChunkSize = chunkSize;
+        Path tempDirectory = spillDirectory;
+        try (MultipartParser parser = new MultipartParser(inputStream, boundary, readChunkSize)) {
+            MultipartParser.Part part;
+            while ((part = parser.nextPart()) != null) {
+                if (filter != null && !filter.matches(part)) {
+                    continue;
+                }
+                DecodedPart decodedPart = DecodedPart.read(part, Math.min(memoryThreshold, remainingMemory),
+                                                           readChunkSize, tempDirectory);
+                if (decodedPart.isInMemory()) {
+                    remainingMemory -= decodedPart.getSize();
+                }
+                decodedParts.add(decodedPart);
+            }
+        } catch (IOException e) {
+            decodedParts.forEach(DecodedPart::close);
+            throw e;
+        }
+        return decodedParts;
+    }
+
+    /**
+     * Decode the multiparts which match the given filter from a message which is already in memory. The body of each
+     * part is a view of the message, so the content is not copied.
+     *
+     * @param contentType Content-Type of the top level message
+     * @param message     Buffer holding the complete message between its position and limit
+     * @param filter      Selects the parts to be decoded. Null decodes all the parts
+     * @return A list of decoded parts
+     * @throws MimeTypeParseException When the Content-Type cannot be parsed
+     * @throws IOException When the message cannot be decoded properly
+     */
+    public static List<DecodedPart> decodeParts(String contentType, ByteBuffer message, PartFilter filter)
+            throws MimeTypeParseException, IOException {
+        List<DecodedPart> decodedParts = new ArrayList<>();
+        try (MultipartParser parser = new MultipartParser(message, getBoundary(contentType))) {
+            MultipartParser.Part part;
+            while ((part = parser.nextPart()) != null) {
+                if (filter == null || filter.matches(part)) {
+                    decodedParts.add(DecodedPart.view(part, parser.sliceBody()));
+                }
+            }
+        }
+        return decodedParts;
+    }
+
+    private static String getBoundary(String contentType) throws MimeTypeParseException, IOException {
+        String boundary = MediaTypeCache.get(contentType).getParameter(BOUNDARY);
+        if (boundary == null || boundary.isEmpty()) {
+            throw new IOException(MultipartParser.MISSING_START_BOUNDARY);
+        }
+        return boundary;
+    }
+
+    /**
+     * Create mime configuration with the configured memory limit and temp file directory.
      *
      * @return MIMEConfig which defines configuration for MIME message parsing and storing
      */
     private static MIMEConfig getMimeConfig() {
         MIMEConfig mimeConfig = new MIMEConfig();
         mimeConfig.setMemoryThreshold(getMemoryThreshold());
+        Path tempDirectory = spillDirectory;
+        if (tempDirectory != null) {
+            mimeConfig.setDir(tempDirectory.toString());
+        }
         return mimeConfig;
     }
 
     /**
-     * Get the maximum memory threshold value to be used with multiparts.
+     * Get the maximum memory threshold value to be used with multiparts. Unless a threshold has been configured,
+     * it is derived from the free memory. mimepull has no limit for a whole message, so the per message limit caps
+     * the threshold of each part.
      *
      * @return max threshold value
      */
-    private static Long getMemoryThreshold() {
-        Long freeMemorySize = Runtime.getRuntime().freeMemory();
-        Double maxThreshold = freeMemorySize * MAX_THRESHOLD_PERCENTAGE;
-        return maxThreshold.longValue();
+    private static long getMemoryThreshold() {
+        long threshold = partMemoryThreshold;
+        if (threshold <= 0) {
+            Double maxThreshold = Runtime.getRuntime().freeMemory() * MAX_THRESHOLD_PERCENTAGE;
+            threshold = maxThreshold.longValue();
+        }
+        long maxMemoryBytes = maxInMemoryBytes;
+        if (maxMemoryBytes > 0) {
+            threshold = Math.min(threshold, maxMemoryBytes);
+        }
+        return threshold;
     }
 
     /**
      * Populate ballerina body parts from the given mime parts and set it to top level entity.
      *  @param entity    Represent top level entity that the body parts needs to be attached to
      * @param mimeParts List of decoded mime parts
+     * @throws MimeTypeParseException When the Content-Type of a part is invalid
+     * @throws IOException When the Content-Length of a part is invalid
      */
     private static void populateBallerinaParts(BObject entity,
-                                               List<MIMEPart> mimeParts) {
+                                               List<MIMEPart> mimeParts) throws MimeTypeParseException, IOException {
         ArrayList<BObject> bodyParts = new ArrayList<>();
         for (final MIMEPart mimePart : mimeParts) {
             BObject partStruct = ValueCreator.createObjectValue(MimeUtil.getMimePackage(), ENTITY);
-            BObject mediaType = ValueCreator.createObjectValue(MimeUtil.getMimePackage(), MEDIA_TYPE);
-            populateBodyPart(mimePart, partStruct, mediaType);
+            populateBodyPart(mimePart, partStruct);
             bodyParts.add(partStruct);
         }
         EntityBodyHandler.setPartsToTopLevelEntity(entity, bodyParts);
     }
 
     /**
-     * Populate ballerina body part with header info and actual body.
+     * Populate ballerina body parts from the parts decoded by the native parser and set it to top level entity.
      *
-     * @param mimePart   Represent a decoded mime part
-     * @param partStruct Represent a ballerina body part that needs to be filled with data
-     * @param mediaType  Represent the content type of the body part
-     */
-    private static void populateBodyPart(MIMEPart mimePart, BObject partStruct,
-                                         BObject mediaType) {
-        EntityHeaderHandler.populateBodyPartHeaders(partStruct, mimePart.getAllHeaders());
-        populateContentLength(mimePart, partStruct);
-        populateContentId(mimePart, partStruct);
-        populateContentType(mimePart, partStruct, mediaType);
-        List<String> contentDispositionHeaders = mimePart.getHeader(MimeConstants.CONTENT_DISPOSITION);
-        if (HeaderUtil.isHeaderExist(contentDispositionHeaders)) {
-            BObject contentDisposition = ValueCreator.createObjectValue(MimeUtil.getMimePackage(),
-                                                                        CONTENT_DISPOSITION_STRUCT);
-            populateContentDisposition(partStruct, contentDispositionHeaders, contentDisposition);
+     * @param entity       Represent top level entity that the body parts needs to be attached to
+     * @param decodedParts List of decoded parts
+     * @throws MimeTypeParseException When the Content-Type of a part is invalid
+     * @throws IOException When the content of a decoded part cannot be opened or its Content-Length is invalid
+     */
+    private static void populateDecodedParts(BObject entity, List<DecodedPart> decodedParts)
+            throws MimeTypeParseException, IOException {
+        ArrayList<BObject> bodyParts = new ArrayList<>(decodedParts.size());
+        for (DecodedPart decodedPart : decodedParts) {
+            BObject partStruct = ValueCreator.createObjectValue(MimeUtil.getMimePackage(), ENTITY);
+            DeferredPartHeaders.defer(partStruct, decodedPart.getAllHeaders(), decodedPart.getContentId(),
+                                      decodedPart.getContentType());
+            EntityBodyHandler.populateBodyContent(partStruct, decodedPart);
+            bodyParts.add(partStruct);
         }
-        EntityBodyHandler.populateBodyContent(partStruct, mimePart);
-    }
-
-    private static void populateContentDisposition(BObject partStruct,
-                                                   List<String> contentDispositionHeaders,
-                                                   BObject contentDisposition) {
-        MimeUtil.setContentDisposition(contentDisposition, partStruct, contentDispositionHeaders
-                .get(FIRST_ELEMENT));
-    }
-
-    private static void populateContentType(MIMEPart mimePart, BObject partStruct, BObject mediaType) {
-        MimeUtil.setContentType(mediaType, partStruct, mimePart.getContentType());
+        EntityBodyHandler.setPartsToTopLevelEntity(entity, bodyParts);
     }
 
-    private static void populateContentId(MIMEPart mimePart, BObject partStruct) {
-        partStruct.set(CONTENT_ID_FIELD, StringUtils.fromString(mimePart.getContentId()));
+    /**
+     * Create a ballerina body part for the current part of the native parser. The body of the part is backed by the
+     * live part stream, so it is only readable until the parser moves to the next part.
+     *
+     * @param part Current part of the parser
+     * @return a ballerina body part
+     * @throws MimeTypeParseException When the Content-Type of the part is invalid
+     * @throws IOException When the Content-Length of the part is invalid
+     */
+    static BObject createBodyPart(MultipartParser.Part part) throws MimeTypeParseException, IOException {
+        BObject partStruct = ValueCreator.createObjectValue(MimeUtil.getMimePackage(), ENTITY);
+        DeferredPartHeaders.defer(partStruct, part.getHeaders(), part.getContentId(), part.getContentType());
+        EntityBodyHandler.populateBodyContent(partStruct, part);
+        return partStruct;
     }
 
-    private static void populateContentLength(MIMEPart mimePart, BObject partStruct) {
-        List<String> lengthHeaders = mimePart.getHeader(MimeConstants.CONTENT_LENGTH);
-        if (HeaderUtil.isHeaderExist(lengthHeaders)) {
-            MimeUtil.setContentLength(partStruct, Integer.parseInt(lengthHeaders.get(FIRST_ELEMENT)));
-        } else {
-            MimeUtil.setContentLength(partStruct, NO_CONTENT_LENGTH_FOUND);
-        }
+    /**
+     * Populate ballerina body part with the actual body. The headers of the part are only set to the body part when
+     * they are accessed for the first time.
+     *
+     * @param mimePart   Represent a decoded mime part
+     * @param partStruct Represent a ballerina body part that needs to be filled with data
+     * @throws MimeTypeParseException When the Content-Type of the part is invalid
+     * @throws IOException When the Content-Length of the part is invalid
+     */
+    private static void populateBodyPart(MIMEPart mimePart, BObject partStruct)
+            throws MimeTypeParseException, IOException {
+        DeferredPartHeaders.defer(partStruct, mimePart.getAllHeaders(), mimePart.getContentId(),
+                                  mimePart.getContentType());
+        EntityBodyHandler.populateBodyContent(partStruct, mimePart);
     }
 
     private MultipartDecoder() {}
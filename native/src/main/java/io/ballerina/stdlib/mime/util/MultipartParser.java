@@ -0,0 +1,593 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.mime.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static io.ballerina.stdlib.mime.util.MimeConstants.CONTENT_ID;
+import static io.ballerina.stdlib.mime.util.MimeConstants.CONTENT_TYPE;
+import static io.ballerina.stdlib.mime.util.MimeConstants.OCTET_STREAM;
+import static io.ballerina.stdlib.mime.util.MimeConstants.READABLE_BUFFER_SIZE;
+
+/**
+ * A streaming multipart parser which does not depend on any third party library. The message is read into a single
+ * {@link ByteBuffer} one chunk at a time and delimiters are located with a {@link BoundaryScanner}. Body parts are
+ * handed out one at a time and the body of each part is a live stream which reads straight from the message. Moving
+ * to the next part discards whatever is left of the current part body.
+ * <p>
+ * The Content-Length declared by a part is not used to find the end of its body. Every body is scanned for the first
+ * delimiter, as other multipart parsers do, since trusting an over-long length would merge the following parts into
+ * the body and split the message differently from them.
+ * <p>
+ * Header lines are limited to {@link #MAX_HEADER_LINE_LENGTH} bytes and the headers of a part to
+ * {@link #MAX_HEADER_SECTION_SIZE} bytes, so that a message which never ends its headers cannot grow the buffer
+ * without bound.
+ *
+ * @since 2.12.1
+ */
+public class MultipartParser implements Closeable {
+
+    static final String MISSING_START_BOUNDARY = "Missing start boundary";
+    static final String MISSING_CLOSING_BOUNDARY = "Reached EOF, but there is no closing MIME boundary.";
+    static final int MAX_HEADER_LINE_LENGTH = 8 * 1024;
+    static final int MAX_HEADER_SECTION_SIZE = 64 * 1024;
+    static final String HEADER_LINE_TOO_LONG = "Header line of a body part is longer than " +
+            MAX_HEADER_LINE_LENGTH + " bytes";
+    static final String HEADER_SECTION_TOO_LARGE = "Headers of a body part are larger than " +
+            MAX_HEADER_SECTION_SIZE + " bytes";
+
+    private static final String DASH_BOUNDARY = "--";
+    private static final byte CR = '\r';
+    private static final byte LF = '\n';
+    private static final byte DASH = '-';
+    private static final byte SPACE = ' ';
+    private static final byte TAB = '\t';
+    private static final int NEED_MORE_DATA = -1;
+    private static final int NOT_A_DELIMITER = -2;
+
+    private final InputStream source;
+    private final byte[] delimiter;
+    private final BoundaryScanner scanner;
+    private final int patternLength;
+    private ByteBuffer buffer;
+    private boolean endOfInput;
+    private State state = State.PREAMBLE;
+    private int partIndex = 0;
+    private PartInputStream currentBody;
+    // Index of a delimiter candidate which has already been located, or -1 if there is none
+    private int matchIndex = -1;
+    // Index from which the buffer still needs to be scanned for a delimiter candidate
+    private int scanFrom = 0;
+
+    /**
+     * Create a parser which reads the multipart message from the given input stream.
+     *
+     * @param source    Input stream of the multipart message
+     * @param boundary  Boundary parameter value of the Content-Type
+     * @param chunkSize Number of bytes read from the input stream at once
+     */
+    public MultipartParser(InputStream source, String boundary, int chunkSize) {
+        this.source = source;
+        this.delimiter = getDelimiter(boundary);
+        this.scanner = new BoundaryScanner(delimiter);
+        this.patternLength = delimiter.length;
+        this.buffer = ByteBuffer.allocate(Math.max(chunkSize, patternLength * 2 + 4));
+        this.buffer.flip();
+    }
+
+    public MultipartParser(InputStream source, String boundary) {
+        this(source, boundary, READABLE_BUFFER_SIZE);
+    }
+
+    /**
+     * Create a parser over a multipart message which is already available in memory. The content of the given
+     * buffer is not copied.
+     *
+     * @param message  Buffer holding the complete multipart message between its position and limit
+     * @param boundary Boundary parameter value of the Content-Type
+     */
+    public MultipartParser(ByteBuffer message, String boundary) {
+        this.source = null;
+        this.delimiter = getDelimiter(boundary);
+        this.scanner = new BoundaryScanner(delimiter);
+        this.patternLength = delimiter.length;
+        this.buffer = message.slice();
+        this.endOfInput = true;
+    }
+
+    /**
+     * A delimiter always starts on a new line, so the line feed is made a part of the search pattern. The carriage
+     * return that may precede it is checked separately.
+     */
+    private static byte[] getDelimiter(String boundary) {
+        if (boundary == null || boundary.isEmpty()) {
+            throw new IllegalArgumentException("Multipart boundary cannot be empty");
+        }
+        return ("\n" + DASH_BOUNDARY + boundary).getBytes(StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Move to the next body part. Any unread content of the current part is skipped.
+     *
+     * @return the next body part with its headers already parsed or null if there are no more parts
+     * @throws IOException When the message cannot be read or is malformed
+     */
+    public Part nextPart() throws IOException {
+        if (currentBody != null) {
+            currentBody.drain();
+            currentBody = null;
+        }
+        if (state == State.PREAMBLE) {
+            skipPreamble();
+        }
+        if (state == State.END) {
+            return null;
+        }
+        MimePartHeaders headers = readHeaders();
+        state = State.BODY;
+        currentBody = new PartInputStream();
+        return new Part(partIndex++, headers, currentBody);
+    }
+
+    /**
+     * Read the rest of the current part body as a view of the message, without copying it. Only supported by a
+     * parser created over a message in memory, since the view has to stay valid after moving to the next part.
+     *
+     * @return a buffer sharing its content with the message
+     * @throws IOException When the message ends before the closing delimiter
+     */
+    ByteBuffer sliceBody() throws IOException {
+        if (source != null) {
+            throw new IllegalStateException("Part bodies can only be sliced from a message in memory");
+        }
+        int start = buffer.position();
+        if (currentBody == null || currentBody.finished) {
+            return buffer.slice(start, 0);
+        }
+        int end = start;
+        int available;
+        while ((available = nextBodyRegion()) >= 0) {
+            end = buffer.position() + available;
+            buffer.position(end);
+        }
+        currentBody.finished = true;
+        return buffer.slice(start, end - start);
+    }
+
+    /**
+     * Check whether the closing delimiter of the message has been reached.
+     *
+     * @return true if there are no more parts to be read
+     */
+    public boolean isFinished() {
+        return state == State.END;
+    }
+
+    @Override
+    public void close() throws IOException {
+        state = State.END;
+        if (source != null) {
+            source.close();
+        }
+    }
+
+    private void skipPreamble() throws IOException {
+        // The first delimiter may appear at the very beginning of the message without a preceding line break
+        while (buffer.remaining() < patternLength + 1 && fill()) {
+            // Read until the leading dash-boundary can be verified
+        }
+        if (startsWithDashBoundary()) {
+            int tail = inspectDelimiterTail(buffer.position() + patternLength - 1);
+            while (tail == NEED_MORE_DATA && fill()) {
+                tail = inspectDelimiterTail(buffer.position() + patternLength - 1);
+            }
+            if (tail >= 0) {
+                buffer.position(tail);
+                return;
+            }
+        }
+        skipBody();
+    }
+
+    private boolean startsWithDashBoundary() {
+        int position = buffer.position();
+        if (buffer.remaining() < patternLength - 1) {
+            return false;
+        }
+        for (int i = 1; i < patternLength; i++) {
+            if (buffer.get(position + i - 1) != delimiter[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private MimePartHeaders readHeaders() throws IOException {
+        MimePartHeaders headers = new MimePartHeaders();
+        String pending = null;
+        String line;
+        int sectionSize = 0;
+        while (!(line = readLine()).isEmpty()) {
+            sectionSize = checkHeaderSectionSize(sectionSize, line.length() + 2);
+            char first = line.charAt(0);
+            if (pending != null && (first == SPACE || first == TAB)) {
+                // Folded header value
+                pending = pending + "\r\n" + line;
+                continue;
+            }
+            if (pending != null) {
+                addHeader(headers, pending);
+            }
+            pending = line;
+        }
+        if (pending != null) {
+            addHeader(headers, pending);
+        }
+        return headers;
+    }
+
+    /**
+     * Add the size of a header line to the size of the headers read so far.
+     *
+     * @return the size of the headers including the given line
+     * @throws IOException When the headers become larger than {@link #MAX_HEADER_SECTION_SIZE}
+     */
+    static int checkHeaderSectionSize(int sectionSize, int lineSize) throws IOException {
+        if (sectionSize + lineSize > MAX_HEADER_SECTION_SIZE) {
+            throw new IOException(HEADER_SECTION_TOO_LARGE);
+        }
+        return sectionSize + lineSize;
+    }
+
+    /**
+     * Add a header line, possibly folded, to the given headers. A line without a colon is not a header and is skipped.
+     *
+     * @return true if the line has been added as a header
+     */
+    static boolean addHeader(MimePartHeaders headers, String line) {
+        int separator = line.indexOf(':');
+        if (separator < 0) {
+            return false;
+        }
+        int valueStart = separator + 1;
+        while (valueStart < line.length()) {
+            char c = line.charAt(valueStart);
+            if (c != ' ' && c != '\t' && c != '\r' && c != '\n') {
+                break;
+            }
+            valueStart++;
+        }
+        headers.add(line.substring(0, separator).trim(), line.substring(valueStart));
+        return true;
+    }
+
+    private String readLine() throws IOException {
+        int searchFrom = buffer.position();
+        while (true) {
+            int limit = buffer.limit();
+            for (int i = searchFrom; i < limit; i++) {
+                if (buffer.get(i) == LF) {
+                    int start = buffer.position();
+                    int end = i > start && buffer.get(i - 1) == CR ? i - 1 : i;
+                    if (end - start > MAX_HEADER_LINE_LENGTH) {
+                        throw new IOException(HEADER_LINE_TOO_LONG);
+                    }
+                    String line = decodeLine(start, end);
+                    buffer.position(i + 1);
+                    return line;
+                }
+            }
+            int consumed = buffer.position();
+            // Leave room for the carriage return which may end the line
+            if (limit - consumed > MAX_HEADER_LINE_LENGTH + 1) {
+                throw new IOException(HEADER_LINE_TOO_LONG);
+            }
+            if (!fill()) {
+                throw new IOException(MISSING_CLOSING_BOUNDARY);
+            }
+            searchFrom = limit - consumed;
+        }
+    }
+
+    private String decodeLine(int start, int end) {
+        if (buffer.hasArray()) {
+            return new String(buffer.array(), buffer.arrayOffset() + start, end - start, StandardCharsets.ISO_8859_1);
+        }
+        byte[] bytes = new byte[end - start];
+        buffer.get(start, bytes);
+        return new String(bytes, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Locate the next region of body content which is available in the buffer, starting at the buffer position.
+     * When the end of the body is reached, the delimiter is consumed and the parser state is updated.
+     *
+     * @return number of body bytes available at the buffer position or -1 at the end of the body
+     * @throws IOException When the message cannot be read or ends before the closing delimiter
+     */
+    private int nextBodyRegion() throws IOException {
+        while (true) {
+            int position = buffer.position();
+            int limit = buffer.limit();
+            if (matchIndex < position) {
+                matchIndex = scanner.indexOf(buffer, Math.max(scanFrom, position), limit);
+                if (matchIndex < 0) {
+                    scanFrom = Math.max(position, limit - patternLength + 1);
+                }
+            }
+            if (matchIndex >= 0) {
+                int bodyEnd = matchIndex > position && buffer.get(matchIndex - 1) == CR ? matchIndex - 1 : matchIndex;
+                if (bodyEnd > position) {
+                    return bodyEnd - position;
+                }
+                int tail = inspectDelimiterTail(matchIndex + patternLength);
+                if (tail == NEED_MORE_DATA) {
+                    if (!fill()) {
+                        throw new IOException(getEndOfInputMessage());
+                    }
+                    continue;
+                }
+                int candidate = matchIndex;
+                matchIndex = -1;
+                if (tail == NOT_A_DELIMITER) {
+                    // The boundary is followed by other content, so the line break is a part of the body
+                    scanFrom = candidate + 1;
+                    return candidate + 1 - position;
+                }
+                buffer.position(tail);
+                scanFrom = tail;
+                return -1;
+            }
+            // Hold back enough bytes to recognise a delimiter and its preceding carriage return across chunks
+            int safeEnd = limit - patternLength;
+            if (safeEnd > position) {
+                return safeEnd - position;
+            }
+            if (!fill()) {
+                throw new IOException(getEndOfInputMessage());
+            }
+        }
+    }
+
+    /**
+     * Check what follows a dash-boundary. A delimiter is followed either by "--" which closes the message or by
+     * optional linear whitespace and a line break.
+     *
+     * @param index Index right after the dash-boundary
+     * @return the index right after the delimiter line, {@code NEED_MORE_DATA} or {@code NOT_A_DELIMITER}
+     */
+    private int inspectDelimiterTail(int index) {
+        int limit = buffer.limit();
+        if (index >= limit) {
+            return NEED_MORE_DATA;
+        }
+        byte current = buffer.get(index);
+        if (current == DASH) {
+            if (index + 1 >= limit) {
+                return NEED_MORE_DATA;
+            }
+            if (buffer.get(index + 1) == DASH) {
+                state = State.END;
+                return index + 2;
+            }
+            return NOT_A_DELIMITER;
+        }
+        while (current == SPACE || current == TAB) {
+            if (++index >= limit) {
+                return NEED_MORE_DATA;
+            }
+            current = buffer.get(index);
+        }
+        if (current == LF) {
+            state = State.HEADERS;
+            return index + 1;
+        }
+        if (current == CR) {
+            if (index + 1 >= limit) {
+                return NEED_MORE_DATA;
+            }
+            if (buffer.get(index + 1) == LF) {
+                state = State.HEADERS;
+                return index + 2;
+            }
+        }
+        return NOT_A_DELIMITER;
+    }
+
+    private String getEndOfInputMessage() {
+        return state == State.PREAMBLE ? MISSING_START_BOUNDARY : MISSING_CLOSING_BOUNDARY;
+    }
+
+    private int readBody(byte[] bytes, int offset, int length) throws IOException {
+        int available = nextBodyRegion();
+        if (available < 0) {
+            return -1;
+        }
+        int count = Math.min(available, length);
+        buffer.get(bytes, offset, count);
+        return count;
+    }
+
+    private long skipBody() throws IOException {
+        long skipped = 0;
+        int available;
+        while ((available = nextBodyRegion()) >= 0) {
+            buffer.position(buffer.position() + available);
+            skipped += available;
+        }
+        return skipped;
+    }
+
+    /**
+     * Read more data from the source. Unconsumed bytes are moved to the beginning of the buffer, and the buffer is
+     * grown if there is no room left.
+     *
+     * @return true if more data has been read, false at the end of the input
+     * @throws IOException When the source cannot be read
+     */
+    private boolean fill() throws IOException {
+        if (endOfInput) {
+            return false;
+        }
+        int shift = buffer.position();
+        if (shift == 0 && buffer.limit() == buffer.capacity()) {
+            ByteBuffer expanded = ByteBuffer.allocate(buffer.capacity() * 2);
+            expanded.put(buffer);
+            buffer = expanded;
+        } else {
+            buffer.compact();
+        }
+        matchIndex = matchIndex < 0 ? -1 : matchIndex - shift;
+        scanFrom = Math.max(0, scanFrom - shift);
+        try {
+            int read;
+            do {
+                read = source.read(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+            } while (read == 0);
+            if (read < 0) {
+                endOfInput = true;
+                return false;
+            }
+            buffer.position(buffer.position() + read);
+            return true;
+        } finally {
+            buffer.flip();
+        }
+    }
+
+    private enum State {
+        PREAMBLE, HEADERS, BODY, END
+    }
+
+    /**
+     * Live body content of the current part.
+     */
+    private class PartInputStream extends InputStream {
+
+        private final byte[] single = new byte[1];
+        private boolean finished = false;
+
+        @Override
+        public int read() throws IOException {
+            int read = read(single, 0, 1);
+            return read < 0 ? -1 : single[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) throws IOException {
+            if (finished || currentBody != this) {
+                return -1;
+            }
+            if (length == 0) {
+                return 0;
+            }
+            int read = readBody(bytes, offset, length);
+            if (read < 0) {
+                finished = true;
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long count) throws IOException {
+            long skipped = 0;
+            while (skipped < count && !finished && currentBody == this) {
+                int available = nextBodyRegion();
+                if (available < 0) {
+                    finished = true;
+                    break;
+                }
+                int step = (int) Math.min(available, count - skipped);
+                buffer.position(buffer.position() + step);
+                skipped += step;
+            }
+            return skipped;
+        }
+
+        @Override
+        public void close() throws IOException {
+            drain();
+        }
+
+        void drain() throws IOException {
+            if (!finished && currentBody == this) {
+                skipBody();
+                finished = true;
+            }
+        }
+    }
+
+    /**
+     * A body part handed out by the parser. The body stream is valid until the parser moves to the next part.
+     */
+    public static class Part {
+
+        private final int index;
+        private final MimePartHeaders headers;
+        private final InputStream body;
+
+        Part(int index, MimePartHeaders headers, InputStream body) {
+            this.index = index;
+            this.headers = headers;
+            this.body = body;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public MimePartHeaders getHeaders() {
+            return headers;
+        }
+
+        public InputStream getBody() {
+            return body;
+        }
+
+        /**
+         * Get the Content-Type of the part, which defaults to application/octet-stream when the header is absent.
+         *
+         * @return content type of the part
+         */
+        public String getContentType() {
+            String contentType = headers.getFirstHeader(CONTENT_TYPE);
+            return contentType == null ? OCTET_STREAM : contentType;
+        }
+
+        /**
+         * Get the Content-ID of the part without its angle brackets. When the header is absent, the index of the
+         * part is used as the id, the same way mimepull does.
+         *
+         * @return content id of the part
+         */
+        public String getContentId() {
+            List<String> values = headers.getHeader(CONTENT_ID);
+            String contentId = values == null ? String.valueOf(index) : values.get(0);
+            if (contentId.length() > 2 && contentId.charAt(0) == '<') {
+                contentId = contentId.substring(1, contentId.length() - 1);
+            }
+            return contentId;
+        }
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.mime.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Streams the serialized form of a multipart message while it is being produced. The message is produced in steps on
+ * the thread which reads the stream, so it is serialized in step with the program reading it and never concurrently
+ * with it. Each step writes the next piece of the message, such as a boundary line together with the headers of a
+ * part or a chunk of a part body, and the next step is only taken once the previous one has been read. The memory
+ * used by a pipe is therefore bounded by the size of a step no matter how large the body parts are.
+ *
+ * @since 2.12.1
+ */
+public class MultipartPipe {
+
+    private static volatile int bufferSize = 65536;
+
+    private MultipartPipe() {}
+
+    public static void setBufferSize(int size) {
+        bufferSize = size;
+    }
+
+    public static int getBufferSize() {
+        return bufferSize;
+    }
+
+    /**
+     * Get the stream the serialized form of a message can be read from. Nothing is produced until the stream is read.
+     *
+     * @param producer Writes the serialized message in steps, such as {@link MultipartDataSource#serializeInSteps(int)}
+     * @return input stream of the serialized message
+     */
+    public static InputStream open(Producer producer) {
+        return new PipeInputStream(producer);
+    }
+
+    /**
+     * Writes the content to be streamed through a pipe, one step at a time.
+     */
+    @FunctionalInterface
+    public interface Producer {
+
+        /**
+         * Write the next piece of the content. The same output stream is passed to every step.
+         *
+         * @param outputStream Stream the content is written to
+         * @return true if there is more content to be written, false once all of it has been written
+         * @throws IOException When the content cannot be produced
+         */
+        boolean writeNext(OutputStream outputStream) throws IOException;
+    }
+
+    /**
+     * Holds the content written by a step until it has been read.
+     */
+    private static class StepBuffer extends ByteArrayOutputStream {
+
+        private int readIndex = 0;
+
+        int remaining() {
+            return count - readIndex;
+        }
+
+        int read() {
+            return buf[readIndex++] & 0xFF;
+        }
+
+        int read(byte[] target, int offset, int length) {
+            int step = Math.min(length, remaining());
+            System.arraycopy(buf, readIndex, target, offset, step);
+            readIndex += step;
+            return step;
+        }
+
+        void clear() {
+            // Let go of an array grown by a large step, such as the serialization of a JSON body
+            if (buf.length > bufferSize) {
+                buf = new byte[bufferSize];
+            }
+            count = 0;
+            readIndex = 0;
+        }
+    }
+
+    private static class PipeInputStream extends InputStream {
+
+        private final Producer producer;
+        private final StepBuffer stepBuffer = new StepBuffer();
+        private boolean finished = false;
+        private boolean closed = false;
+        private IOException failure;
+
+        PipeInputStream(Producer producer) {
+            this.producer = producer;
+        }
+
+        @Override
+        public int read() throws IOException {
+            return fill() ? stepBuffer.read() : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+            return fill() ? stepBuffer.read(bytes, offset, length) : -1;
+        }
+
+        @Override
+        public int available() {
+            return closed ? 0 : stepBuffer.remaining();
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+            finished = true;
+            stepBuffer.clear();
+        }
+
+        /**
+         * Take steps until there is content to be read.
+         *
+         * @return true if there is content to be read, false at the end of the content
+         */
+        private boolean fill() throws IOException {
+            if (closed) {
+                throw new IOException("Stream closed");
+            }
+            if (failure != null) {
+                throw failure;
+            }
+            while (stepBuffer.remaining() == 0) {
+                if (finished) {
+                    return false;
+                }
+                stepBuffer.clear();
+                try {
+                    finished = !producer.writeNext(stepBuffer);
+                } catch (IOException | RuntimeException e) {
+                    failure = new IOException("Error occurred while serializing body parts: " + e.getMessage(), e);
+                    throw failure;
+                }
+            }
+            return true;
+        }
+    }
+}
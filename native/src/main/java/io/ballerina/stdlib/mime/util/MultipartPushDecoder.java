@@ -0,0 +1,436 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.mime.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static io.ballerina.stdlib.mime.util.MultipartParser.MISSING_CLOSING_BOUNDARY;
+import static io.ballerina.stdlib.mime.util.MultipartParser.MISSING_START_BOUNDARY;
+
+/**
+ * A non-blocking multipart decoder which is fed with fragments of the message as they arrive, instead of pulling the
+ * message from a stream. The decoder never waits for data, so a transport can drive it straight from its I/O event
+ * loop. Decoded content is handed to a {@link Listener} as part-start, header, body-chunk and part-end events.
+ * <p>
+ * Body chunks are views of the fed fragments whenever possible. Only the few bytes that may belong to a delimiter
+ * split across two fragments, and header lines split across fragments, are copied into an internal buffer.
+ *
+ * @since 2.12.1
+ */
+public class MultipartPushDecoder {
+
+    private static final String DASH_BOUNDARY = "--";
+    private static final byte CR = '\r';
+    private static final byte LF = '\n';
+    private static final byte DASH = '-';
+    private static final byte SPACE = ' ';
+    private static final byte TAB = '\t';
+    private static final int NEED_MORE_DATA = -1;
+    private static final int NOT_A_DELIMITER = -2;
+
+    private final Listener listener;
+    private final byte[] delimiter;
+    private final BoundaryScanner scanner;
+    private final int patternLength;
+    // Number of bytes moved into the carry-over buffer at once while it still holds unprocessed bytes
+    private final int carryOverStep;
+    private ByteBuffer carryOver;
+    private State state = State.PREAMBLE;
+    private boolean atStart = true;
+    private boolean ended = false;
+    private boolean closingDelimiter = false;
+    private int partIndex = 0;
+    private MimePartHeaders headers;
+    private String pendingHeader;
+    private int headerSectionSize;
+
+    /**
+     * Create a decoder.
+     *
+     * @param boundary Boundary parameter value of the Content-Type
+     * @param listener Receives the decoded content
+     */
+    public MultipartPushDecoder(String boundary, Listener listener) {
+        if (boundary == null || boundary.isEmpty()) {
+            throw new IllegalArgumentException("Multipart boundary cannot be empty");
+        }
+        this.listener = listener;
+        // A delimiter always starts on a new line, so the line feed is made a part of the search pattern
+        this.delimiter = ("\n" + DASH_BOUNDARY + boundary).getBytes(StandardCharsets.ISO_8859_1);
+        this.scanner = new BoundaryScanner(delimiter);
+        this.patternLength = delimiter.length;
+        this.carryOverStep = patternLength * 2 + 4;
+        this.carryOver = ByteBuffer.allocate(carryOverStep * 2);
+        this.carryOver.flip();
+    }
+
+    /**
+     * Decode the next fragment of the message. All the remaining bytes of the fragment are consumed, and the decoder
+     * does not keep a reference to the fragment once this method returns.
+     *
+     * @param fragment Next fragment of the message
+     * @throws IOException When the listener fails to handle the decoded content
+     */
+    public void feed(ByteBuffer fragment) throws IOException {
+        if (ended) {
+            throw new IllegalStateException("Multipart decoder has already reached the end of the input");
+        }
+        while (fragment.hasRemaining()) {
+            if (state == State.END) {
+                // The epilogue is ignored
+                fragment.position(fragment.limit());
+                return;
+            }
+            if (!carryOver.hasRemaining()) {
+                decode(fragment);
+                if (fragment.hasRemaining()) {
+                    appendToCarryOver(fragment, fragment.remaining());
+                }
+                return;
+            }
+            int moved = appendToCarryOver(fragment, carryOverStep);
+            decode(carryOver);
+            int left = carryOver.remaining();
+            if (left <= moved) {
+                // Whatever is left also remains in the fragment, so carry on decoding the fragment itself
+                carryOver.clear().flip();
+                fragment.position(fragment.position() - left);
+            }
+        }
+    }
+
+    /**
+     * Signal the end of the input.
+     *
+     * @throws IOException When the message ends before the closing delimiter or the listener fails to handle the
+     *                     decoded content
+     */
+    public void end() throws IOException {
+        if (ended) {
+            return;
+        }
+        ended = true;
+        decode(carryOver);
+        carryOver.clear().flip();
+        if (state != State.END) {
+            throw new IOException(state == State.PREAMBLE ? MISSING_START_BOUNDARY : MISSING_CLOSING_BOUNDARY);
+        }
+    }
+
+    /**
+     * Check whether the closing delimiter of the message has been reached.
+     *
+     * @return true if no more events will be emitted
+     */
+    public boolean isFinished() {
+        return state == State.END;
+    }
+
+    private void decode(ByteBuffer buffer) throws IOException {
+        boolean progress = true;
+        while (progress) {
+            switch (state) {
+                case PREAMBLE:
+                    progress = skipPreamble(buffer);
+                    break;
+                case HEADERS:
+                    progress = decodeHeaderLine(buffer);
+                    break;
+                case BODY:
+                    progress = decodeBody(buffer);
+                    break;
+                default:
+                    buffer.position(buffer.limit());
+                    progress = false;
+            }
+        }
+    }
+
+    private boolean skipPreamble(ByteBuffer buffer) throws IOException {
+        int position = buffer.position();
+        int limit = buffer.limit();
+        if (atStart) {
+            // The first delimiter may appear at the very beginning of the message without a preceding line break
+            if (limit - position < patternLength + 1 && !ended) {
+                return false;
+            }
+            if (startsWithDashBoundary(buffer)) {
+                int tail = inspectDelimiterTail(buffer, position + patternLength - 1);
+                if (tail == NEED_MORE_DATA && !ended) {
+                    return false;
+                }
+                if (tail >= 0) {
+                    atStart = false;
+                    buffer.position(tail);
+                    onDelimiter();
+                    return true;
+                }
+            }
+            atStart = false;
+        }
+        int match = scanner.indexOf(buffer, position, limit);
+        if (match < 0) {
+            // Hold back enough bytes to recognise a delimiter split across fragments
+            buffer.position(Math.max(position, limit - patternLength + 1));
+            return false;
+        }
+        int tail = inspectDelimiterTail(buffer, match + patternLength);
+        if (tail == NEED_MORE_DATA) {
+            buffer.position(match);
+            return false;
+        }
+        if (tail == NOT_A_DELIMITER) {
+            buffer.position(match + 1);
+            return true;
+        }
+        buffer.position(tail);
+        onDelimiter();
+        return true;
+    }
+
+    private boolean startsWithDashBoundary(ByteBuffer buffer) {
+        int position = buffer.position();
+        if (buffer.remaining() < patternLength - 1) {
+            return false;
+        }
+        for (int i = 1; i < patternLength; i++) {
+            if (buffer.get(position + i - 1) != delimiter[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean decodeHeaderLine(ByteBuffer buffer) throws IOException {
+        int position = buffer.position();
+        int limit = buffer.limit();
+        for (int i = position; i < limit; i++) {
+            if (buffer.get(i) != LF) {
+                continue;
+            }
+            int end = i > position && buffer.get(i - 1) == CR ? i - 1 : i;
+            if (end - position > MultipartParser.MAX_HEADER_LINE_LENGTH) {
+                throw new IOException(MultipartParser.HEADER_LINE_TOO_LONG);
+            }
+            headerSectionSize = MultipartParser.checkHeaderSectionSize(headerSectionSize, i + 1 - position);
+            String line = decodeLine(buffer, position, end);
+            buffer.position(i + 1);
+            if (line.isEmpty()) {
+                flushHeader();
+                state = State.BODY;
+                return true;
+            }
+            char first = line.charAt(0);
+            if (pendingHeader != null && (first == SPACE || first == TAB)) {
+                // Folded header value
+                pendingHeader = pendingHeader + "\r\n" + line;
+            } else {
+                flushHeader();
+                pendingHeader = line;
+            }
+            return true;
+        }
+        // Leave room for the carriage return which may end the line
+        if (limit - position > MultipartParser.MAX_HEADER_LINE_LENGTH + 1) {
+            throw new IOException(MultipartParser.HEADER_LINE_TOO_LONG);
+        }
+        return false;
+    }
+
+    private void flushHeader() throws IOException {
+        if (pendingHeader == null) {
+            return;
+        }
+        boolean added = MultipartParser.addHeader(headers, pendingHeader);
+        pendingHeader = null;
+        if (added) {
+            int last = headers.size() - 1;
+            listener.onHeader(headers.getName(last), headers.getValue(last));
+        }
+    }
+
+    private static String decodeLine(ByteBuffer buffer, int start, int end) {
+        if (buffer.hasArray()) {
+            return new String(buffer.array(), buffer.arrayOffset() + start, end - start, StandardCharsets.ISO_8859_1);
+        }
+        byte[] bytes = new byte[end - start];
+        buffer.get(start, bytes);
+        return new String(bytes, StandardCharsets.ISO_8859_1);
+    }
+
+    private boolean decodeBody(ByteBuffer buffer) throws IOException {
+        int position = buffer.position();
+        int limit = buffer.limit();
+        int match = scanner.indexOf(buffer, position, limit);
+        if (match < 0) {
+            // Hold back enough bytes to recognise a delimiter and its preceding carriage return across fragments
+            int safeEnd = limit - patternLength;
+            if (safeEnd > position) {
+                emitBodyChunk(buffer, safeEnd);
+            }
+            return false;
+        }
+        int bodyEnd = match > position && buffer.get(match - 1) == CR ? match - 1 : match;
+        if (bodyEnd > position) {
+            emitBodyChunk(buffer, bodyEnd);
+        }
+        int tail = inspectDelimiterTail(buffer, match + patternLength);
+        if (tail == NEED_MORE_DATA) {
+            return false;
+        }
+        if (tail == NOT_A_DELIMITER) {
+            // The boundary is followed by other content, so the line break is a part of the body
+            emitBodyChunk(buffer, match + 1);
+            return true;
+        }
+        buffer.position(tail);
+        listener.onPartEnd();
+        onDelimiter();
+        return true;
+    }
+
+    private void emitBodyChunk(ByteBuffer buffer, int end) throws IOException {
+        int start = buffer.position();
+        ByteBuffer chunk = buffer.slice(start, end - start);
+        buffer.position(end);
+        listener.onBodyChunk(chunk);
+    }
+
+    private void onDelimiter() throws IOException {
+        if (closingDelimiter) {
+            state = State.END;
+            return;
+        }
+        state = State.HEADERS;
+        headers = new MimePartHeaders();
+        headerSectionSize = 0;
+        listener.onPartStart(partIndex++);
+    }
+
+    /**
+     * Check what follows a dash-boundary. A delimiter is followed either by "--" which closes the message or by
+     * optional linear whitespace and a line break.
+     *
+     * @param buffer Buffer being decoded
+     * @param index  Index right after the dash-boundary
+     * @return the index right after the delimiter line, {@code NEED_MORE_DATA} or {@code NOT_A_DELIMITER}
+     */
+    private int inspectDelimiterTail(ByteBuffer buffer, int index) {
+        int limit = buffer.limit();
+        if (index >= limit) {
+            return NEED_MORE_DATA;
+        }
+        byte current = buffer.get(index);
+        if (current == DASH) {
+            if (index + 1 >= limit) {
+                return NEED_MORE_DATA;
+            }
+            if (buffer.get(index + 1) == DASH) {
+                closingDelimiter = true;
+                return index + 2;
+            }
+            return NOT_A_DELIMITER;
+        }
+        while (current == SPACE || current == TAB) {
+            if (++index >= limit) {
+                return NEED_MORE_DATA;
+            }
+            current = buffer.get(index);
+        }
+        if (current == LF) {
+            return index + 1;
+        }
+        if (current == CR) {
+            if (index + 1 >= limit) {
+                return NEED_MORE_DATA;
+            }
+            if (buffer.get(index + 1) == LF) {
+                return index + 2;
+            }
+        }
+        return NOT_A_DELIMITER;
+    }
+
+    /**
+     * Move bytes of a fragment to the end of the carry-over buffer, growing the buffer if there is no room left.
+     *
+     * @return number of bytes moved
+     */
+    private int appendToCarryOver(ByteBuffer fragment, int maxBytes) {
+        int count = Math.min(fragment.remaining(), maxBytes);
+        carryOver.compact();
+        if (carryOver.remaining() < count) {
+            ByteBuffer expanded = ByteBuffer.allocate(Math.max(carryOver.capacity() * 2,
+                                                               carryOver.position() + count));
+            carryOver.flip();
+            expanded.put(carryOver);
+            carryOver = expanded;
+        }
+        carryOver.put(fragment.slice(fragment.position(), count));
+        carryOver.flip();
+        fragment.position(fragment.position() + count);
+        return count;
+    }
+
+    private enum State {
+        PREAMBLE, HEADERS, BODY, END
+    }
+
+    /**
+     * Receives the content decoded by a {@link MultipartPushDecoder}. Events are emitted on the thread that feeds the
+     * decoder, in the order the content appears in the message.
+     */
+    public interface Listener {
+
+        /**
+         * Called when the delimiter of a new body part has been decoded, before any of its headers.
+         *
+         * @param index Zero based index of the part within the message
+         * @throws IOException When the event cannot be handled
+         */
+        void onPartStart(int index) throws IOException;
+
+        /**
+         * Called for each header of the current part once its value, including any folded lines, is complete.
+         *
+         * @param name  Header name as it appears on the wire
+         * @param value Header value
+         * @throws IOException When the event cannot be handled
+         */
+        void onHeader(String name, String value) throws IOException;
+
+        /**
+         * Called for each region of body content of the current part. The chunk may share its content with a fed
+         * fragment or with the internal buffer of the decoder, so it is only valid until this method returns.
+         *
+         * @param chunk Body content between its position and limit
+         * @throws IOException When the event cannot be handled
+         */
+        void onBodyChunk(ByteBuffer chunk) throws IOException;
+
+        /**
+         * Called when the body of the current part has been completely decoded.
+         *
+         * @throws IOException When the event cannot be handled
+         */
+        void onPartEnd() throws IOException;
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.mime.util;
+
+import jakarta.activation.MimeType;
+import jakarta.activation.MimeTypeParameterList;
+import jakarta.activation.MimeTypeParseException;
+
+import java.nio.charset.Charset;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import static io.ballerina.stdlib.mime.util.MimeConstants.CHARSET;
+import static io.ballerina.stdlib.mime.util.MimeConstants.SUFFIX_ATTACHMENT;
+
+/**
+ * An immutable parsed Content-Type, which can be shared by all the entities with the same Content-Type header.
+ *
+ * @since 2.12.1
+ */
+public final class ParsedMediaType {
+
+    private final String primaryType;
+    private final String subType;
+    private final String baseType;
+    private final String suffix;
+    private final Map<String, String> parameters;
+    private final Charset charset;
+
+    private ParsedMediaType(MimeType mimeType) {
+        this.primaryType = mimeType.getPrimaryType();
+        this.subType = mimeType.getSubType();
+        this.baseType = mimeType.getBaseType();
+        if (subType != null && subType.contains(SUFFIX_ATTACHMENT)) {
+            this.suffix = subType.substring(subType.lastIndexOf(SUFFIX_ATTACHMENT) + 1);
+        } else {
+            this.suffix = "";
+        }
+        Map<String, String> parameterMap = new LinkedHashMap<>();
+        MimeTypeParameterList parameterList = mimeType.getParameters();
+        Enumeration<String> names = parameterList.getNames();
+        while (names.hasMoreElements()) {
+            String name = names.nextElement();
+            parameterMap.put(name, parameterList.get(name));
+        }
+        this.parameters = Collections.unmodifiableMap(parameterMap);
+        this.charset = lookupCharset(parameterMap.get(CHARSET));
+    }
+
+    /**
+     * Parse the given Content-Type.
+     *
+     * @param contentType Content-Type value as a string
+     * @return the parsed Content-Type
+     * @throws MimeTypeParseException When the Content-Type is invalid
+     */
+    static ParsedMediaType parse(String contentType) throws MimeTypeParseException {
+        return new ParsedMediaType(new MimeType(contentType));
+    }
+
+    public String getPrimaryType() {
+        return primaryType;
+    }
+
+    public String getSubType() {
+        return subType;
+    }
+
+    public String getBaseType() {
+        return baseType;
+    }
+
+    public String getSuffix() {
+        return suffix;
+    }
+
+    /**
+     * Get the parameters in the order they are enumerated by the parser. Parameter names are in lower case.
+     *
+     * @return an unmodifiable map of the parameters
+     */
+    public Map<String, String> getParameters() {
+        return parameters;
+    }
+
+    public String getParameter(String name) {
+        return parameters.get(name.trim().toLowerCase(Locale.ENGLISH));
+    }
+
+    /**
+     * Get the charset named by the charset parameter.
+     *
+     * @return the charset, or null if there is no charset parameter or the charset is not supported
+     */
+    public Charset getCharset() {
+        return charset;
+    }
+
+    private static Charset lookupCharset(String charsetName) {
+        if (charsetName == null) {
+            return null;
+        }
+        try {
+            return Charset.isSupported(charsetName) ? Charset.forName(charsetName) : null;
+        } catch (IllegalArgumentException e) {
+            // Illegal charset names are reported where the charset is used
+            return null;
+        }
+    }
+}
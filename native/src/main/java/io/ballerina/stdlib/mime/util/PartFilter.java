@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.mime.util;
+
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BObject;
+import io.ballerina.runtime.api.values.BString;
+
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+import static io.ballerina.stdlib.mime.util.MimeConstants.CONTENT_DISPOSITION_NAME;
+import static io.ballerina.stdlib.mime.util.MimeConstants.DOUBLE_QUOTE;
+import static io.ballerina.stdlib.mime.util.MimeConstants.SEMICOLON;
+
+/**
+ * Selects the body parts to be decoded from a multipart message by the name given in the Content-Disposition header
+ * and the base type of the Content-Type header. A part matches the filter if it matches all the given criteria.
+ *
+ * @since 2.12.1
+ */
+public class PartFilter {
+
+    private static final BString NAMES_FIELD = StringUtils.fromString("names");
+    private static final BString CONTENT_TYPES_FIELD = StringUtils.fromString("contentTypes");
+
+    private final Set<String> names;
+    private final Set<String> contentTypes;
+
+    /**
+     * Create a filter.
+     *
+     * @param names        Names of the parts to be decoded. An empty set matches any name
+     * @param contentTypes Base types of the parts to be decoded, matched case insensitively. An empty set matches any
+     *                     content type
+     */
+    public PartFilter(Set<String> names, Set<String> contentTypes) {
+        this.names = names;
+        this.contentTypes = new HashSet<>();
+        for (String contentType : contentTypes) {
+            this.contentTypes.add(contentType.trim().toLowerCase(Locale.ROOT));
+        }
+    }
+
+    /**
+     * Create a filter from a ballerina `PartFilter` record.
+     *
+     * @param filter Represent a ballerina part filter
+     * @return the part filter
+     */
+    public static PartFilter fromRecord(BMap<BString, Object> filter) {
+        return new PartFilter(toSet((BArray) filter.get(NAMES_FIELD)), toSet((BArray) filter.get(CONTENT_TYPES_FIELD)));
+    }
+
+    /**
+     * Check whether a part of the native parser matches the filter, using the raw headers of the part.
+     *
+     * @param part Part of the native parser
+     * @return true if the part has to be decoded
+     */
+    boolean matches(MultipartParser.Part part) {
+        return matches(part.getHeaders().getFirstHeader(MimeConstants.CONTENT_DISPOSITION), part.getContentType());
+    }
+
+    /**
+     * Check whether an already decoded ballerina body part matches the filter.
+     *
+     * @param bodyPart Represent a ballerina body part
+     * @return true if the part has to be kept
+     */
+    boolean matches(BObject bodyPart) {
+        return matches(EntityHeaderHandler.getHeaderValue(bodyPart, MimeConstants.CONTENT_DISPOSITION),
+                       EntityHeaderHandler.getHeaderValue(bodyPart, MimeConstants.CONTENT_TYPE));
+    }
+
+    private boolean matches(String contentDisposition, String contentType) {
+        if (!names.isEmpty()) {
+            String name = getName(contentDisposition);
+            if (name == null || !names.contains(name)) {
+                return false;
+            }
+        }
+        return contentTypes.isEmpty() || contentTypes.contains(getBaseType(contentType));
+    }
+
+    private static String getName(String contentDisposition) {
+        if (contentDisposition == null) {
+            return null;
+        }
+        String[] params = contentDisposition.split(SEMICOLON);
+        for (int i = 1; i < params.length; i++) {
+            int equalsIndex = params[i].indexOf('=');
+            if (equalsIndex > 0 &&
+                    params[i].substring(0, equalsIndex).trim().equalsIgnoreCase(CONTENT_DISPOSITION_NAME)) {
+                String name = params[i].substring(equalsIndex + 1).trim();
+                if (name.length() > 1 && name.startsWith(DOUBLE_QUOTE) && name.endsWith(DOUBLE_QUOTE)) {
+                    name = name.substring(1, name.length() - 1);
+                }
+                return name;
+            }
+        }
+        return null;
+    }
+
+    private static String getBaseType(String contentType) {
+        if (contentType == null) {
+            return MimeConstants.OCTET_STREAM;
+        }
+        int semicolonIndex = contentType.indexOf(SEMICOLON);
+        String baseType = semicolonIndex < 0 ? contentType : contentType.substring(0, semicolonIndex);
+        return baseType.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static Set<String> toSet(BArray values) {
+        Set<String> set = new HashSet<>();
+        if (values != null) {
+            for (int i = 0; i < values.size(); i++) {
+                set.add(values.getBString(i).getValue());
+            }
+        }
+        return set;
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.mime.util;
+
+import io.ballerina.runtime.api.types.TypeTags;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BObject;
+import io.ballerina.runtime.api.values.BRefValue;
+import io.ballerina.runtime.api.values.BString;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Serializes the JSON, XML and text body parts of a multipart message concurrently, ahead of the thread writing the
+ * message. Parts are serialized on virtual threads, but no more than the configured parallelism of parts are
+ * serialized at the same time in the whole process. Each message only runs a window of twice the parallelism ahead
+ * of its writer, which bounds the memory held by serialized parts waiting to be written.
+ *
+ * @since 2.12.1
+ */
+public class PartPreSerializer implements Closeable {
+
+    private static final ExecutorService EXECUTOR = Executors.newVirtualThreadPerTaskExecutor();
+
+    private static volatile int parallelism = 0;
+    private static volatile Semaphore permits = new Semaphore(1);
+
+    private final BArray parts;
+    private final int window;
+    private final Map<Integer, Future<ByteBuffer>> pending = new HashMap<>();
+    private int nextIndex = 0;
+
+    private PartPreSerializer(BArray parts, int window) {
+        this.parts = parts;
+        this.window = window;
+        submitAhead();
+    }
+
+    public static void setParallelism(int maxParallelism) {
+        permits = new Semaphore(Math.max(maxParallelism, 1));
+        parallelism = maxParallelism;
+    }
+
+    public static int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Start serializing the given body parts ahead of the writer.
+     *
+     * @param parts Body parts of a multipart message
+     * @return the serializer or null if parts are not serialized concurrently
+     */
+    static PartPreSerializer start(BArray parts) {
+        int maxParallelism = parallelism;
+        if (maxParallelism <= 0 || parts == null || parts.size() < 2) {
+            return null;
+        }
+        return new PartPreSerializer(parts, maxParallelism * 2);
+    }
+
+    /**
+     * Get the serialized body of a part, waiting until it has been serialized.
+     *
+     * @param index Index of the part
+     * @return the serialized body or null if the part is not serialized ahead, in which case the writer serializes it
+     * @throws IOException When the part could not be serialized
+     */
+    ByteBuffer take(int index) throws IOException {
+        Future<ByteBuffer> result = pending.remove(index);
+        submitAhead();
+        if (result == null) {
+            return null;
+        }
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while serializing a body part", e);
+        } catch (ExecutionException | CancellationException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            throw new IOException("Error occurred while serializing a body part: " + cause.getMessage(), cause);
+        }
+    }
+
+    @Override
+    public void close() {
+        pending.values().forEach(result -> result.cancel(true));
+        pending.clear();
+    }
+
+    private void submitAhead() {
+        while (pending.size() < window && nextIndex < parts.size()) {
+            int index = nextIndex++;
+            Object messageDataSource = getSerializableDataSource((BObject) parts.getRefValue(index));
+            if (messageDataSource != null) {
+                pending.put(index, EXECUTOR.submit(() -> serialize(messageDataSource)));
+            }
+        }
+    }
+
+    private static Object getSerializableDataSource(BObject bodyPart) {
+        Object messageDataSource = EntityBodyHandler.getMessageDataSource(bodyPart);
+        if (messageDataSource instanceof BArray byteArray && byteArray.getElementType().getTag() == TypeTags.BYTE_TAG) {
+            // Byte arrays are written as they are
+            return null;
+        }
+        if (EncodedBody.isSerialized(bodyPart, messageDataSource)) {
+            // The writer uses the bytes cached by a previous serialization
+            return null;
+        }
+        return messageDataSource;
+    }
+
+    private static ByteBuffer serialize(Object messageDataSource) throws InterruptedException {
+        Semaphore semaphore = permits;
+        semaphore.acquire();
+        try {
+            if (messageDataSource instanceof BString) {
+                return ByteBuffer.wrap(messageDataSource.toString().getBytes(Charset.defaultCharset()));
+            }
+            SerializedContent content = new SerializedContent();
+            ((BRefValue) messageDataSource).serialize(content);
+            return content.toByteBuffer();
+        } finally {
+            semaphore.release();
+        }
+    }
+
+    /**
+     * Hands over the serialized content without copying it out of the stream.
+     */
+    private static class SerializedContent extends ByteArrayOutputStream {
+
+        ByteBuffer toByteBuffer() {
+            return ByteBuffer.wrap(buf, 0, count);
+        }
+    }
+}
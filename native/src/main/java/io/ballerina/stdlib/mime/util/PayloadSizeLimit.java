@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.mime.util;
+
+import io.ballerina.runtime.api.values.BError;
+import io.ballerina.runtime.api.values.BObject;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import static io.ballerina.stdlib.mime.util.MimeConstants.ENTITY_MAX_PAYLOAD_SIZE;
+import static io.ballerina.stdlib.mime.util.MimeConstants.PAYLOAD_TOO_LARGE_ERROR;
+
+/**
+ * Limits the number of bytes of an entity body read into memory by {@code getJson()}, {@code getXml()},
+ * {@code getText()} and {@code getByteArray()}. A body which is known to be larger than the limit is rejected before
+ * it is read, and any other body is counted while it is read, so that reading stops as soon as the limit is crossed.
+ * The limit of an entity is set with {@code Entity.setMaxPayloadSize()} and defaults to the module level limit.
+ *
+ * @since 2.12.1
+ */
+public class PayloadSizeLimit {
+
+    private static volatile long maxPayloadSize = -1;
+
+    private PayloadSizeLimit() {}
+
+    public static void setMaxPayloadSize(long maxSize) {
+        maxPayloadSize = maxSize;
+    }
+
+    /**
+     * Set the limit of a single entity, which overrides the module level limit.
+     *
+     * @param entity  Represent a ballerina entity
+     * @param maxSize Maximum number of bytes of the body. A value less than or equal to zero does not limit the body
+     */
+    public static void setMaxPayloadSize(BObject entity, long maxSize) {
+        entity.addNativeData(ENTITY_MAX_PAYLOAD_SIZE, maxSize);
+    }
+
+    static long getMaxPayloadSize(BObject entity) {
+        Object maxSize = entity.getNativeData(ENTITY_MAX_PAYLOAD_SIZE);
+        return maxSize instanceof Long entityMaxSize ? entityMaxSize : maxPayloadSize;
+    }
+
+    /**
+     * Reject a body of the given size if it exceeds the limit of the entity.
+     *
+     * @param entity Represent a ballerina entity
+     * @param size   Number of bytes of the body, or a negative value if it is not known
+     * @throws BError When the body exceeds the limit
+     */
+    static void checkSize(BObject entity, long size) {
+        long limit = getMaxPayloadSize(entity);
+        if (limit > 0 && size > limit) {
+            throw createError(limit);
+        }
+    }
+
+    /**
+     * Wrap the input stream of an entity body with a stream which fails once more bytes than the limit of the entity
+     * are read. The body is rejected at once if its expected size exceeds the limit.
+     *
+     * @param entity       Represent a ballerina entity
+     * @param inputStream  Stream of the entity body
+     * @param expectedSize Expected number of bytes of the body, or a negative value if it is not known
+     * @return the stream to read the body from
+     * @throws BError When the expected size exceeds the limit
+     */
+    static InputStream limit(BObject entity, InputStream inputStream, long expectedSize) {
+        long limit = getMaxPayloadSize(entity);
+        if (limit <= 0) {
+            return inputStream;
+        }
+        if (expectedSize > limit) {
+            throw createError(limit);
+        }
+        return new LimitedInputStream(inputStream, limit);
+    }
+
+    /**
+     * Get the error to be reported for a failure while a body was read. Parsers may wrap the error raised by a
+     * limited stream, which is reported instead whenever the limit has been crossed.
+     *
+     * @param inputStream Stream returned by {@link #limit}
+     * @param error       Error raised while the body was read
+     * @return the error to be reported
+     */
+    static RuntimeException translate(InputStream inputStream, RuntimeException error) {
+        if (inputStream instanceof LimitedInputStream limitedStream && limitedStream.exceeded) {
+            return createError(limitedStream.limit);
+        }
+        return error;
+    }
+
+    public static boolean isPayloadTooLarge(BError error) {
+        return PAYLOAD_TOO_LARGE_ERROR.equals(error.getType().getName());
+    }
+
+    private static BError createError(long limit) {
+        return MimeUtil.createError(PAYLOAD_TOO_LARGE_ERROR, "Payload exceeds the maximum size of " + limit +
+                " bytes");
+    }
+
+    /**
+     * Counts the bytes read from a body. Reads never ask for more than one byte past the limit, so no more than that
+     * is consumed from the underlying stream.
+     */
+    private static class LimitedInputStream extends FilterInputStream {
+
+        private final long limit;
+        private long count = 0;
+        private boolean exceeded = false;
+
+        LimitedInputStream(InputStream inputStream, long limit) {
+            super(inputStream);
+            this.limit = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            checkNotExceeded();
+            int value = super.read();
+            if (value != -1) {
+                count(1);
+            }
+            return value;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) throws IOException {
+            checkNotExceeded();
+            int readCount = super.read(bytes, offset, (int) Math.min(length, limit - count + 1));
+            if (readCount > 0) {
+                count(readCount);
+            }
+            return readCount;
+        }
+
+        private void checkNotExceeded() {
+            if (exceeded) {
+                throw createError(limit);
+            }
+        }
+
+        private void count(int readCount) {
+            count += readCount;
+            if (count > limit) {
+                exceeded = true;
+                throw createError(limit);
+            }
+        }
+    }
+}
@@ -0,0 +1,339 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.mime.util;
+
+import java.io.BufferedInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PushbackInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Locale;
+
+/**
+ * Applies the base64 and quoted-printable Content-Transfer-Encodings of body parts as streams, so that the content
+ * is never held in memory in both its encoded and decoded form. Transfer encodings are only applied when they are
+ * enabled, since body parts have always been exposed with their content as it appears on the wire.
+ *
+ * @since 2.12.1
+ */
+public class TransferEncoding {
+
+    static final String BASE64 = "base64";
+    static final String QUOTED_PRINTABLE = "quoted-printable";
+
+    private static final int BASE64_LINE_LENGTH = 76;
+
+    private static volatile boolean enabled = false;
+
+    private TransferEncoding() {}
+
+    public static void setEnabled(boolean enable) {
+        enabled = enable;
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Check whether content with the given transfer encoding has to be decoded while it is read and encoded while it
+     * is written.
+     *
+     * @param transferEncoding Value of the Content-Transfer-Encoding header, which may be null
+     * @return true if transfer encodings are enabled and the encoding is base64 or quoted-printable
+     */
+    public static boolean isApplicable(String transferEncoding) {
+        if (!enabled || transferEncoding == null) {
+            return false;
+        }
+        String encoding = transferEncoding.trim().toLowerCase(Locale.ROOT);
+        return encoding.equals(BASE64) || encoding.equals(QUOTED_PRINTABLE);
+    }
+
+    /**
+     * Get the length of content once it is encoded, without encoding it.
+     *
+     * @param length           Length of the content
+     * @param transferEncoding Either base64 or quoted-printable
+     * @return the encoded length or -1 if it depends on the content, as it does with quoted-printable
+     */
+    public static long getEncodedLength(long length, String transferEncoding) {
+        if (!isBase64(transferEncoding)) {
+            return -1;
+        }
+        // The MIME encoder separates lines of 76 characters with a CRLF
+        long encoded = (length + 2) / 3 * 4;
+        long lines = (encoded + BASE64_LINE_LENGTH - 1) / BASE64_LINE_LENGTH;
+        return lines == 0 ? 0 : encoded + (lines - 1) * 2;
+    }
+
+    /**
+     * Wrap an input stream of encoded content with a stream which decodes it as it is read.
+     *
+     * @param encoded          Stream of encoded content
+     * @param transferEncoding Either base64 or quoted-printable
+     * @return stream of decoded content
+     */
+    public static InputStream decode(InputStream encoded, String transferEncoding) {
+        if (isBase64(transferEncoding)) {
+            // The MIME decoder skips line breaks and any other character outside the base64 alphabet
+            return Base64.getMimeDecoder().wrap(encoded);
+        }
+        return new QuotedPrintableInputStream(encoded);
+    }
+
+    /**
+     * Wrap an output stream with a stream which encodes the content written to it. The returned stream must be
+     * closed to write out the end of the encoded content, which leaves the given stream open.
+     *
+     * @param target           Stream the encoded content is written to
+     * @param transferEncoding Either base64 or quoted-printable
+     * @return stream accepting content to be encoded
+     */
+    public static OutputStream encode(OutputStream target, String transferEncoding) {
+        OutputStream unclosable = unclosable(target);
+        if (isBase64(transferEncoding)) {
+            return Base64.getMimeEncoder().wrap(unclosable);
+        }
+        return new QuotedPrintableOutputStream(unclosable);
+    }
+
+    /**
+     * Wrap an output stream so that closing the wrapper only flushes the stream. Encoders write out the end of the
+     * encoded content when they are closed, while the stream they write to has to stay open for the next part.
+     */
+    static OutputStream unclosable(OutputStream target) {
+        return new FilterOutputStream(target) {
+            @Override
+            public void write(byte[] bytes, int offset, int length) throws IOException {
+                out.write(bytes, offset, length);
+            }
+
+            @Override
+            public void close() throws IOException {
+                flush();
+            }
+        };
+    }
+
+    private static boolean isBase64(String transferEncoding) {
+        return BASE64.equalsIgnoreCase(transferEncoding.trim());
+    }
+
+    /**
+     * Decodes quoted-printable content as defined in RFC 2045. Soft line breaks are removed and malformed escape
+     * sequences are passed through as they are.
+     */
+    static class QuotedPrintableInputStream extends InputStream {
+
+        private final PushbackInputStream in;
+
+        QuotedPrintableInputStream(InputStream in) {
+            this.in = new PushbackInputStream(new BufferedInputStream(in), 2);
+        }
+
+        @Override
+        public int read() throws IOException {
+            while (true) {
+                int current = in.read();
+                if (current != '=') {
+                    return current;
+                }
+                int first = in.read();
+                if (first == '\n') {
+                    continue;
+                }
+                if (first == '\r') {
+                    int second = in.read();
+                    if (second != '\n' && second != -1) {
+                        in.unread(second);
+                    }
+                    continue;
+                }
+                if (first == -1) {
+                    return current;
+                }
+                int second = in.read();
+                int high = Character.digit(first, 16);
+                int low = second < 0 ? -1 : Character.digit(second, 16);
+                if (high >= 0 && low >= 0) {
+                    return (high << 4) | low;
+                }
+                if (second != -1) {
+                    in.unread(second);
+                }
+                in.unread(first);
+                return current;
+            }
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+            int count = 0;
+            while (count < length) {
+                int value = read();
+                if (value < 0) {
+                    return count == 0 ? -1 : count;
+                }
+                bytes[offset + count++] = (byte) value;
+                if (in.available() == 0) {
+                    // Do not block for more content than is needed to return what has already been decoded
+                    break;
+                }
+            }
+            return count;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+
+    /**
+     * Encodes content as quoted-printable as defined in RFC 2045. CRLF sequences are kept as line breaks, lines are
+     * wrapped with soft line breaks at 76 characters and whitespace at the end of a line is escaped.
+     */
+    static class QuotedPrintableOutputStream extends FilterOutputStream {
+
+        private static final int MAX_LINE_LENGTH = 76;
+        private static final byte[] HEX = "0123456789ABCDEF".getBytes(StandardCharsets.US_ASCII);
+        private static final int BUFFER_SIZE = 4096;
+
+        // Encoded content is written out in blocks, since it is produced one character at a time
+        private final byte[] buffer = new byte[BUFFER_SIZE];
+        private int count = 0;
+        private int lineLength = 0;
+        private int pendingWhitespace = -1;
+        private boolean pendingCarriageReturn = false;
+
+        QuotedPrintableOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int value) throws IOException {
+            int current = value & 0xFF;
+            if (pendingCarriageReturn) {
+                pendingCarriageReturn = false;
+                if (current == '\n') {
+                    writePendingWhitespace(true);
+                    put('\r');
+                    put('\n');
+                    lineLength = 0;
+                    return;
+                }
+                writePendingWhitespace(false);
+                writeEscaped('\r');
+            }
+            if (current == '\r') {
+                pendingCarriageReturn = true;
+                return;
+            }
+            writePendingWhitespace(false);
+            if (current == ' ' || current == '\t') {
+                pendingWhitespace = current;
+            } else if (current >= 33 && current <= 126 && current != '=') {
+                writeLiteral(current);
+            } else {
+                writeEscaped(current);
+            }
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            for (int i = offset; i < offset + length; i++) {
+                write(bytes[i]);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            writeBuffer();
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            writePendingWhitespace(true);
+            if (pendingCarriageReturn) {
+                pendingCarriageReturn = false;
+                writeEscaped('\r');
+            }
+            super.close();
+        }
+
+        private void writePendingWhitespace(boolean atLineEnd) throws IOException {
+            if (pendingWhitespace < 0) {
+                return;
+            }
+            int whitespace = pendingWhitespace;
+            pendingWhitespace = -1;
+            if (atLineEnd) {
+                writeEscaped(whitespace);
+            } else {
+                writeLiteral(whitespace);
+            }
+        }
+
+        private void writeLiteral(int value) throws IOException {
+            wrapLine(1);
+            put(value);
+            lineLength++;
+        }
+
+        private void writeEscaped(int value) throws IOException {
+            wrapLine(3);
+            put('=');
+            put(HEX[value >> 4]);
+            put(HEX[value & 0x0F]);
+            lineLength += 3;
+        }
+
+        private void wrapLine(int width) throws IOException {
+            // One character of the line is reserved for the '=' of a soft line break
+            if (lineLength + width > MAX_LINE_LENGTH - 1) {
+                put('=');
+                put('\r');
+                put('\n');
+                lineLength = 0;
+            }
+        }
+
+        private void put(int value) throws IOException {
+            if (count == buffer.length) {
+                writeBuffer();
+            }
+            buffer[count++] = (byte) value;
+        }
+
+        private void writeBuffer() throws IOException {
+            if (count > 0) {
+                out.write(buffer, 0, count);
+                count = 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.mime.util;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * A unit test class for the boundary scanner.
+ */
+public class BoundaryScannerTest {
+
+    private static final byte[] PATTERN = "\n--e3a0b532dc9b4fb2".getBytes(StandardCharsets.ISO_8859_1);
+
+    @Test
+    public void testScannerAgreesWithNaiveSearch() {
+        BoundaryScanner scanner = new BoundaryScanner(PATTERN);
+        Random random = new Random(42);
+        for (int round = 0; round < 200; round++) {
+            // A small alphabet produces plenty of partial matches to be rejected
+            byte[] content = new byte[random.nextInt(600)];
+            for (int i = 0; i < content.length; i++) {
+                content[i] = PATTERN[random.nextInt(PATTERN.length)];
+            }
+            if (content.length > PATTERN.length && random.nextBoolean()) {
+                int at = random.nextInt(content.length - PATTERN.length + 1);
+                System.arraycopy(PATTERN, 0, content, at, PATTERN.length);
+            }
+            int from = content.length == 0 ? 0 : random.nextInt(content.length);
+            Assert.assertEquals(scanner.indexOf(content, from, content.length),
+                                naiveIndexOf(content, from, content.length), "Round " + round);
+        }
+    }
+
+    @Test
+    public void testPatternAtRangeEdges() {
+        byte[] content = new byte[300];
+        System.arraycopy(PATTERN, 0, content, content.length - PATTERN.length, PATTERN.length);
+        BoundaryScanner scanner = new BoundaryScanner(PATTERN);
+        Assert.assertEquals(scanner.indexOf(content, 0, content.length), content.length - PATTERN.length);
+        Assert.assertEquals(scanner.indexOf(content, 0, content.length - 1), -1);
+        Assert.assertEquals(scanner.indexOf(ByteBuffer.wrap(content, 10, 290).slice(), 0, 290),
+                            290 - PATTERN.length);
+    }
+
+    private static int naiveIndexOf(byte[] content, int from, int to) {
+        for (int i = from; i <= to - PATTERN.length; i++) {
+            if (Arrays.equals(content, i, i + PATTERN.length, PATTERN, 0, PATTERN.length)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
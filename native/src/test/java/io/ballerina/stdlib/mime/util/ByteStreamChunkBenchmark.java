@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.mime.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+
+/**
+ * Microbenchmark reporting the throughput and the allocation rate of reading the chunks of a byte stream, with the
+ * chunk reader used by {@code getByteStream()} before and after reading straight into the returned array. It is not
+ * a part of the test suite and has to be run manually with the test classpath, for example
+ * {@code java -cp <test classpath> io.ballerina.stdlib.mime.util.ByteStreamChunkBenchmark [contentSizeInMB]
+ * [chunkSize] [iterations]}.
+ */
+public class ByteStreamChunkBenchmark {
+
+    private static final double MB = 1024 * 1024;
+
+    public static void main(String[] args) throws IOException {
+        int size = (args.length > 0 ? Integer.parseInt(args[0]) : 64) * 1024 * 1024;
+        int chunkSize = args.length > 1 ? Integer.parseInt(args[1]) : 8192;
+        int iterations = args.length > 2 ? Integer.parseInt(args[2]) : 20;
+        byte[] content = new byte[size];
+        new Random(7).nextBytes(content);
+        report("before", content, chunkSize, iterations, ByteStreamChunkBenchmark::readChunkWithCopies);
+        report("after", content, chunkSize, iterations, EntityBodyHandler::readChunk);
+    }
+
+    private static void report(String name, byte[] content, int chunkSize, int iterations, ChunkReader reader)
+            throws IOException {
+        // Warm up so that the read loop is compiled before it is measured
+        for (int i = 0; i < 5; i++) {
+            readAll(content, chunkSize, reader);
+        }
+        com.sun.management.ThreadMXBean threadBean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long allocatedBefore = threadBean.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            readAll(content, chunkSize, reader);
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = threadBean.getCurrentThreadAllocatedBytes() - allocatedBefore;
+        double streamedMB = content.length * (double) iterations / MB;
+        System.out.printf("%-6s: %8.1f MB/s, %10.0f bytes allocated per MB%n", name,
+                          streamedMB / (elapsed / 1e9), allocated / streamedMB);
+    }
+
+    private static void readAll(byte[] content, int chunkSize, ChunkReader reader) throws IOException {
+        InputStream inputStream = new ByteArrayInputStream(content);
+        long total = 0;
+        byte[] chunk;
+        while ((chunk = reader.read(inputStream, chunkSize)) != null) {
+            total += chunk.length;
+        }
+        if (total != content.length) {
+            throw new IllegalStateException("Read " + total + " bytes of " + content.length);
+        }
+    }
+
+    /**
+     * The chunk reader of {@code getStreamEntryRecord} before it read into the returned array, which allocated a
+     * buffer per read and copied the chunk through a ByteArrayOutputStream.
+     */
+    private static byte[] readChunkWithCopies(InputStream inputStream, int chunkSize) throws IOException {
+        int arraySize = chunkSize;
+        try (ByteArrayOutputStream output = new ByteArrayOutputStream()) {
+            do {
+                byte[] buffer = new byte[arraySize];
+                int readCount = inputStream.read(buffer, 0, arraySize);
+                arraySize -= readCount;
+                if (readCount == -1 && output.size() == 0) {
+                    return null;
+                }
+                if (readCount == -1) {
+                    break;
+                }
+                output.write(buffer, 0, readCount);
+            } while (arraySize > 0);
+            return output.toByteArray();
+        }
+    }
+
+    private interface ChunkReader {
+
+        byte[] read(InputStream inputStream, int chunkSize) throws IOException;
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.mime.util;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A unit test class for the writer of byte stream bodies.
+ */
+public class ByteStreamWriterTest {
+
+    @Test
+    public void testSmallElementsAreCoalesced() throws IOException {
+        List<Integer> writes = new ArrayList<>();
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        OutputStream outputStream = new OutputStream() {
+            @Override
+            public void write(int value) {
+                write(new byte[]{(byte) value}, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] bytes, int offset, int length) {
+                writes.add(length);
+                content.write(bytes, offset, length);
+            }
+        };
+        ByteStreamWriter writer = new ByteStreamWriter(outputStream, 16);
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        for (int i = 0; i < 10; i++) {
+            byte[] element = new byte[]{(byte) i, (byte) i, (byte) i};
+            writer.write(element, element.length);
+            expected.write(element);
+        }
+        byte[] large = new byte[40];
+        writer.write(large, large.length);
+        expected.write(large);
+        writer.write(new byte[]{1}, 1);
+        expected.write(1);
+        writer.flush();
+
+        Assert.assertEquals(content.toByteArray(), expected.toByteArray());
+        Assert.assertEquals(writes, List.of(15, 15, 40, 1));
+    }
+}
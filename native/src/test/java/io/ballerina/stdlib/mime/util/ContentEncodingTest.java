@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.mime.util;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * A unit test class for the streaming Content-Encodings.
+ */
+public class ContentEncodingTest {
+
+    @AfterMethod
+    public void disable() {
+        ContentEncoding.configure(false, -1, 8192);
+    }
+
+    @Test
+    public void testApplicableEncodings() {
+        Assert.assertTrue(ContentEncoding.isSupported("x-gzip"));
+        Assert.assertFalse(ContentEncoding.isApplicable("gzip"));
+        ContentEncoding.configure(true, -1, 8192);
+        Assert.assertTrue(ContentEncoding.isApplicable(" GZIP"));
+        Assert.assertTrue(ContentEncoding.isApplicable("deflate"));
+        Assert.assertFalse(ContentEncoding.isApplicable("br"));
+        Assert.assertFalse(ContentEncoding.isApplicable(null));
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        ContentEncoding.configure(true, 9, 512);
+        byte[] content = "{\"name\":\"ballerina\",\"values\":[1,2,3]}\n".repeat(2000).getBytes(StandardCharsets.UTF_8);
+        for (String encoding : new String[]{ContentEncoding.GZIP, ContentEncoding.DEFLATE}) {
+            ByteArrayOutputStream target = new ByteArrayOutputStream();
+            try (OutputStream compressor = ContentEncoding.encode(target, encoding)) {
+                for (int offset = 0; offset < content.length; offset += 1000) {
+                    compressor.write(content, offset, Math.min(1000, content.length - offset));
+                }
+            }
+            // The target stays open for the content which follows the body
+            target.write('x');
+            byte[] compressed = target.toByteArray();
+            Assert.assertTrue(compressed.length < content.length / 10, encoding + " length " + compressed.length);
+            InputStream decoded = ContentEncoding.decode(new ByteArrayInputStream(compressed, 0, compressed.length - 1),
+                                                         encoding);
+            Assert.assertEquals(decoded.readAllBytes(), content, encoding);
+            decoded.close();
+        }
+    }
+
+    @Test
+    public void testGzipIsCompatible() throws IOException {
+        ByteArrayOutputStream target = new ByteArrayOutputStream();
+        try (OutputStream compressor = ContentEncoding.encode(target, ContentEncoding.GZIP)) {
+            compressor.write("gzip content".getBytes(StandardCharsets.UTF_8));
+        }
+        try (InputStream inputStream = new GZIPInputStream(new ByteArrayInputStream(target.toByteArray()))) {
+            Assert.assertEquals(new String(inputStream.readAllBytes(), StandardCharsets.UTF_8), "gzip content");
+        }
+    }
+
+    @Test
+    public void testDecodingIsDeferredUntilRead() throws IOException {
+        InputStream notReadable = new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("Content is not available yet");
+            }
+        };
+        InputStream decoded = ContentEncoding.decode(notReadable, ContentEncoding.GZIP);
+        Assert.assertEquals(decoded.available(), 0);
+        Assert.expectThrows(IOException.class, decoded::read);
+    }
+}
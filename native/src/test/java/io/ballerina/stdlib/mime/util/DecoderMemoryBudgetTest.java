@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.mime.util;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * A unit test class for the process wide multipart decoder memory budget.
+ */
+public class DecoderMemoryBudgetTest {
+
+    private static final String BOUNDARY = "a1b2c3d4";
+    private static final String MESSAGE = "--" + BOUNDARY + "\r\n\r\n0123456789\r\n" +
+            "--" + BOUNDARY + "\r\n\r\nabcdefghij\r\n" +
+            "--" + BOUNDARY + "--";
+
+    @AfterMethod
+    public void resetBudget() {
+        DecoderMemoryBudget.configure(-1, DecoderMemoryBudget.AdmissionPolicy.QUEUE, 30000);
+    }
+
+    @Test
+    public void testReservationIsReleased() {
+        DecoderMemoryBudget.configure(100, DecoderMemoryBudget.AdmissionPolicy.REJECT, 0);
+        long initial = DecoderMemoryBudget.getReservedBytes();
+        DecoderMemoryBudget.Reservation reservation = new DecoderMemoryBudget.Reservation(new Object());
+        Assert.assertTrue(reservation.tryReserve(60));
+        Assert.assertFalse(reservation.tryReserve(60));
+        Assert.assertEquals(DecoderMemoryBudget.getReservedBytes(), initial + 60);
+        reservation.clean();
+        Assert.assertEquals(DecoderMemoryBudget.getReservedBytes(), initial);
+    }
+
+    @Test
+    public void testPartsSpillOnceBudgetIsExhausted() throws IOException {
+        DecoderMemoryBudget.configure(15, DecoderMemoryBudget.AdmissionPolicy.REJECT, 0);
+        MultipartParser parser = new MultipartParser(new ByteArrayInputStream(
+                MESSAGE.getBytes(StandardCharsets.ISO_8859_1)), BOUNDARY);
+        DecodedPart first = DecodedPart.read(parser.nextPart(), Long.MAX_VALUE, 8, null);
+        DecodedPart second = DecodedPart.read(parser.nextPart(), Long.MAX_VALUE, 8, null);
+        try {
+            Assert.assertTrue(first.isInMemory());
+            Assert.assertFalse(second.isInMemory());
+            Assert.assertEquals(DecoderMemoryBudget.getReservedBytes(), 10);
+            Assert.assertEquals(new String(second.readOnce().readAllBytes(), StandardCharsets.ISO_8859_1),
+                                "abcdefghij");
+        } finally {
+            first.close();
+            second.close();
+        }
+        Assert.assertEquals(DecoderMemoryBudget.getReservedBytes(), 0);
+    }
+
+    @Test
+    public void testReservationIsReleasedOnceContentIsRead() throws IOException {
+        DecoderMemoryBudget.configure(100, DecoderMemoryBudget.AdmissionPolicy.REJECT, 0);
+        MultipartParser parser = new MultipartParser(new ByteArrayInputStream(
+                MESSAGE.getBytes(StandardCharsets.ISO_8859_1)), BOUNDARY);
+        DecodedPart part = DecodedPart.read(parser.nextPart(), Long.MAX_VALUE, 8, null);
+        Assert.assertTrue(part.isInMemory());
+        Assert.assertEquals(DecoderMemoryBudget.getReservedBytes(), 10);
+        InputStream content = part.readOnce();
+        Assert.assertEquals(content.readNBytes(9), "012345678".getBytes(StandardCharsets.ISO_8859_1));
+        Assert.assertEquals(DecoderMemoryBudget.getReservedBytes(), 2);
+        Assert.assertEquals(content.read(), '9');
+        Assert.assertEquals(content.read(), -1);
+        // The part is not closed by the getters which read its content
+        Assert.assertEquals(DecoderMemoryBudget.getReservedBytes(), 0);
+    }
+
+    @Test
+    public void testQueuedDecodeIsAdmittedOnceMemoryIsReleased() throws InterruptedException {
+        DecoderMemoryBudget.configure(10, DecoderMemoryBudget.AdmissionPolicy.QUEUE, 10000);
+        long rejected = DecoderMemoryBudget.getRejectedDecodes();
+        DecoderMemoryBudget.Reservation reservation = new DecoderMemoryBudget.Reservation(new Object());
+        Assert.assertTrue(reservation.tryReserve(10));
+        Thread queuedDecode = Thread.ofVirtual().start(DecoderMemoryBudget::admit);
+        queuedDecode.join(100);
+        Assert.assertTrue(queuedDecode.isAlive());
+        reservation.release(4);
+        queuedDecode.join(5000);
+        Assert.assertFalse(queuedDecode.isAlive());
+        Assert.assertEquals(DecoderMemoryBudget.getRejectedDecodes(), rejected);
+        reservation.clean();
+        Assert.assertEquals(DecoderMemoryBudget.getReservedBytes(), 0);
+    }
+
+    @Test
+    public void testConcurrentDecodesWithDefaultEngineShareBudget() throws Exception {
+        Assert.assertEquals(MultipartDecoder.getEngine(), MultipartDecoder.Engine.MIMEPULL);
+        DecoderMemoryBudget.configure(25, DecoderMemoryBudget.AdmissionPolicy.QUEUE, 10000);
+        Assert.assertEquals(MultipartDecoder.selectEngine(null), MultipartDecoder.Engine.NATIVE);
+        List<Future<List<DecodedPart>>> decodes = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 8; i++) {
+                decodes.add(executor.submit(() -> {
+                    DecoderMemoryBudget.admit();
+                    return MultipartDecoder.decodeParts("multipart/mixed; boundary=" + BOUNDARY,
+                            new ByteArrayInputStream(MESSAGE.getBytes(StandardCharsets.ISO_8859_1)));
+                }));
+            }
+        }
+        List<DecodedPart> parts = new ArrayList<>();
+        for (Future<List<DecodedPart>> decode : decodes) {
+            parts.addAll(decode.get());
+        }
+        try {
+            Assert.assertEquals(parts.size(), 16);
+            long inMemory = parts.stream().filter(DecodedPart::isInMemory).mapToLong(DecodedPart::getSize).sum();
+            Assert.assertTrue(inMemory <= 25);
+            Assert.assertEquals(DecoderMemoryBudget.getReservedBytes(), inMemory);
+            for (int i = 0; i < parts.size(); i++) {
+                Assert.assertEquals(new String(parts.get(i).readOnce().readAllBytes(), StandardCharsets.ISO_8859_1),
+                                    i % 2 == 0 ? "0123456789" : "abcdefghij");
+            }
+        } finally {
+            parts.forEach(DecodedPart::close);
+        }
+        Assert.assertEquals(DecoderMemoryBudget.getReservedBytes(), 0);
+    }
+
+    @Test
+    public void testAdmissionWithinBudget() {
+        DecoderMemoryBudget.configure(100, DecoderMemoryBudget.AdmissionPolicy.REJECT, 0);
+        long rejected = DecoderMemoryBudget.getRejectedDecodes();
+        DecoderMemoryBudget.admit();
+        Assert.assertEquals(DecoderMemoryBudget.getRejectedDecodes(), rejected);
+    }
+}
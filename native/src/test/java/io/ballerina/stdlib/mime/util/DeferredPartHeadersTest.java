@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.mime.util;
+
+import io.ballerina.runtime.api.values.BObject;
+import jakarta.activation.MimeTypeParseException;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * A unit test class for the deferred headers of decoded body parts.
+ */
+public class DeferredPartHeadersTest {
+
+    @Test
+    public void testValidHeadersAreDeferred() throws MimeTypeParseException, IOException {
+        BObject partStruct = mockEntity();
+        DeferredPartHeaders.defer(partStruct, headers("text/plain", "10"), null, "text/plain");
+        Assert.assertNotNull(partStruct.getNativeData(MimeConstants.DEFERRED_PART_HEADERS));
+    }
+
+    @Test
+    public void testMalformedContentTypeIsRejected() {
+        BObject partStruct = mockEntity();
+        Assert.expectThrows(MimeTypeParseException.class, () -> DeferredPartHeaders.defer(
+                partStruct, headers("text", null), null, "text"));
+        Assert.assertNull(partStruct.getNativeData(MimeConstants.DEFERRED_PART_HEADERS));
+    }
+
+    @Test
+    public void testMalformedContentLengthIsRejected() {
+        BObject partStruct = mockEntity();
+        Assert.expectThrows(IOException.class, () -> DeferredPartHeaders.defer(
+                partStruct, headers("text/plain", "ten"), null, "text/plain"));
+        Assert.expectThrows(IOException.class, () -> DeferredPartHeaders.defer(
+                partStruct, headers("text/plain", "4294967296"), null, "text/plain"));
+        Assert.assertNull(partStruct.getNativeData(MimeConstants.DEFERRED_PART_HEADERS));
+    }
+
+    private static MimePartHeaders headers(String contentType, String contentLength) {
+        MimePartHeaders headers = new MimePartHeaders();
+        headers.add(MimeConstants.CONTENT_TYPE, contentType);
+        if (contentLength != null) {
+            headers.add(MimeConstants.CONTENT_LENGTH, contentLength);
+        }
+        return headers;
+    }
+
+    private static BObject mockEntity() {
+        Map<String, Object> nativeData = new HashMap<>();
+        BObject entity = mock(BObject.class);
+        doAnswer(invocation -> nativeData.put(invocation.getArgument(0), invocation.getArgument(1)))
+                .when(entity).addNativeData(anyString(), any());
+        when(entity.getNativeData(anyString())).thenAnswer(invocation -> nativeData.get(invocation.getArgument(0)));
+        return entity;
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.mime.util;
+
+import io.ballerina.runtime.api.values.BObject;
+import io.ballerina.runtime.api.values.BString;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * A unit test class for the cache of encoded entity bodies.
+ */
+public class EncodedBodyTest {
+
+    @Test
+    public void testStringBodyIsEncodedOnce() {
+        BObject entity = mockEntity();
+        BString text = mockString("Ballerina text body");
+        byte[] bytes = EncodedBody.getSerializedBytes(entity, text);
+        Assert.assertEquals(bytes, "Ballerina text body".getBytes(Charset.defaultCharset()));
+        Assert.assertTrue(EncodedBody.isSerialized(entity, text));
+        Assert.assertSame(EncodedBody.getSerializedBytes(entity, text), bytes);
+
+        // Another data source of the entity is encoded again
+        BString otherText = mockString("Another text body");
+        Assert.assertFalse(EncodedBody.isSerialized(entity, otherText));
+        Assert.assertEquals(EncodedBody.getSerializedBytes(entity, otherText),
+                            "Another text body".getBytes(Charset.defaultCharset()));
+    }
+
+    @Test
+    public void testInvalidate() {
+        BObject entity = mockEntity();
+        BString text = mockString("Ballerina text body");
+        byte[] bytes = EncodedBody.getSerializedBytes(entity, text);
+        EncodedBody.invalidate(entity);
+        Assert.assertFalse(EncodedBody.isSerialized(entity, text));
+        Assert.assertNotSame(EncodedBody.getSerializedBytes(entity, text), bytes);
+    }
+
+    @Test
+    public void testLargeBodyIsNotCached() {
+        BObject entity = mockEntity();
+        String value = "a".repeat(EncodedBody.MAX_CACHED_SIZE + 1);
+        BString text = mockString(value);
+        byte[] bytes = EncodedBody.getSerializedBytes(entity, text);
+        Assert.assertEquals(bytes, value.getBytes(Charset.defaultCharset()));
+        Assert.assertFalse(EncodedBody.isSerialized(entity, text));
+        Assert.assertNotSame(EncodedBody.getSerializedBytes(entity, text), bytes);
+    }
+
+    @Test
+    public void testBoundedBufferOnlyKeepsSmallValues() {
+        EncodedBody.BoundedBuffer smallValue = new EncodedBody.BoundedBuffer();
+        smallValue.write('{');
+        smallValue.write("\"a\":1}".getBytes(StandardCharsets.UTF_8), 0, 6);
+        Assert.assertEquals(smallValue.toBytes(), "{\"a\":1}".getBytes(StandardCharsets.UTF_8));
+
+        EncodedBody.BoundedBuffer largeValue = new EncodedBody.BoundedBuffer();
+        byte[] chunk = new byte[EncodedBody.MAX_CACHED_SIZE / 2];
+        largeValue.write(chunk, 0, chunk.length);
+        largeValue.write(chunk, 0, chunk.length);
+        largeValue.write('a');
+        largeValue.write(chunk, 0, chunk.length);
+        // Only the length of a value larger than the cache bound is kept
+        Assert.assertNull(largeValue.toBytes());
+        Assert.assertEquals(largeValue.size(), 0);
+    }
+
+    private static BString mockString(String value) {
+        BString text = mock(BString.class);
+        when(text.toString()).thenReturn(value);
+        return text;
+    }
+
+    private static BObject mockEntity() {
+        Map<String, Object> nativeData = new HashMap<>();
+        BObject entity = mock(BObject.class);
+        doAnswer(invocation -> nativeData.put(invocation.getArgument(0), invocation.getArgument(1)))
+                .when(entity).addNativeData(anyString(), any());
+        when(entity.getNativeData(anyString())).thenAnswer(invocation -> nativeData.get(invocation.getArgument(0)));
+        return entity;
+    }
+}
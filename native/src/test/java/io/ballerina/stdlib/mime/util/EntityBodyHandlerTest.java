@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.mime.util;
+
+import io.ballerina.runtime.api.values.BObject;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * A unit test class for the body handling utilities of entities.
+ */
+public class EntityBodyHandlerTest {
+
+    @Test
+    public void testReadChunk() throws IOException {
+        byte[] content = new byte[25];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) i;
+        }
+        // Return at most 4 bytes per read, so that a chunk is filled by several reads
+        InputStream inputStream = new FilterInputStream(new ByteArrayInputStream(content)) {
+            @Override
+            public int read(byte[] bytes, int offset, int length) throws IOException {
+                return super.read(bytes, offset, Math.min(length, 4));
+            }
+        };
+        Assert.assertEquals(EntityBodyHandler.readChunk(inputStream, 10), Arrays.copyOfRange(content, 0, 10));
+        Assert.assertEquals(EntityBodyHandler.readChunk(inputStream, 10), Arrays.copyOfRange(content, 10, 20));
+        Assert.assertEquals(EntityBodyHandler.readChunk(inputStream, 10), Arrays.copyOfRange(content, 20, 25));
+        Assert.assertNull(EntityBodyHandler.readChunk(inputStream, 10));
+    }
+
+    @Test
+    public void testStreamedPartIsDecodedLikeDecodedPart() throws IOException {
+        String message = "--a1b2c3d4\r\ncontent-transfer-encoding: base64\r\n\r\n" +
+                Base64.getEncoder().encodeToString("Ballerina part".getBytes(StandardCharsets.UTF_8)) +
+                "\r\n--a1b2c3d4--";
+        TransferEncoding.setEnabled(true);
+        try {
+            MultipartParser streamingParser = new MultipartParser(new ByteArrayInputStream(
+                    message.getBytes(StandardCharsets.ISO_8859_1)), "a1b2c3d4");
+            BObject streamedPart = mockEntity();
+            EntityBodyHandler.populateBodyContent(streamedPart, streamingParser.nextPart());
+
+            MultipartParser decodingParser = new MultipartParser(new ByteArrayInputStream(
+                    message.getBytes(StandardCharsets.ISO_8859_1)), "a1b2c3d4");
+            BObject decodedPart = mockEntity();
+            EntityBodyHandler.populateBodyContent(decodedPart, DecodedPart.read(decodingParser.nextPart(),
+                                                                                 Long.MAX_VALUE, 8, null));
+
+            Assert.assertEquals(readBody(streamedPart), "Ballerina part".getBytes(StandardCharsets.UTF_8));
+            Assert.assertEquals(readBody(decodedPart), "Ballerina part".getBytes(StandardCharsets.UTF_8));
+        } finally {
+            TransferEncoding.setEnabled(false);
+        }
+    }
+
+    @Test
+    public void testDeclaredSizeIsLimited() throws IOException {
+        long maxAllocation = EntityBodyHandler.MAX_DECLARED_ALLOCATION;
+        Assert.assertEquals(EntityBodyHandler.limitDeclaredSize(-1, -1), -1);
+        Assert.assertEquals(EntityBodyHandler.limitDeclaredSize(1024, -1), 1024);
+        Assert.assertEquals(EntityBodyHandler.limitDeclaredSize(2000000000L, -1), maxAllocation);
+        Assert.assertEquals(EntityBodyHandler.limitDeclaredSize(2000000000L, 1024), 1024);
+        Assert.assertEquals(EntityBodyHandler.limitDeclaredSize(2000000000L, maxAllocation * 2), maxAllocation);
+
+        // Content which is longer than the allocation is read as a whole
+        byte[] content = new byte[100];
+        Arrays.fill(content, (byte) 'a');
+        Assert.assertEquals(MimeUtil.getByteArray(new ByteArrayInputStream(content),
+                                                  EntityBodyHandler.limitDeclaredSize(2000000000L, 10)), content);
+    }
+
+    private static byte[] readBody(BObject bodyPart) throws IOException {
+        EntityWrapper byteChannel = (EntityWrapper) bodyPart.getNativeData(MimeConstants.ENTITY_BYTE_CHANNEL);
+        return byteChannel.getEntityBodyChannel().getInputStream().readAllBytes();
+    }
+
+    private static BObject mockEntity() {
+        Map<String, Object> nativeData = new HashMap<>();
+        BObject entity = mock(BObject.class);
+        doAnswer(invocation -> nativeData.put(invocation.getArgument(0), invocation.getArgument(1)))
+                .when(entity).addNativeData(anyString(), any());
+        when(entity.getNativeData(anyString())).thenAnswer(invocation -> nativeData.get(invocation.getArgument(0)));
+        return entity;
+    }
+}
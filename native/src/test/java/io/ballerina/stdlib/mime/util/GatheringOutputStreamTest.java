@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.mime.util;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A unit test class for the output stream which writes batches of buffers with gathering writes.
+ */
+public class GatheringOutputStreamTest {
+
+    @Test
+    public void testBuffersAreWrittenInBatches() throws IOException {
+        RecordingChannel channel = new RecordingChannel();
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        try (GatheringOutputStream outputStream = new GatheringOutputStream(channel)) {
+            for (int i = 0; i < 1500; i++) {
+                byte[] header = ("--boundary\r\nContent-Id: " + i + "\r\n\r\n").getBytes(StandardCharsets.US_ASCII);
+                byte[] body = ("{\"part\":" + i + "}").getBytes(StandardCharsets.US_ASCII);
+                outputStream.add(ByteBuffer.wrap(header));
+                outputStream.write(body);
+                expected.write(header);
+                expected.write(body);
+            }
+            Assert.assertEquals(channel.gatheringWrites, 2);
+        }
+        Assert.assertEquals(channel.gatheringWrites, 3);
+        Assert.assertEquals(channel.singleWrites, 0);
+        Assert.assertEquals(channel.content.toByteArray(), expected.toByteArray());
+    }
+
+    @Test
+    public void testLargeWritesFlushPendingContent() throws IOException {
+        RecordingChannel channel = new RecordingChannel();
+        byte[] large = new byte[GatheringOutputStream.STAGING_BUFFER_SIZE * 2];
+        large[0] = 'x';
+        try (GatheringOutputStream outputStream = new GatheringOutputStream(channel)) {
+            outputStream.write('a');
+            outputStream.write(large);
+            outputStream.add(ByteBuffer.wrap(new byte[]{'b'}));
+        }
+        byte[] content = channel.content.toByteArray();
+        Assert.assertEquals(content.length, large.length + 2);
+        Assert.assertEquals(content[0], 'a');
+        Assert.assertEquals(content[1], 'x');
+        Assert.assertEquals(content[content.length - 1], 'b');
+        Assert.assertEquals(channel.singleWrites, 1);
+    }
+
+    @Test
+    public void testSingleBytesAreStaged() throws IOException {
+        RecordingChannel channel = new RecordingChannel();
+        byte[] content = "quoted-printable=20content".repeat(1000).getBytes(StandardCharsets.US_ASCII);
+        try (GatheringOutputStream outputStream = new GatheringOutputStream(channel)) {
+            for (byte value : content) {
+                outputStream.write(value);
+            }
+        }
+        Assert.assertEquals(channel.content.toByteArray(), content);
+        Assert.assertEquals(channel.gatheringWrites, 1);
+        Assert.assertEquals(channel.singleWrites, 0);
+    }
+
+    @Test
+    public void testNonGatheringChannel() throws IOException {
+        ByteArrayOutputStream target = new ByteArrayOutputStream();
+        try (GatheringOutputStream outputStream = new GatheringOutputStream(Channels.newChannel(target))) {
+            outputStream.add(ByteBuffer.wrap("first ".getBytes(StandardCharsets.US_ASCII)));
+            outputStream.write("second".getBytes(StandardCharsets.US_ASCII));
+        }
+        Assert.assertEquals(target.toString(StandardCharsets.US_ASCII), "first second");
+    }
+
+    private static class RecordingChannel implements GatheringByteChannel {
+
+        private final ByteArrayOutputStream content = new ByteArrayOutputStream();
+        private int gatheringWrites = 0;
+        private int singleWrites = 0;
+
+        @Override
+        public long write(ByteBuffer[] sources, int offset, int length) {
+            gatheringWrites++;
+            long written = 0;
+            for (int i = offset; i < offset + length; i++) {
+                written += copy(sources[i]);
+            }
+            return written;
+        }
+
+        @Override
+        public long write(ByteBuffer[] sources) {
+            return write(sources, 0, sources.length);
+        }
+
+        @Override
+        public int write(ByteBuffer source) {
+            singleWrites++;
+            return copy(source);
+        }
+
+        private int copy(ByteBuffer source) {
+            int count = source.remaining();
+            byte[] bytes = new byte[count];
+            source.get(bytes);
+            content.write(bytes, 0, count);
+            return count;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
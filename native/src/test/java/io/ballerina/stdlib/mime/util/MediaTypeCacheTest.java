@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.mime.util;
+
+import jakarta.activation.MimeTypeParseException;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+
+/**
+ * A unit test class for the cache of parsed Content-Types.
+ */
+public class MediaTypeCacheTest {
+
+    @AfterMethod
+    public void resetCapacity() {
+        MediaTypeCache.setCapacity(64);
+    }
+
+    @Test
+    public void testParsedContentType() throws MimeTypeParseException {
+        ParsedMediaType parsedMediaType =
+                MediaTypeCache.get("Application/vnd.api+JSON; Charset=UTF-16; boundary=\"abc\"");
+        Assert.assertEquals(parsedMediaType.getBaseType(), "application/vnd.api+json");
+        Assert.assertEquals(parsedMediaType.getSuffix(), "json");
+        Assert.assertEquals(parsedMediaType.getParameter("CHARSET"), "UTF-16");
+        Assert.assertEquals(parsedMediaType.getParameter("boundary"), "abc");
+        Assert.assertEquals(parsedMediaType.getCharset(), StandardCharsets.UTF_16);
+        Assert.assertEquals(parsedMediaType.getParameters().keySet(), Set.of("charset", "boundary"));
+        Assert.assertNull(MediaTypeCache.get("text/plain; charset=unknown-charset").getCharset());
+        Assert.expectThrows(UnsupportedOperationException.class,
+                            () -> parsedMediaType.getParameters().put("charset", "utf-8"));
+    }
+
+    @Test
+    public void testHitsAndMisses() throws MimeTypeParseException {
+        MediaTypeCache.setCapacity(64);
+        long hits = MediaTypeCache.getHits();
+        long misses = MediaTypeCache.getMisses();
+        ParsedMediaType first = MediaTypeCache.get("text/plain; charset=utf-8");
+        ParsedMediaType second = MediaTypeCache.get("text/plain; charset=utf-8");
+        Assert.assertSame(second, first);
+        Assert.assertEquals(MediaTypeCache.getHits() - hits, 1);
+        Assert.assertEquals(MediaTypeCache.getMisses() - misses, 1);
+        Assert.expectThrows(MimeTypeParseException.class, () -> MediaTypeCache.get("text"));
+    }
+
+    @Test
+    public void testCacheIsBounded() throws MimeTypeParseException {
+        MediaTypeCache.setCapacity(4);
+        for (int i = 0; i < 10; i++) {
+            MediaTypeCache.get("text/plain; id=" + i);
+        }
+        Assert.assertEquals(MediaTypeCache.size(), 4);
+        long misses = MediaTypeCache.getMisses();
+        Assert.assertEquals(MediaTypeCache.get("text/plain; id=9").getParameter("id"), "9");
+        Assert.assertEquals(MediaTypeCache.getMisses() - misses, 1);
+    }
+}
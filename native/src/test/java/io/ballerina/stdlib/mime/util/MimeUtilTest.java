@@ -30,6 +30,15 @@ import io.ballerina.runtime.api.values.BString;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
 import static io.ballerina.stdlib.mime.util.MimeConstants.CONTENT_DISPOSITION_FIELD;
 import static io.ballerina.stdlib.mime.util.MimeConstants.DEFAULT_PRIMARY_TYPE;
 import static io.ballerina.stdlib.mime.util.MimeConstants.DEFAULT_SUB_TYPE;
@@ -184,4 +193,47 @@ public class MimeUtilTest {
         verify(mediaType, times(1)).set(SUBTYPE_FIELD, DEFAULT_SUB_TYPE);
     }
 
+    @Test
+    public void testFileChannelContent() throws IOException {
+        Path file = Files.createTempFile("mimeUtilTest", ".tmp");
+        try {
+            Files.write(file, "Ballerina file channel content".getBytes(StandardCharsets.UTF_8));
+            try (FileChannel fileChannel = FileChannel.open(file, StandardOpenOption.READ)) {
+                fileChannel.position(10);
+                Assert.assertEquals(new String(MimeUtil.getByteArray(fileChannel), StandardCharsets.UTF_8),
+                                    "file channel content");
+                Assert.assertEquals(fileChannel.position(), fileChannel.size());
+            }
+            try (FileChannel fileChannel = FileChannel.open(file, StandardOpenOption.READ)) {
+                ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+                MimeUtil.writeFileChannelToOutputStream(fileChannel, outputStream);
+                Assert.assertEquals(outputStream.toString(StandardCharsets.UTF_8), "Ballerina file channel content");
+            }
+            Path target = Files.createTempFile("mimeUtilTest", ".out");
+            try (FileChannel fileChannel = FileChannel.open(file, StandardOpenOption.READ);
+                 GatheringOutputStream outputStream = new GatheringOutputStream(
+                         FileChannel.open(target, StandardOpenOption.WRITE))) {
+                outputStream.write("Content: ".getBytes(StandardCharsets.UTF_8));
+                fileChannel.position(10);
+                MimeUtil.writeFileChannelToOutputStream(fileChannel, outputStream);
+                outputStream.getChannel().close();
+                Assert.assertEquals(Files.readString(target), "Content: file channel content");
+            } finally {
+                Files.delete(target);
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testGetByteArrayWithExpectedSize() throws IOException {
+        byte[] content = "Ballerina input stream content".getBytes(StandardCharsets.UTF_8);
+        Assert.assertEquals(MimeUtil.getByteArray(new ByteArrayInputStream(content), content.length), content);
+        Assert.assertEquals(MimeUtil.getByteArray(new ByteArrayInputStream(content), -1), content);
+        // The expected size is only a hint, so shorter and longer content is read as a whole
+        Assert.assertEquals(MimeUtil.getByteArray(new ByteArrayInputStream(content), content.length + 10), content);
+        Assert.assertEquals(MimeUtil.getByteArray(new ByteArrayInputStream(content), 9), content);
+        Assert.assertEquals(MimeUtil.getByteArray(new ByteArrayInputStream(new byte[0]), 0), new byte[0]);
+    }
 }
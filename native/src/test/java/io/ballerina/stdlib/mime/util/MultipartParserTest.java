@@ -0,0 +1,314 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.mime.util;
+
+import org.jvnet.mimepull.MIMEPart;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * A unit test class for the native multipart parser.
+ */
+public class MultipartParserTest {
+
+    private static final String BOUNDARY = "e3a0b532dc9b4fb2";
+    private static final String CONTENT_TYPE = "multipart/mixed; boundary=" + BOUNDARY;
+
+    private static final String MESSAGE = "preamble to be ignored\r\n" +
+            "--" + BOUNDARY + "\r\n" +
+            "Content-Type: text/plain; charset=UTF-8\r\n" +
+            "Content-Id: <part-one>\r\n" +
+            "\r\n" +
+            "Part one content\r\n" +
+            "--" + BOUNDARY + "  \r\n" +
+            "Content-Disposition: form-data;\r\n" +
+            " name=\"second\"\r\n" +
+            "\r\n" +
+            "Body with a --" + BOUNDARY + " which is not a delimiter\r\n" +
+            "--" + BOUNDARY + "x\r\n" +
+            "\r\n" +
+            "--" + BOUNDARY + "\r\n" +
+            "\r\n" +
+            "\r\n" +
+            "--" + BOUNDARY + "--\r\n" +
+            "epilogue to be ignored";
+
+    @Test
+    public void testPartsMatchMimepull() throws Exception {
+        List<MIMEPart> expected = MultipartDecoder.decodeBodyParts(CONTENT_TYPE, stream(MESSAGE));
+        for (int chunkSize : new int[]{1, 7, 64, 8192}) {
+            List<String[]> actual = parse(new MultipartParser(new TrickleInputStream(MESSAGE, chunkSize), BOUNDARY,
+                                                              chunkSize));
+            Assert.assertEquals(actual.size(), expected.size(), "Chunk size " + chunkSize);
+            for (int i = 0; i < expected.size(); i++) {
+                MIMEPart mimePart = expected.get(i);
+                Assert.assertEquals(actual.get(i)[0], mimePart.getContentType());
+                Assert.assertEquals(actual.get(i)[1], mimePart.getContentId());
+                Assert.assertEquals(actual.get(i)[2], new String(mimePart.read().readAllBytes(),
+                                                                 StandardCharsets.ISO_8859_1));
+            }
+        }
+    }
+
+    @Test
+    public void testHeaders() throws IOException {
+        MultipartParser parser = new MultipartParser(stream(MESSAGE), BOUNDARY);
+        MimePartHeaders headers = parser.nextPart().getHeaders();
+        Assert.assertEquals(headers.size(), 2);
+        Assert.assertEquals(headers.getName(0), "Content-Type");
+        Assert.assertEquals(headers.getFirstHeader("content-id"), "<part-one>");
+        headers = parser.nextPart().getHeaders();
+        Assert.assertEquals(headers.getFirstHeader(MimeConstants.CONTENT_DISPOSITION),
+                            "form-data;\r\n name=\"second\"");
+    }
+
+    @Test
+    public void testMessageWithLineFeedsOnly() throws IOException {
+        String message = "--" + BOUNDARY + "\nContent-Type: text/plain\n\nfirst\n--" + BOUNDARY + "\n\nsecond\n--" +
+                BOUNDARY + "--";
+        List<String[]> parts = parse(new MultipartParser(ByteBuffer.wrap(message.getBytes(StandardCharsets.UTF_8)),
+                                                         BOUNDARY));
+        Assert.assertEquals(parts.size(), 2);
+        Assert.assertEquals(parts.get(0)[2], "first");
+        Assert.assertEquals(parts.get(1)[0], MimeConstants.OCTET_STREAM);
+        Assert.assertEquals(parts.get(1)[1], "1");
+        Assert.assertEquals(parts.get(1)[2], "second");
+    }
+
+    @Test
+    public void testSkippingUnreadParts() throws IOException {
+        MultipartParser parser = new MultipartParser(stream(MESSAGE), BOUNDARY, 16);
+        int count = 0;
+        while (parser.nextPart() != null) {
+            count++;
+        }
+        Assert.assertEquals(count, 3);
+        Assert.assertTrue(parser.isFinished());
+    }
+
+    @Test
+    public void testDecodedPartSpillsToFile() throws IOException {
+        MultipartParser parser = new MultipartParser(stream(MESSAGE), BOUNDARY);
+        DecodedPart inMemory = DecodedPart.read(parser.nextPart(), 1024, 8, null);
+        DecodedPart spilled = DecodedPart.read(parser.nextPart(), 8, 8, null);
+        Assert.assertTrue(inMemory.isInMemory());
+        Assert.assertFalse(spilled.isInMemory());
+        Assert.assertEquals(new String(inMemory.readOnce().readAllBytes(), StandardCharsets.UTF_8),
+                            "Part one content");
+        try (InputStream content = spilled.readOnce()) {
+            Assert.assertEquals(content.readAllBytes().length, spilled.getSize());
+        }
+        spilled.close();
+        inMemory.close();
+    }
+
+    @Test
+    public void testMoveDecodedPartFile() throws IOException {
+        MultipartParser parser = new MultipartParser(stream(MESSAGE), BOUNDARY);
+        DecodedPart inMemory = DecodedPart.read(parser.nextPart(), 1024, 8, null);
+        DecodedPart spilled = DecodedPart.read(parser.nextPart(), 8, 8, null);
+        Path target = Files.createTempFile("moved", ".tmp");
+        try {
+            Assert.assertFalse(inMemory.moveFileTo(target));
+            Assert.assertTrue(spilled.moveFileTo(target));
+            spilled.close();
+            Assert.assertEquals(Files.size(target), spilled.getSize());
+
+            DecodedPart.BufferListInputStream content = (DecodedPart.BufferListInputStream) inMemory.readOnce();
+            Assert.assertEquals(content.read(), 'P');
+            ByteBuffer[] remaining = content.takeRemaining();
+            Assert.assertEquals(remaining.length, 2);
+            Assert.assertEquals(remaining[0].remaining() + remaining[1].remaining(), "art one content".length());
+            Assert.assertEquals(content.read(), -1);
+        } finally {
+            inMemory.close();
+            Files.deleteIfExists(target);
+        }
+    }
+
+    @Test
+    public void testDecodePartsWithinMessageMemoryLimit() throws Exception {
+        Path spillDirectory = Files.createTempDirectory("multipart");
+        MultipartDecoder.setLimits(1024, 20, spillDirectory, 16);
+        List<DecodedPart> parts = MultipartDecoder.decodeParts(CONTENT_TYPE, stream(MESSAGE));
+        try {
+            Assert.assertEquals(parts.size(), 3);
+            Assert.assertTrue(parts.get(0).isInMemory());
+            Assert.assertFalse(parts.get(1).isInMemory());
+            try (Stream<Path> files = Files.list(spillDirectory)) {
+                Assert.assertEquals(files.count(), 1);
+            }
+        } finally {
+            parts.forEach(DecodedPart::close);
+            MultipartDecoder.setLimits(-1, -1, null, MimeConstants.READABLE_BUFFER_SIZE);
+            Files.delete(spillDirectory);
+        }
+    }
+
+    @Test
+    public void testDecodePartsWithFilter() throws Exception {
+        List<DecodedPart> parts = MultipartDecoder.decodeParts(CONTENT_TYPE, stream(MESSAGE),
+                                                               new PartFilter(Set.of("second"), Set.of()));
+        Assert.assertEquals(parts.size(), 1);
+        Assert.assertEquals(parts.get(0).getContentId(), "1");
+        parts.forEach(DecodedPart::close);
+
+        parts = MultipartDecoder.decodeParts(CONTENT_TYPE, stream(MESSAGE),
+                                             new PartFilter(Set.of(), Set.of("Text/Plain")));
+        Assert.assertEquals(parts.size(), 1);
+        Assert.assertEquals(new String(parts.get(0).readOnce().readAllBytes(), StandardCharsets.UTF_8),
+                            "Part one content");
+        parts.forEach(DecodedPart::close);
+    }
+
+    @Test
+    public void testDecodePartsFromByteArrayWithoutCopying() throws Exception {
+        byte[] message = MESSAGE.getBytes(StandardCharsets.ISO_8859_1);
+        List<DecodedPart> parts = MultipartDecoder.decodeParts(CONTENT_TYPE, ByteBuffer.wrap(message), null);
+        Assert.assertEquals(parts.size(), 3);
+        Assert.assertEquals(parts.get(0).getSize(), "Part one content".length());
+        Assert.assertEquals(parts.get(2).getSize(), 0);
+        message[MESSAGE.indexOf("Part one content")] = 'p';
+        Assert.assertEquals(new String(parts.get(0).readOnce().readAllBytes(), StandardCharsets.ISO_8859_1),
+                            "part one content");
+        Assert.assertEquals(new String(parts.get(1).readOnce().readAllBytes(), StandardCharsets.ISO_8859_1),
+                            "Body with a --" + BOUNDARY + " which is not a delimiter\r\n--" + BOUNDARY + "x\r\n");
+        parts.forEach(DecodedPart::close);
+    }
+
+    // Parts are split at the first delimiter whatever length they declare, the same as mimepull does
+    @Test
+    public void testDeclaredContentLengthDoesNotSplitParts() throws IOException {
+        String secondPart = "second\r\n--" + BOUNDARY + "\r\nContent-Length: x\r\n\r\nthird";
+        // The last length ends right at the closing delimiter, which would merge the following parts into the first
+        for (int declared : new int[]{3, 9, 1000, ("first\r\n--" + BOUNDARY + "\r\n\r\n" + secondPart).length()}) {
+            String message = "--" + BOUNDARY + "\r\nContent-Length: " + declared + "\r\n\r\nfirst\r\n--" + BOUNDARY +
+                    "\r\n\r\n" + secondPart + "\r\n--" + BOUNDARY + "--";
+            for (MultipartParser parser : new MultipartParser[]{new MultipartParser(stream(message), BOUNDARY, 16),
+                    new MultipartParser(ByteBuffer.wrap(message.getBytes(StandardCharsets.ISO_8859_1)), BOUNDARY)}) {
+                List<String[]> parts = parse(parser);
+                Assert.assertEquals(parts.size(), 3, "Declared length " + declared);
+                Assert.assertEquals(parts.get(0)[2], "first");
+                Assert.assertEquals(parts.get(1)[2], "second");
+                Assert.assertEquals(parts.get(2)[2], "third");
+            }
+        }
+    }
+
+    @Test
+    public void testHeaderLineWithoutColonIsSkipped() throws IOException {
+        MultipartParser parser = new MultipartParser(stream("--" + BOUNDARY + "\r\nnot a header\r\n" +
+                "Content-Type: text/plain\r\n\r\ncontent\r\n--" + BOUNDARY + "--"), BOUNDARY);
+        MimePartHeaders headers = parser.nextPart().getHeaders();
+        Assert.assertEquals(headers.size(), 1);
+        Assert.assertEquals(headers.getName(0), "Content-Type");
+    }
+
+    @Test
+    public void testHeaderLineLengthIsLimited() {
+        String message = "--" + BOUNDARY + "\r\nX-Long: " + "x".repeat(MultipartParser.MAX_HEADER_LINE_LENGTH) +
+                "\r\n\r\ncontent\r\n--" + BOUNDARY + "--";
+        MultipartParser parser = new MultipartParser(stream(message), BOUNDARY, 64);
+        IOException exception = Assert.expectThrows(IOException.class, parser::nextPart);
+        Assert.assertEquals(exception.getMessage(), MultipartParser.HEADER_LINE_TOO_LONG);
+
+        // A line which never ends is rejected instead of being buffered
+        byte[] start = ("--" + BOUNDARY + "\r\nX-Endless: ").getBytes(StandardCharsets.ISO_8859_1);
+        parser = new MultipartParser(new InputStream() {
+            private int position = 0;
+
+            @Override
+            public int read() {
+                return position < start.length ? start[position++] : 'x';
+            }
+        }, BOUNDARY, 64);
+        exception = Assert.expectThrows(IOException.class, parser::nextPart);
+        Assert.assertEquals(exception.getMessage(), MultipartParser.HEADER_LINE_TOO_LONG);
+    }
+
+    @Test
+    public void testHeaderSectionSizeIsLimited() {
+        String header = "X-Header: " + "x".repeat(1000) + "\r\n";
+        String message = "--" + BOUNDARY + "\r\n" +
+                header.repeat(MultipartParser.MAX_HEADER_SECTION_SIZE / header.length() + 1) +
+                "\r\ncontent\r\n--" + BOUNDARY + "--";
+        MultipartParser parser = new MultipartParser(stream(message), BOUNDARY, 64);
+        IOException exception = Assert.expectThrows(IOException.class, parser::nextPart);
+        Assert.assertEquals(exception.getMessage(), MultipartParser.HEADER_SECTION_TOO_LARGE);
+    }
+
+    @Test
+    public void testMissingStartBoundary() {
+        MultipartParser parser = new MultipartParser(stream("no delimiter in here"), BOUNDARY);
+        IOException exception = Assert.expectThrows(IOException.class, parser::nextPart);
+        Assert.assertEquals(exception.getMessage(), MultipartParser.MISSING_START_BOUNDARY);
+    }
+
+    @Test
+    public void testMissingClosingBoundary() {
+        MultipartParser parser = new MultipartParser(stream("--" + BOUNDARY + "\r\n\r\ncontent"), BOUNDARY);
+        IOException exception = Assert.expectThrows(IOException.class,
+                                                    () -> parser.nextPart().getBody().readAllBytes());
+        Assert.assertEquals(exception.getMessage(), MultipartParser.MISSING_CLOSING_BOUNDARY);
+    }
+
+    private static List<String[]> parse(MultipartParser parser) throws IOException {
+        List<String[]> parts = new ArrayList<>();
+        MultipartParser.Part part;
+        while ((part = parser.nextPart()) != null) {
+            parts.add(new String[]{part.getContentType(), part.getContentId(),
+                    new String(part.getBody().readAllBytes(), StandardCharsets.ISO_8859_1)});
+        }
+        return parts;
+    }
+
+    private static InputStream stream(String message) {
+        return new ByteArrayInputStream(message.getBytes(StandardCharsets.ISO_8859_1));
+    }
+
+    /**
+     * Hands out at most the given number of bytes per read to exercise delimiters split across chunks.
+     */
+    private static class TrickleInputStream extends ByteArrayInputStream {
+
+        private final int maxRead;
+
+        TrickleInputStream(String message, int maxRead) {
+            super(message.getBytes(StandardCharsets.ISO_8859_1));
+            this.maxRead = maxRead;
+        }
+
+        @Override
+        public synchronized int read(byte[] bytes, int offset, int length) {
+            return super.read(bytes, offset, Math.min(length, maxRead));
+        }
+    }
+}
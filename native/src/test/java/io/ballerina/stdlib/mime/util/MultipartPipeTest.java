@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.mime.util;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A unit test class for the pipe which streams serialized multipart content.
+ */
+public class MultipartPipeTest {
+
+    @AfterMethod
+    public void resetBufferSize() {
+        MultipartPipe.setBufferSize(65536);
+    }
+
+    @Test
+    public void testContentIsProducedInStepsOnTheReadingThread() throws IOException {
+        MultipartPipe.setBufferSize(64);
+        byte[] chunk = new byte[1000];
+        for (int i = 0; i < chunk.length; i++) {
+            chunk[i] = (byte) i;
+        }
+        Thread reader = Thread.currentThread();
+        AtomicInteger steps = new AtomicInteger();
+        try (InputStream inputStream = MultipartPipe.open(outputStream -> {
+            Assert.assertSame(Thread.currentThread(), reader);
+            outputStream.write(chunk);
+            return steps.incrementAndGet() < 100;
+        })) {
+            Assert.assertEquals(steps.get(), 0);
+            byte[] read = new byte[37];
+            long total = 0;
+            int count;
+            while ((count = inputStream.read(read)) > 0) {
+                // The next step is only taken once the previous one has been read
+                Assert.assertEquals(steps.get(), total / chunk.length + 1);
+                for (int i = 0; i < count; i++) {
+                    Assert.assertEquals(read[i], (byte) ((total + i) % chunk.length));
+                }
+                total += count;
+            }
+            Assert.assertEquals(total, 100L * chunk.length);
+        }
+    }
+
+    @Test
+    public void testClosedStreamIsNotProduced() throws IOException {
+        AtomicInteger steps = new AtomicInteger();
+        InputStream inputStream = MultipartPipe.open(outputStream -> {
+            outputStream.write(new byte[8]);
+            steps.incrementAndGet();
+            return true;
+        });
+        Assert.assertEquals(inputStream.read(new byte[4]), 4);
+        inputStream.close();
+        Assert.expectThrows(IOException.class, inputStream::read);
+        Assert.assertEquals(steps.get(), 1);
+    }
+
+    @Test
+    public void testProducerFailureIsReported() throws IOException {
+        AtomicInteger steps = new AtomicInteger();
+        InputStream inputStream = MultipartPipe.open(outputStream -> {
+            if (steps.incrementAndGet() > 1) {
+                throw new IllegalStateException("Body part is not available");
+            }
+            outputStream.write(new byte[]{1, 2, 3});
+            return true;
+        });
+        Assert.assertEquals(inputStream.readNBytes(3), new byte[]{1, 2, 3});
+        IOException exception = Assert.expectThrows(IOException.class, inputStream::read);
+        Assert.assertTrue(exception.getMessage().contains("Body part is not available"));
+        Assert.assertSame(Assert.expectThrows(IOException.class, inputStream::read), exception);
+        Assert.assertEquals(steps.get(), 2);
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.mime.util;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A unit test class for the push based multipart decoder.
+ */
+public class MultipartPushDecoderTest {
+
+    private static final String BOUNDARY = "e3a0b532dc9b4fb2";
+
+    private static final String MESSAGE = "preamble to be ignored\r\n" +
+            "--" + BOUNDARY + "\r\n" +
+            "Content-Type: text/plain; charset=UTF-8\r\n" +
+            "Content-Id: <part-one>\r\n" +
+            "\r\n" +
+            "Part one content\r\n" +
+            "--" + BOUNDARY + "  \r\n" +
+            "Content-Disposition: form-data;\r\n" +
+            " name=\"second\"\r\n" +
+            "\r\n" +
+            "Body with a --" + BOUNDARY + " which is not a delimiter\r\n" +
+            "--" + BOUNDARY + "x\r\n" +
+            "\r\n" +
+            "--" + BOUNDARY + "\r\n" +
+            "\r\n" +
+            "\r\n" +
+            "--" + BOUNDARY + "--\r\n" +
+            "epilogue to be ignored";
+
+    @Test
+    public void testEventsMatchParser() throws IOException {
+        List<String> expected = new ArrayList<>();
+        MultipartParser parser = new MultipartParser(ByteBuffer.wrap(MESSAGE.getBytes(StandardCharsets.ISO_8859_1)),
+                                                     BOUNDARY);
+        MultipartParser.Part part;
+        while ((part = parser.nextPart()) != null) {
+            StringBuilder builder = new StringBuilder().append(part.getIndex()).append('|');
+            for (int i = 0; i < part.getHeaders().size(); i++) {
+                builder.append(part.getHeaders().getName(i)).append('=').append(part.getHeaders().getValue(i))
+                        .append('|');
+            }
+            expected.add(builder.append(new String(part.getBody().readAllBytes(), StandardCharsets.ISO_8859_1))
+                                 .toString());
+        }
+        for (int fragmentSize : new int[]{1, 3, 7, 20, 64, 8192}) {
+            for (boolean direct : new boolean[]{false, true}) {
+                Assert.assertEquals(decode(MESSAGE, fragmentSize, direct), expected,
+                                    "Fragment size " + fragmentSize + ", direct " + direct);
+            }
+        }
+    }
+
+    @Test
+    public void testMessageWithLineFeedsOnly() throws IOException {
+        String message = "--" + BOUNDARY + "\nContent-Type: text/plain\n\nfirst\n--" + BOUNDARY + "\n\nsecond\n--" +
+                BOUNDARY + "--";
+        List<String> parts = decode(message, 5, false);
+        Assert.assertEquals(parts.size(), 2);
+        Assert.assertEquals(parts.get(0), "0|Content-Type=text/plain|first");
+        Assert.assertEquals(parts.get(1), "1|second");
+    }
+
+    @Test
+    public void testBodyChunksShareFragmentContent() throws IOException {
+        String message = "--" + BOUNDARY + "\r\n\r\n" + "x".repeat(1000) + "\r\n--" + BOUNDARY + "--";
+        ByteBuffer fragment = ByteBuffer.wrap(message.getBytes(StandardCharsets.ISO_8859_1));
+        List<ByteBuffer> chunks = new ArrayList<>();
+        MultipartPushDecoder decoder = new MultipartPushDecoder(BOUNDARY, new RecordingListener() {
+            @Override
+            public void onBodyChunk(ByteBuffer chunk) {
+                chunks.add(chunk);
+            }
+        });
+        decoder.feed(fragment);
+        decoder.end();
+        Assert.assertEquals(chunks.size(), 1);
+        Assert.assertSame(chunks.get(0).array(), fragment.array());
+        Assert.assertEquals(chunks.get(0).remaining(), 1000);
+    }
+
+    @Test
+    public void testHeaderLineLengthIsLimited() {
+        MultipartPushDecoder decoder = new MultipartPushDecoder(BOUNDARY, new RecordingListener());
+        IOException exception = Assert.expectThrows(IOException.class, () -> {
+            decoder.feed(ByteBuffer.wrap(("--" + BOUNDARY + "\r\nX-Long: ").getBytes(StandardCharsets.ISO_8859_1)));
+            for (int i = 0; i <= MultipartParser.MAX_HEADER_LINE_LENGTH / 1024; i++) {
+                decoder.feed(ByteBuffer.wrap("x".repeat(1024).getBytes(StandardCharsets.ISO_8859_1)));
+            }
+        });
+        Assert.assertEquals(exception.getMessage(), MultipartParser.HEADER_LINE_TOO_LONG);
+    }
+
+    @Test
+    public void testMissingStartBoundary() {
+        MultipartPushDecoder decoder = new MultipartPushDecoder(BOUNDARY, new RecordingListener());
+        IOException exception = Assert.expectThrows(IOException.class, () -> {
+            decoder.feed(ByteBuffer.wrap("no delimiter in here".getBytes(StandardCharsets.ISO_8859_1)));
+            decoder.end();
+        });
+        Assert.assertEquals(exception.getMessage(), MultipartParser.MISSING_START_BOUNDARY);
+    }
+
+    @Test
+    public void testMissingClosingBoundary() {
+        MultipartPushDecoder decoder = new MultipartPushDecoder(BOUNDARY, new RecordingListener());
+        IOException exception = Assert.expectThrows(IOException.class, () -> {
+            decoder.feed(ByteBuffer.wrap(("--" + BOUNDARY + "\r\n\r\ncontent").getBytes(StandardCharsets.ISO_8859_1)));
+            decoder.end();
+        });
+        Assert.assertEquals(exception.getMessage(), MultipartParser.MISSING_CLOSING_BOUNDARY);
+    }
+
+    private static List<String> decode(String message, int fragmentSize, boolean direct) throws IOException {
+        RecordingListener listener = new RecordingListener();
+        MultipartPushDecoder decoder = new MultipartPushDecoder(BOUNDARY, listener);
+        byte[] bytes = message.getBytes(StandardCharsets.ISO_8859_1);
+        for (int offset = 0; offset < bytes.length; offset += fragmentSize) {
+            int length = Math.min(fragmentSize, bytes.length - offset);
+            ByteBuffer fragment = direct ? ByteBuffer.allocateDirect(length) : ByteBuffer.allocate(length);
+            fragment.put(bytes, offset, length).flip();
+            decoder.feed(fragment);
+            Assert.assertFalse(fragment.hasRemaining());
+        }
+        decoder.end();
+        Assert.assertTrue(decoder.isFinished());
+        return listener.parts;
+    }
+
+    /**
+     * Records every part as its index, headers and body separated by a '|'.
+     */
+    private static class RecordingListener implements MultipartPushDecoder.Listener {
+
+        private final List<String> parts = new ArrayList<>();
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+        private StringBuilder current;
+
+        @Override
+        public void onPartStart(int index) {
+            current = new StringBuilder().append(index).append('|');
+            body.reset();
+        }
+
+        @Override
+        public void onHeader(String name, String value) {
+            current.append(name).append('=').append(value).append('|');
+        }
+
+        @Override
+        public void onBodyChunk(ByteBuffer chunk) {
+            byte[] bytes = new byte[chunk.remaining()];
+            chunk.get(bytes);
+            body.writeBytes(bytes);
+        }
+
+        @Override
+        public void onPartEnd() {
+            parts.add(current.append(body.toString(StandardCharsets.ISO_8859_1)).toString());
+        }
+    }
+}
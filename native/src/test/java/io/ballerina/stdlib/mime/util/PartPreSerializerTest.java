@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.mime.util;
+
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BObject;
+import io.ballerina.runtime.api.values.BRefValue;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.ballerina.stdlib.mime.util.MimeConstants.MESSAGE_DATA_SOURCE;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * A unit test class for the concurrent serialization of body parts.
+ */
+public class PartPreSerializerTest {
+
+    @AfterMethod
+    public void disable() {
+        PartPreSerializer.setParallelism(0);
+    }
+
+    @Test
+    public void testPartsAreSerializedConcurrentlyAndTakenInOrder() throws IOException {
+        PartPreSerializer.setParallelism(2);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        BArray parts = mockParts(20, index -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            running.decrementAndGet();
+            return "{\"part\":" + index + "}";
+        });
+        try (PartPreSerializer preSerializer = PartPreSerializer.start(parts)) {
+            Assert.assertNotNull(preSerializer);
+            for (int i = 0; i < 20; i++) {
+                ByteBuffer body = preSerializer.take(i);
+                Assert.assertEquals(StandardCharsets.UTF_8.decode(body).toString(), "{\"part\":" + i + "}");
+            }
+        }
+        Assert.assertTrue(maxRunning.get() <= 2, "Parts serialized concurrently: " + maxRunning.get());
+    }
+
+    @Test
+    public void testSerializationFailureIsReported() {
+        PartPreSerializer.setParallelism(4);
+        BArray parts = mockParts(3, index -> {
+            if (index == 1) {
+                throw new IllegalStateException("Invalid JSON value");
+            }
+            return "part";
+        });
+        try (PartPreSerializer preSerializer = PartPreSerializer.start(parts)) {
+            IOException exception = Assert.expectThrows(IOException.class, () -> {
+                preSerializer.take(0);
+                preSerializer.take(1);
+            });
+            Assert.assertTrue(exception.getMessage().contains("Invalid JSON value"));
+        }
+    }
+
+    @Test
+    public void testNotStartedWhenDisabled() {
+        Assert.assertNull(PartPreSerializer.start(mockParts(3, index -> "part")));
+    }
+
+    private static BArray mockParts(int count, PartContent content) {
+        BArray parts = mock(BArray.class);
+        when(parts.size()).thenReturn(count);
+        for (int i = 0; i < count; i++) {
+            int index = i;
+            BRefValue dataSource = mock(BRefValue.class);
+            doAnswer(invocation -> {
+                OutputStream outputStream = invocation.getArgument(0);
+                outputStream.write(content.get(index).getBytes(StandardCharsets.UTF_8));
+                return null;
+            }).when(dataSource).serialize(any(OutputStream.class));
+            BObject part = mock(BObject.class);
+            when(part.getNativeData(MESSAGE_DATA_SOURCE)).thenReturn(dataSource);
+            when(parts.getRefValue(index)).thenReturn(part);
+        }
+        return parts;
+    }
+
+    private interface PartContent {
+
+        String get(int index);
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.mime.util;
+
+import io.ballerina.runtime.api.values.BObject;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import static io.ballerina.stdlib.mime.util.MimeConstants.ENTITY_MAX_PAYLOAD_SIZE;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * A unit test class for the maximum payload size of entities.
+ */
+public class PayloadSizeLimitTest {
+
+    @AfterMethod
+    public void resetMaxPayloadSize() {
+        PayloadSizeLimit.setMaxPayloadSize(-1);
+    }
+
+    @Test
+    public void testBodyWithinLimitIsRead() throws IOException {
+        PayloadSizeLimit.setMaxPayloadSize(16);
+        byte[] content = new byte[16];
+        InputStream inputStream = PayloadSizeLimit.limit(mock(BObject.class), new ByteArrayInputStream(content), -1);
+        Assert.assertEquals(inputStream.readAllBytes(), content);
+    }
+
+    @Test
+    public void testReadingStopsOnceLimitIsCrossed() {
+        PayloadSizeLimit.setMaxPayloadSize(10);
+        ByteArrayInputStream content = new ByteArrayInputStream(new byte[1000]);
+        InputStream inputStream = PayloadSizeLimit.limit(mock(BObject.class), content, -1);
+        Assert.expectThrows(RuntimeException.class, inputStream::readAllBytes);
+        // No more than one byte past the limit is consumed from the body
+        Assert.assertEquals(content.available(), 1000 - 11);
+        Assert.expectThrows(RuntimeException.class, inputStream::read);
+    }
+
+    @Test
+    public void testEntityLimitOverridesModuleLimit() {
+        PayloadSizeLimit.setMaxPayloadSize(10);
+        BObject entity = mock(BObject.class);
+        when(entity.getNativeData(ENTITY_MAX_PAYLOAD_SIZE)).thenReturn(0L);
+        InputStream content = new ByteArrayInputStream(new byte[100]);
+        Assert.assertSame(PayloadSizeLimit.limit(entity, content, 100), content);
+        when(entity.getNativeData(ENTITY_MAX_PAYLOAD_SIZE)).thenReturn(50L);
+        Assert.assertEquals(PayloadSizeLimit.getMaxPayloadSize(entity), 50);
+    }
+
+    @Test
+    public void testBodyLargerThanLimitIsRejectedBeforeReading() {
+        PayloadSizeLimit.setMaxPayloadSize(10);
+        ByteArrayInputStream content = new ByteArrayInputStream(new byte[100]);
+        Assert.expectThrows(RuntimeException.class, () -> PayloadSizeLimit.limit(mock(BObject.class), content, 100));
+        Assert.assertEquals(content.available(), 100);
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.mime.util;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+/**
+ * A unit test class for the streaming Content-Transfer-Encodings.
+ */
+public class TransferEncodingTest {
+
+    @AfterMethod
+    public void disable() {
+        TransferEncoding.setEnabled(false);
+    }
+
+    @Test
+    public void testApplicableEncodings() {
+        Assert.assertFalse(TransferEncoding.isApplicable("base64"));
+        TransferEncoding.setEnabled(true);
+        Assert.assertTrue(TransferEncoding.isApplicable(" Base64"));
+        Assert.assertTrue(TransferEncoding.isApplicable("Quoted-Printable"));
+        Assert.assertFalse(TransferEncoding.isApplicable("8bit"));
+        Assert.assertFalse(TransferEncoding.isApplicable(null));
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        byte[] binary = new byte[5000];
+        new Random(3).nextBytes(binary);
+        byte[] text = ("A line with trailing space \r\nTabs\tand = signs, and a long line " + "x".repeat(200) +
+                "\r\nlone\rcarriage return and lone\nline feed \t").getBytes(StandardCharsets.UTF_8);
+        for (String encoding : new String[]{TransferEncoding.BASE64, TransferEncoding.QUOTED_PRINTABLE}) {
+            for (byte[] content : new byte[][]{binary, text, new byte[0]}) {
+                ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+                try (OutputStream encoder = TransferEncoding.encode(encoded, encoding)) {
+                    encoder.write(content);
+                }
+                for (String line : encoded.toString(StandardCharsets.ISO_8859_1).split("\r\n")) {
+                    Assert.assertTrue(line.length() <= 76, encoding + " line length " + line.length());
+                }
+                byte[] decoded = TransferEncoding.decode(new ByteArrayInputStream(encoded.toByteArray()), encoding)
+                        .readAllBytes();
+                Assert.assertEquals(decoded, content, encoding);
+            }
+        }
+    }
+
+    @Test
+    public void testBase64EncodedLength() throws IOException {
+        for (int length : new int[]{0, 1, 2, 3, 56, 57, 58, 114, 1000}) {
+            ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+            try (OutputStream encoder = TransferEncoding.encode(encoded, TransferEncoding.BASE64)) {
+                encoder.write(new byte[length]);
+            }
+            Assert.assertEquals(TransferEncoding.getEncodedLength(length, TransferEncoding.BASE64), encoded.size(),
+                                "length " + length);
+        }
+        Assert.assertEquals(TransferEncoding.getEncodedLength(10, TransferEncoding.QUOTED_PRINTABLE), -1);
+    }
+
+    @Test
+    public void testQuotedPrintableDecoding() throws IOException {
+        String encoded = "caf=C3=A9 soft=\r\nbreak=\nand =ZZ malformed=";
+        byte[] decoded = TransferEncoding.decode(new ByteArrayInputStream(encoded.getBytes(StandardCharsets.US_ASCII)),
+                                                 TransferEncoding.QUOTED_PRINTABLE).readAllBytes();
+        Assert.assertEquals(new String(decoded, StandardCharsets.UTF_8), "café softbreakand =ZZ malformed=");
+    }
+
+    @Test
+    public void testQuotedPrintableIsWrittenInBlocks() throws IOException {
+        String content = "caf\u00e9 line with = and trailing space \r\n".repeat(500);
+        ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+        int[] writes = new int[1];
+        OutputStream target = new OutputStream() {
+            @Override
+            public void write(int value) {
+                writes[0]++;
+                encoded.write(value);
+            }
+
+            @Override
+            public void write(byte[] bytes, int offset, int length) {
+                writes[0]++;
+                encoded.write(bytes, offset, length);
+            }
+        };
+        try (OutputStream encoder = TransferEncoding.encode(target, TransferEncoding.QUOTED_PRINTABLE)) {
+            encoder.write(content.getBytes(StandardCharsets.UTF_8));
+        }
+        Assert.assertTrue(writes[0] < encoded.size() / 1000, "Writes: " + writes[0]);
+        byte[] decoded = TransferEncoding.decode(new ByteArrayInputStream(encoded.toByteArray()),
+                                                 TransferEncoding.QUOTED_PRINTABLE).readAllBytes();
+        Assert.assertEquals(new String(decoded, StandardCharsets.UTF_8), content);
+    }
+}